@@ -1,15 +1,45 @@
 package de.uni_passau.fim.se2;
 
+import de.uni_passau.fim.se2.metaheuristics.algorithms.EvolutionStrategy;
+import de.uni_passau.fim.se2.metaheuristics.algorithms.GeneticAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.algorithms.IteratedLocalSearch;
 import de.uni_passau.fim.se2.metaheuristics.algorithms.RandomWalk;
 import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
-import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.MaxTime;
+import de.uni_passau.fim.se2.metaheuristics.configurations.AdaptiveOperatorSelection;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.AmortizedMaxTime;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.MaxCpuTime;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.Stagnation;
 import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.TargetFitness;
+import de.uni_passau.fim.se2.test_prioritization.AdaptiveRandomPrioritization;
+import de.uni_passau.fim.se2.test_prioritization.AntColonyOptimization;
+import de.uni_passau.fim.se2.test_prioritization.BeamSearch;
+import de.uni_passau.fim.se2.test_prioritization.CoolingSchedule;
+import de.uni_passau.fim.se2.test_prioritization.CostCognizantAPLC;
+import de.uni_passau.fim.se2.test_prioritization.DifferentialEvolution;
+import de.uni_passau.fim.se2.test_prioritization.ExactPrioritization;
 import de.uni_passau.fim.se2.test_prioritization.Fitness;
+import de.uni_passau.fim.se2.test_prioritization.GreedyPrioritization;
+import de.uni_passau.fim.se2.test_prioritization.GreedyStrategy;
+import de.uni_passau.fim.se2.test_prioritization.HierarchicalPrioritization;
+import de.uni_passau.fim.se2.test_prioritization.HillClimbing;
+import de.uni_passau.fim.se2.test_prioritization.IslandGeneticAlgorithm;
+import de.uni_passau.fim.se2.test_prioritization.LargeNeighbourhoodSearch;
+import de.uni_passau.fim.se2.test_prioritization.MemeticAlgorithm;
+import de.uni_passau.fim.se2.test_prioritization.NSGAII;
+import de.uni_passau.fim.se2.test_prioritization.OrderingObjective;
+import de.uni_passau.fim.se2.test_prioritization.PackedCoverage;
+import de.uni_passau.fim.se2.test_prioritization.PermutationCrossover;
+import de.uni_passau.fim.se2.test_prioritization.PermutationMutation;
+import de.uni_passau.fim.se2.test_prioritization.PermutationNeighbourhoods;
 import de.uni_passau.fim.se2.test_prioritization.RandomSearch;
+import de.uni_passau.fim.se2.test_prioritization.SeededGenerator;
 import de.uni_passau.fim.se2.test_prioritization.SimulatedAnnealing;
+import de.uni_passau.fim.se2.test_prioritization.TabuSearch;
 import de.uni_passau.fim.se2.test_prioritization.TestCaseOrdering;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -17,6 +47,12 @@ import java.util.Random;
  */
 public class Bridge {
 
+    /**
+     * The probability with which seeded generators generate a seed once every seed has been
+     * handed out.
+     */
+    private static volatile double seedRatio = SeededGenerator.DEFAULT_RATIO;
+
     /**
      * Builds the specified search {@code algorithm} using the given {@code random} number
      * generator, {@code stoppingCondition} and {@code coverageMatrix}.
@@ -32,10 +68,51 @@ public class Bridge {
             final Random random,
             final StoppingCondition stoppingCondition,
             final boolean[][] coverageMatrix) {
+        return buildAlgorithm(algorithm, random, stoppingCondition, coverageMatrix, null);
+    }
+
+    /**
+     * Builds the specified search {@code algorithm} using the given {@code random} number
+     * generator, {@code stoppingCondition}, {@code coverageMatrix} and the execution times of the
+     * test cases, which are used by cost-cognizant algorithms.
+     *
+     * @param algorithm         the algorithm to build
+     * @param random            the RNG instance to use
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @param executionTimes    the execution time of every test case, or {@code null} to estimate
+     *                          them from the coverage matrix
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildAlgorithm(
+            final Main.Algorithm algorithm,
+            final Random random,
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix,
+            final double[] executionTimes) {
         return switch (algorithm) {
             case SA -> buildSimulatedAnnealing(random, stoppingCondition, coverageMatrix);
             case RW -> buildRandomWalk(random, stoppingCondition, coverageMatrix);
             case RS -> buildRandomSearch(random, stoppingCondition, coverageMatrix);
+            case GA -> buildGeneticAlgorithm(random, stoppingCondition, coverageMatrix);
+            case IGA -> buildIslandGeneticAlgorithm(random, stoppingCondition, coverageMatrix);
+            case TG -> buildGreedy(GreedyStrategy.TOTAL, stoppingCondition, coverageMatrix);
+            case AG -> buildGreedy(GreedyStrategy.ADDITIONAL, stoppingCondition, coverageMatrix);
+            case HC -> buildHillClimbing(random, stoppingCondition, coverageMatrix);
+            case TS -> buildTabuSearch(random, stoppingCondition, coverageMatrix);
+            case ILS -> buildIteratedLocalSearch(random, stoppingCondition, coverageMatrix);
+            case ACO -> buildAntColonyOptimization(random, stoppingCondition, coverageMatrix);
+            case OLES -> buildEvolutionStrategy(1, Math.max(4,
+                    Runtime.getRuntime().availableProcessors()), stoppingCondition, coverageMatrix);
+            case MLES -> buildEvolutionStrategy(5, 20, stoppingCondition, coverageMatrix);
+            case DE -> buildDifferentialEvolution(random, stoppingCondition, coverageMatrix);
+            case NSGA2 -> buildNSGAII(stoppingCondition, coverageMatrix, executionTimes);
+            case EXACT -> buildExact(stoppingCondition, coverageMatrix);
+            case MA -> buildMemeticAlgorithm(stoppingCondition, coverageMatrix);
+            case LNS -> buildLargeNeighbourhoodSearch(stoppingCondition, coverageMatrix);
+            case BEAM -> buildBeamSearch(stoppingCondition, coverageMatrix);
+            case ART -> buildAdaptiveRandom(stoppingCondition, coverageMatrix);
+            case HIER -> buildHierarchical(stoppingCondition, coverageMatrix);
         };
     }
 
@@ -60,7 +137,8 @@ public class Bridge {
             final boolean[][] coverageMatrix) {
 
         TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "RW");
-        return new RandomWalk<>(testCaseOrdering, testCaseOrdering, testCaseOrdering);
+        return new RandomWalk<>(testCaseOrdering, testCaseOrdering, stoppingCondition,
+                adaptiveMutation());
     }
 
     /**
@@ -86,7 +164,7 @@ public class Bridge {
 
         TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "RS");
 
-        return new RandomSearch(testCaseOrdering, testCaseOrdering, testCaseOrdering);
+        return new RandomSearch<>(testCaseOrdering, testCaseOrdering, stoppingCondition);
 
     }
 
@@ -112,7 +190,370 @@ public class Bridge {
 
         TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "SA");
 
-        return new SimulatedAnnealing(testCaseOrdering, testCaseOrdering, testCaseOrdering);
+        // The cooling schedule is driven by the progress of the given stopping condition, so the
+        // annealing spans the whole budget specified on the command line.
+        return new SimulatedAnnealing<>(seeded(testCaseOrdering), testCaseOrdering,
+                stoppingCondition, adaptiveMutation(), CoolingSchedule.adaptiveReheating(
+                        CoolingSchedule.geometric(CoolingSchedule.DEFAULT_FINAL_RATIO),
+                        reheatingPatience(coverageMatrix.length), 0.5));
+    }
+
+    /**
+     * Returns the number of steps without improvement after which simulated annealing reheats,
+     * which is the square of the number of test cases, clamped to the range of {@code int}.
+     *
+     * @param testCases the number of test cases
+     * @return the patience, positive
+     */
+    static int reheatingPatience(final int testCases) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, (long) testCases * testCases));
+    }
+
+    /**
+     * Returns an implementation of a Genetic Algorithm to find a solution for the test case
+     * prioritization problem. It uses order crossover and swap mutation, and evaluates the
+     * offspring of every generation in parallel.
+     *
+     * @param random            the RNG instance to use
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildGeneticAlgorithm(
+            final Random random,
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "GA");
+        return new GeneticAlgorithm<>(seeded(testCaseOrdering), testCaseOrdering, stoppingCondition,
+                PermutationCrossover.OX, PermutationMutation.SWAP);
+    }
+
+    /**
+     * Returns an implementation of an island-model Genetic Algorithm to find a solution for the
+     * test case prioritization problem. It evolves one sub-population per available processor and
+     * migrates the best individuals along a ring every few generations.
+     *
+     * @param random            the RNG instance to use
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildIslandGeneticAlgorithm(
+            final Random random,
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "IGA");
+        return new IslandGeneticAlgorithm(testCaseOrdering, seeded(testCaseOrdering),
+                stoppingCondition);
+    }
+
+    /**
+     * Returns an implementation of steepest-ascent Hill Climbing with random restarts to find a
+     * solution for the test case prioritization problem. It scans the insert neighbourhood in
+     * parallel.
+     *
+     * @param random            the RNG instance to use
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildHillClimbing(
+            final Random random,
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "HC");
+        return new HillClimbing(testCaseOrdering, stoppingCondition, PermutationMutation.INSERT);
+    }
+
+    /**
+     * Returns an implementation of Tabu Search to find a solution for the test case
+     * prioritization problem. It starts from a seeded ordering and samples swap and insert moves.
+     *
+     * @param random            the RNG instance to use
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildTabuSearch(
+            final Random random,
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "TS");
+        return new TabuSearch(testCaseOrdering, seeded(testCaseOrdering), stoppingCondition);
+    }
+
+    /**
+     * Returns an implementation of Iterated Local Search to find a solution for the test case
+     * prioritization problem. It descends through the swap, insert and block-reverse
+     * neighbourhoods, starting from a seeded ordering.
+     *
+     * @param random            the RNG instance to use
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildIteratedLocalSearch(
+            final Random random,
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "ILS");
+        return new IteratedLocalSearch<>(seeded(testCaseOrdering),
+                new PermutationNeighbourhoods(testCaseOrdering), stoppingCondition);
+    }
+
+    /**
+     * Returns an implementation of Ant Colony Optimization to find a solution for the test case
+     * prioritization problem. The ants of every iteration build their orderings in parallel.
+     *
+     * @param random            the RNG instance to use
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildAntColonyOptimization(
+            final Random random,
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "ACO");
+        return new AntColonyOptimization(testCaseOrdering, stoppingCondition);
+    }
+
+    /**
+     * Returns an implementation of a (mu+lambda) Evolution Strategy to find a solution for the
+     * test case prioritization problem. It uses insert mutation, and evaluates the offspring of
+     * every generation in parallel.
+     *
+     * @param mu                the number of parents
+     * @param lambda            the number of offspring per generation
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildEvolutionStrategy(
+            final int mu,
+            final int lambda,
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "ES");
+        return new EvolutionStrategy<>(seeded(testCaseOrdering), testCaseOrdering,
+                stoppingCondition, PermutationMutation.INSERT, mu, lambda);
+    }
+
+    /**
+     * Returns an implementation of Differential Evolution to find a solution for the test case
+     * prioritization problem. It searches random-key encoded orderings, starting from seeded
+     * orderings, and evaluates the trial vectors of every generation in parallel.
+     *
+     * @param random            the RNG instance to use
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildDifferentialEvolution(
+            final Random random,
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "DE");
+        return new DifferentialEvolution(testCaseOrdering, seeded(testCaseOrdering),
+                stoppingCondition);
+    }
+
+    /**
+     * Returns an implementation of NSGA-II that optimizes the APLC value together with the
+     * cost-cognizant APLC value, which accounts for the execution times of the test cases.
+     *
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @param executionTimes    the execution time of every test case, or {@code null} to estimate
+     *                          them from the coverage matrix
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildNSGAII(
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix,
+            final double[] executionTimes) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "NSGA2");
+        final PackedCoverage coverage = PackedCoverage.of(coverageMatrix);
+        final double[] times = executionTimes != null
+                ? executionTimes
+                : CostCognizantAPLC.estimateTimes(coverage);
+        final List<OrderingObjective> objectives = List.of(
+                OrderingObjective.aplc(coverage), new CostCognizantAPLC(coverage, times));
+        return new NSGAII(testCaseOrdering, seeded(testCaseOrdering), stoppingCondition,
+                objectives);
+    }
+
+    /**
+     * Returns a branch-and-bound search that computes an ordering with optimal APLC value, as
+     * ground truth for small test suites.
+     *
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     * @throws IllegalArgumentException if the test suite is too large for an exact search
+     */
+    static SearchAlgorithm<?> buildExact(
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "EXACT");
+        return new ExactPrioritization(testCaseOrdering, stoppingCondition);
+    }
+
+    /**
+     * Returns a memetic algorithm for the test case prioritization problem, which refines the
+     * elites of a genetic algorithm by local search.
+     *
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildMemeticAlgorithm(
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "MA");
+        return new MemeticAlgorithm(testCaseOrdering, seeded(testCaseOrdering), stoppingCondition);
+    }
+
+    /**
+     * Returns a large neighbourhood search for the test case prioritization problem, which
+     * destroys parts of the current ordering and repairs them greedily.
+     *
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildLargeNeighbourhoodSearch(
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "LNS");
+        return new LargeNeighbourhoodSearch(testCaseOrdering, seeded(testCaseOrdering),
+                stoppingCondition);
+    }
+
+    /**
+     * Returns a deterministic beam search that constructs an ordering for the test case
+     * prioritization problem position by position.
+     *
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildBeamSearch(
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "BEAM");
+        return new BeamSearch(testCaseOrdering, stoppingCondition);
+    }
+
+    /**
+     * Returns adaptive random prioritization, which appends the candidate that is farthest from
+     * the test cases ordered so far.
+     *
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildAdaptiveRandom(
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "ART");
+        return new AdaptiveRandomPrioritization(testCaseOrdering, stoppingCondition);
+    }
+
+    /**
+     * Returns a hierarchical prioritization, which clusters the test cases by coverage and orders
+     * every cluster with a large neighbourhood search on its sub-matrix.
+     *
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildHierarchical(
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "HIER");
+        return new HierarchicalPrioritization(testCaseOrdering, stoppingCondition,
+                (matrix, condition) -> {
+                    final TestCaseOrdering cluster = new TestCaseOrdering(matrix, "HIER");
+                    return new LargeNeighbourhoodSearch(cluster, seeded(cluster), condition);
+                });
+    }
+
+    /**
+     * Returns a greedy baseline that constructs an ordering for the test case prioritization
+     * problem with the given strategy.
+     *
+     * @param strategy          the greedy strategy to use
+     * @param stoppingCondition the stopping condition to use
+     * @param coverageMatrix    the coverage matrix to use
+     * @return the search algorithm
+     */
+    static SearchAlgorithm<?> buildGreedy(
+            final GreedyStrategy strategy,
+            final StoppingCondition stoppingCondition,
+            final boolean[][] coverageMatrix) {
+        final TestCaseOrdering testCaseOrdering = new TestCaseOrdering(coverageMatrix, "GREEDY");
+        return new GreedyPrioritization(testCaseOrdering, stoppingCondition, strategy);
+    }
+
+    /**
+     * Returns an elementary transformation that chooses among swap, insert and block-reverse
+     * mutation by how much fitness improvement each of them achieves per unit of time.
+     *
+     * @return the transformation
+     */
+    static AdaptiveOperatorSelection<TestCaseOrdering> adaptiveMutation() {
+        return new AdaptiveOperatorSelection<>(List.of(
+                PermutationMutation.SWAP, PermutationMutation.INSERT, PermutationMutation.REVERSE));
+    }
+
+    /**
+     * Returns the per-operator statistics of the last run of the given search algorithm, if it
+     * selects its operators adaptively.
+     *
+     * @param search the search algorithm
+     * @return the statistics, or an empty list if the algorithm does not select operators
+     * adaptively
+     */
+    static List<AdaptiveOperatorSelection.Statistics> getOperatorStatistics(
+            final SearchAlgorithm<?> search) {
+        final Object stepper;
+        if (search instanceof SimulatedAnnealing<?> sa) {
+            stepper = sa.getStepper();
+        } else if (search instanceof RandomWalk<?> rw) {
+            stepper = rw.getStepper();
+        } else {
+            return List.of();
+        }
+        return stepper instanceof AdaptiveOperatorSelection<?> adaptive
+                ? adaptive.getStatistics()
+                : List.of();
+    }
+
+    /**
+     * Returns a generator that starts the search from the greedy and coverage-descending
+     * orderings, and afterwards generates them with the configured seed ratio besides random
+     * orderings.
+     *
+     * @param testCaseOrdering the problem instance
+     * @return the generator
+     */
+    static SeededGenerator<TestCaseOrdering> seeded(final TestCaseOrdering testCaseOrdering) {
+        return SeededGenerator.greedy(testCaseOrdering, seedRatio);
+    }
+
+    /**
+     * Sets the probability with which the generators of algorithms built afterwards generate a
+     * seed once every seed has been handed out.
+     *
+     * @param ratio the probability, in [0, 1]
+     * @throws IllegalArgumentException if the probability is not in [0, 1]
+     */
+    static void setSeedRatio(final double ratio) throws IllegalArgumentException {
+        if (!(ratio >= 0 && ratio <= 1)) {
+            throw new IllegalArgumentException("Invalid seed ratio: " + ratio);
+        }
+        seedRatio = ratio;
     }
 
     /**
@@ -130,29 +571,74 @@ public class Bridge {
 
     /**
      * Returns a stopping condition that measures the search budget in terms of the given number of
-     * seconds the search is allowed to run for.
+     * seconds the search is allowed to run for. The condition reads the clock only every few
+     * queries, and records by how much the searches exceed the budget.
      *
      * @param seconds maximum runtime in terms of seconds
      * @return a stopping condition
+     * @see #getTimeStatistics(StoppingCondition)
      */
     static StoppingCondition buildMaxTimeCondition(final int seconds) {
-        return MaxTime.seconds(seconds);
+        return AmortizedMaxTime.seconds(seconds);
     }
 
     /**
      * Returns a stopping condition that measures the search budget in terms of the given number of
-     * hours, minutes, and seconds the search is allowed to run for.
+     * seconds of CPU time of the process, which includes the worker threads of parallel searches.
+     * Unlike wall time, CPU time does not count the time a search waits for a processor while
+     * other programs run.
+     *
+     * @param seconds maximum CPU time in terms of seconds
+     * @return a stopping condition
+     * @see #getTimeStatistics(StoppingCondition)
+     */
+    static StoppingCondition buildMaxCpuTimeCondition(final int seconds) {
+        return MaxCpuTime.aggregateSeconds(seconds);
+    }
+
+    /**
+     * Returns the clock readings and overshoots recorded by the given stopping condition, if it is
+     * a time budget built by {@link #buildMaxTimeCondition(int)} or
+     * {@link #buildMaxCpuTimeCondition(int)}.
+     *
+     * @param stoppingCondition the stopping condition
+     * @return the statistics, or {@code null} if the condition does not record them
+     */
+    static AmortizedMaxTime.Statistics getTimeStatistics(
+            final StoppingCondition stoppingCondition) {
+        if (stoppingCondition instanceof AmortizedMaxTime time) {
+            return time.getStatistics();
+        } else if (stoppingCondition instanceof MaxCpuTime cpuTime) {
+            return cpuTime.getStatistics();
+        }
+        return null;
+    }
+
+
+    /**
+     * Returns a stopping condition that stops the search after the given number of fitness
+     * evaluations without improvement. It does not bound the search budget by itself.
      *
-     * @param hours   the hours
-     * @param minutes the minutes
-     * @param seconds the seconds
+     * @param evaluations the maximum number of fitness evaluations without improvement
      * @return a stopping condition
      */
-    static StoppingCondition buildMaxTimeCondition(
-            final int hours,
-            final int minutes,
-            final int seconds) {
-        return MaxTime.hms(hours, minutes, seconds);
+    static StoppingCondition buildStagnationCondition(final int evaluations) {
+        return Stagnation.evaluations(evaluations);
+    }
+
+    /**
+     * Returns a stopping condition that stops the search once it finds an ordering that attains
+     * the upper bound of the APLC value for the given coverage matrix, and is thus optimal. It
+     * does not bound the search budget by itself.
+     *
+     * @param coverageMatrix the coverage matrix
+     * @return a stopping condition
+     */
+    static StoppingCondition buildTargetFitnessCondition(final boolean[][] coverageMatrix) {
+        final PackedCoverage coverage = PackedCoverage.of(coverageMatrix);
+        return TargetFitness.<TestCaseOrdering>atMost(
+                ordering -> coverage.firstCoverageSum(ordering.toArray()),
+                coverage.firstCoverageSumBound());
     }
 
     /**
@@ -187,7 +673,8 @@ public class Bridge {
         double m = coverageMatrix[0].length;
         double n = coverageMatrix.length;
 
-        return Fitness.getFitness(m, n, coverageMatrix, ordering);
+        // APLC is a maximizing metric, independent of the direction used internally by a search.
+        return Fitness.getFitness(m, n, coverageMatrix, ordering, false);
 
     }
 
@@ -209,6 +696,29 @@ public class Bridge {
         return testCaseOrdering.randomSolution.stream().mapToInt(Integer::intValue).toArray();
     }
 
+    /**
+     * Returns the objective values of the Pareto front found by the last run of the given search
+     * algorithm, one row per point, if it is a multi-objective algorithm.
+     *
+     * @param search the search algorithm
+     * @return the Pareto front, or {@code null} if the algorithm is not multi-objective
+     */
+    static double[][] extractParetoFront(final SearchAlgorithm<?> search) {
+        return search instanceof NSGAII nsga ? nsga.getParetoValues() : null;
+    }
+
+    /**
+     * Returns the names of the objectives of the given multi-objective search algorithm, in the
+     * order of the columns of {@link #extractParetoFront(SearchAlgorithm)}.
+     *
+     * @param search the search algorithm
+     * @return the names of the objectives, or {@code null} if the algorithm is not
+     * multi-objective
+     */
+    static String[] getObjectiveNames(final SearchAlgorithm<?> search) {
+        return search instanceof NSGAII nsga ? nsga.getObjectiveNames() : null;
+    }
+
     static String getTestCaseOrder(final String[] testCases, final Object solution) {
         final int[] ordering = extractOrderingFromSolution(solution);
         assert testCases.length == ordering.length;
@@ -1,8 +1,11 @@
 package de.uni_passau.fim.se2;
 
 import static de.uni_passau.fim.se2.Bridge.buildAlgorithm;
+import static de.uni_passau.fim.se2.Bridge.buildMaxCpuTimeCondition;
 import static de.uni_passau.fim.se2.Bridge.buildMaxFitnessEvalsCondition;
 import static de.uni_passau.fim.se2.Bridge.buildMaxTimeCondition;
+import static de.uni_passau.fim.se2.Bridge.buildStagnationCondition;
+import static de.uni_passau.fim.se2.Bridge.buildTargetFitnessCondition;
 import static de.uni_passau.fim.se2.Bridge.computeAPLC;
 import static de.uni_passau.fim.se2.Main.Algorithm.RS;
 import static de.uni_passau.fim.se2.Main.Algorithm.SA;
@@ -15,18 +18,25 @@ import static java.util.stream.Collectors.joining;
 import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
 import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.OneOf;
 import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.test_prioritization.SeededGenerator;
 import de.uni_passau.fim.se2.util.CSVExporter;
 import de.uni_passau.fim.se2.util.CoverageTracker;
 import de.uni_passau.fim.se2.util.CoverageTrackerImpl;
 import de.uni_passau.fim.se2.util.CoverageTrackerMock;
+import de.uni_passau.fim.se2.util.Plotter;
 import de.uni_passau.fim.se2.util.Randomness;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -62,7 +72,12 @@ public class Main {
             algorithmsOpt = "algorithms",
             orderingOpt = "ordering",
             seedOpt = "seed",
+            seedRatioOpt = "seed-ratio",
             quiteOpt = "quiet",
+            execTimesOpt = "exec-times",
+            portfolioOpt = "portfolio",
+            stagnationOpt = "stagnation",
+            cpuTimeOpt = "cpu-time",
             matrixOpt = "matrix";
 
     /**
@@ -92,6 +107,32 @@ public class Main {
      */
     private boolean[][] coverageMatrix;
 
+    /**
+     * The execution time of every test case, read from the file given on the command line, or
+     * {@code null} if no file was given.
+     */
+    private double[] executionTimes = null;
+
+    /**
+     * The Pareto fronts found by multi-objective algorithms, one per repetition.
+     */
+    private final Map<Algorithm, List<double[][]>> paretoFronts = new LinkedHashMap<>();
+
+    /**
+     * The names of the objectives of the Pareto fronts found by multi-objective algorithms.
+     */
+    private String[] objectiveNames = null;
+
+    /**
+     * Whether the algorithms race each other concurrently rather than run one after another.
+     */
+    private boolean portfolio = false;
+
+    /**
+     * The best-so-far curves of the algorithms in every race, as pairs of seconds and APLC value.
+     */
+    private final Map<Algorithm, List<double[][]>> raceCurves = new LinkedHashMap<>();
+
     /**
      * If set, the ordering for which to compute the APLC value, using either a measured coverage
      * matrix (options "-c" and "-p") or a loaded coverage matrix (option "-m").
@@ -126,6 +167,12 @@ public class Main {
      */
     private StoppingCondition stoppingCondition = defaultCondition;
 
+    /**
+     * The time budget given on the command line, which is part of the stopping condition, or
+     * {@code null} if no time budget was given.
+     */
+    private StoppingCondition timeCondition = null;
+
     /**
      * The default number of repetitions (when not explicitly specified by the user).
      */
@@ -162,10 +209,19 @@ public class Main {
      * <pre>{@code
      * usage: java -jar test-prioritization-1.0-SNAPSHOT.jar
      *  -a,--algorithms <arg>      which algorithms to use (any combination of
-     *                             "RS:RW:SA"; default: "SA:RS")
+     *                             "RS:RW:SA:GA:IGA:TG:AG:HC:TS:ILS:ACO:OLES:MLES:DE:NSGA2:EXACT:
+     *                             MA:LNS:BEAM:ART:HIER";
+     *                             default: "SA:RS")
      *  -c,--class <arg>           the name of the class under test
+     *  -d,--seed-ratio <arg>      probability of starting from a greedy seed once
+     *                             every seed has been used (default: "0.1")
+     *  -e,--exec-times <arg>      file with the execution time of every test
+     *                             case, one per line (default: estimated from
+     *                             the coverage matrix)
      *  -f,--fitness-evals <arg>   maximum number of fitness evaluations per
      *                             repetition
+     *  -g,--stagnation <arg>      stop a repetition after the given number of
+     *                             fitness evaluations without improvement
      *  -m,--matrix <arg>          load coverage matrix with the given name
      *  -o,--ordering <arg>        specify an ordering manually (e.g., "1:2:0")
      *  -p,--package <arg>         the package containing the class under test
@@ -176,6 +232,11 @@ public class Main {
      *  -s,--seed <arg>            use a fixed RNG seed
      *  -t,--time <arg>            maximum search time, in seconds or "HH:MM:SS"
      *                             per repetition
+     *  -u,--cpu-time              measure the search time (-t) as CPU time of
+     *                             the process instead of wall time
+     *  -x,--portfolio             race the algorithms concurrently within the
+     *                             time budget, cancelling the ones that fall
+     *                             behind (requires -t, not with -u)
      * }</pre>
      */
     private static final Options options = new Options() {{
@@ -192,6 +253,13 @@ public class Main {
                 .hasArg()
                 .build());
 
+        addOption(Option.builder("g")
+                .longOpt(stagnationOpt)
+                .desc("stop a repetition after the given number of fitness evaluations without "
+                        + "improvement")
+                .hasArg()
+                .build());
+
         addOption(Option.builder("t")
                 .longOpt(timeOpt)
                 .desc(format("maximum search time per repetition, in seconds or \"%s\"",
@@ -199,6 +267,12 @@ public class Main {
                 .hasArg()
                 .build());
 
+        addOption(Option.builder("u")
+                .longOpt(cpuTimeOpt)
+                .desc("measure the search time (-t) as CPU time of the process instead of wall "
+                        + "time")
+                .build());
+
         addOption(Option.builder("r")
                 .longOpt(repetitionsOpt)
                 .desc(format("how often to repeat the search (default: \"%s\")", defaultReps))
@@ -211,6 +285,26 @@ public class Main {
                 .hasArg()
                 .build());
 
+        addOption(Option.builder("d")
+                .longOpt(seedRatioOpt)
+                .desc(format("probability of starting from a greedy seed once every seed has been "
+                        + "used (default: \"%s\")", SeededGenerator.DEFAULT_RATIO))
+                .hasArg()
+                .build());
+
+        addOption(Option.builder("e")
+                .longOpt(execTimesOpt)
+                .desc("file with the execution time of every test case, one per line "
+                        + "(default: estimated from the coverage matrix)")
+                .hasArg()
+                .build());
+
+        addOption(Option.builder("x")
+                .longOpt(portfolioOpt)
+                .desc("race the algorithms concurrently within the time budget, cancelling the "
+                        + "ones that fall behind (requires -t, not with -u)")
+                .build());
+
         addOption(Option.builder("q")
                 .longOpt(quiteOpt)
                 .desc(format("redirect some console output to files (default: \"%s\")",
@@ -319,9 +413,15 @@ public class Main {
     void start() throws IOException {
         final boolean runSearch = ordering == null;
         if (runSearch) {
-            final var summary = performSearch();
+            final var summary = portfolio ? performRace() : performSearch();
             write(summary);
             csvExport(summary, subject + "-");
+            if (!paretoFronts.isEmpty()) {
+                exportParetoFronts(subject + "-pareto-");
+            }
+            if (!raceCurves.isEmpty()) {
+                exportRaceCurves(subject + "-portfolio-");
+            }
         } else {
             write(computeAPLC(coverageMatrix, ordering));
         }
@@ -350,6 +450,74 @@ public class Main {
         }
     }
 
+    /**
+     * Exports the Pareto fronts found by multi-objective algorithms in CSV format, with one line
+     * per point, and plots the points of bi-objective fronts to a PNG file.
+     *
+     * @param fileNamePrefix the prefix of the CSV file name
+     * @throws IOException when there was an error while writing the CSV file
+     */
+    private void exportParetoFronts(final String fileNamePrefix) throws IOException {
+        final Object[] header = new Object[objectiveNames.length + 2];
+        header[0] = "Algorithm";
+        header[1] = "Repetition";
+        System.arraycopy(objectiveNames, 0, header, 2, objectiveNames.length);
+        final CSVExporter exporter = new CSVExporter(null, fileNamePrefix, CSVExporter.OUT_DIR_NAME,
+                header);
+
+        for (final var entry : paretoFronts.entrySet()) {
+            final List<double[][]> fronts = entry.getValue();
+            for (int i = 0; i < fronts.size(); i++) {
+                for (final double[] point : fronts.get(i)) {
+                    final Object[] line = new Object[point.length + 1];
+                    line[0] = i + 1;
+                    for (int j = 0; j < point.length; j++) {
+                        line[j + 1] = point[j];
+                    }
+                    exporter.appendLine(entry.getKey().toString, line);
+                }
+            }
+        }
+
+        if (objectiveNames.length == 2) {
+            final String[] series = new String[paretoFronts.size()];
+            final double[][] xValues = new double[series.length][];
+            final double[][] yValues = new double[series.length][];
+            int s = 0;
+            for (final var entry : paretoFronts.entrySet()) {
+                series[s] = entry.getKey().toString;
+                xValues[s] = entry.getValue().stream().flatMap(Arrays::stream)
+                        .mapToDouble(point -> point[0]).toArray();
+                yValues[s] = entry.getValue().stream().flatMap(Arrays::stream)
+                        .mapToDouble(point -> point[1]).toArray();
+                s++;
+            }
+            Plotter.newHeadlessPlotter()
+                    .paretoFront(objectiveNames[0], objectiveNames[1], series, xValues, yValues);
+        }
+    }
+
+    /**
+     * Exports the best-so-far curves of the raced algorithms in CSV format, with one line per
+     * point.
+     *
+     * @param fileNamePrefix the prefix of the CSV file name
+     * @throws IOException when there was an error while writing the CSV file
+     */
+    private void exportRaceCurves(final String fileNamePrefix) throws IOException {
+        final CSVExporter exporter = new CSVExporter(null, fileNamePrefix, CSVExporter.OUT_DIR_NAME,
+                new Object[]{"Algorithm", "Repetition", "Time", "APLC"});
+        for (final var entry : raceCurves.entrySet()) {
+            final List<double[][]> curves = entry.getValue();
+            for (int i = 0; i < curves.size(); i++) {
+                for (final double[] point : curves.get(i)) {
+                    exporter.appendLine(entry.getKey().toString,
+                            new Object[]{i + 1, point[0], point[1]});
+                }
+            }
+        }
+    }
+
     /**
      * Repeatedly executes the given search algorithm. The number of repetitions was specified on
      * the command line, or corresponds to the default value if nothing was specified. Returns an
@@ -359,15 +527,17 @@ public class Main {
      * @param search the search algorithm to run
      * @return APLC values as search results
      */
-    private double[] repeatSearch(final SearchAlgorithm<?> search) {
+    private double[] repeatSearch(final Algorithm algorithm, final SearchAlgorithm<?> search) {
         final var aplcValues = new double[repetitions];
 
         for (int i = 0; i < repetitions; i++) {
             System.out.println("   > Repetition " + i);
 
+            final var timeBefore = Bridge.getTimeStatistics(timeCondition);
             final long start = System.currentTimeMillis();
             final var solution = search.findSolution();
             final long totalTime = System.currentTimeMillis() - start;
+            final var timeAfter = Bridge.getTimeStatistics(timeCondition);
 
             final double aplcValue = Bridge.computeAPLC(coverageMatrix, solution);
             aplcValues[i] = aplcValue;
@@ -376,6 +546,22 @@ public class Main {
             System.out.println("      - Ordering: " + testCaseOrder);
             System.out.println("      - APLC: " + aplcValue);
             System.out.printf("      - Time: %fs%n", totalTime / 1000d);
+            if (timeAfter != null && timeAfter.expirations() > timeBefore.expirations()) {
+                System.out.printf("      - Overshoot: %.3fms (%d clock readings for %d queries)%n",
+                        timeAfter.lastOvershoot() / 1e6,
+                        timeAfter.readings() - timeBefore.readings(),
+                        timeAfter.queries() - timeBefore.queries());
+            }
+
+            final double[][] front = Bridge.extractParetoFront(search);
+            if (front != null) {
+                objectiveNames = Bridge.getObjectiveNames(search);
+                paretoFronts.computeIfAbsent(algorithm, a -> new ArrayList<>()).add(front);
+                System.out.println("      - Pareto front: " + front.length + " points");
+            }
+            for (final var statistics : Bridge.getOperatorStatistics(search)) {
+                System.out.println("      - Operator " + statistics);
+            }
         }
 
         return aplcValues;
@@ -394,14 +580,63 @@ public class Main {
         for (final var algorithm : algorithms) {
             System.out.println(" * Executing " + algorithm.toString);
 
-            final var search = buildAlgorithm(algorithm, random, stoppingCondition, coverageMatrix);
-            final double[] solutions = repeatSearch(search);
+            final var search = buildAlgorithm(algorithm, random, stoppingCondition, coverageMatrix,
+                    executionTimes);
+            final double[] solutions = repeatSearch(algorithm, search);
             results.put(algorithm, solutions);
         }
 
         return results;
     }
 
+    /**
+     * Races the algorithms against each other once per repetition, returning a mapping from the
+     * algorithms to the APLC values of the solutions they returned, including those of cancelled
+     * algorithms.
+     *
+     * @return search results
+     */
+    private Map<Algorithm, double[]> performRace() {
+        final var random = Randomness.random();
+        final var portfolio = new Portfolio(List.copyOf(algorithms),
+                (algorithm, condition) -> buildAlgorithm(algorithm, random, condition,
+                        coverageMatrix, executionTimes),
+                cmd.hasOption(fitnessEvalsOpt) ? this::parseMaxFitnessEvals : () -> null,
+                coverageMatrix,
+                parseTimeSeconds() * 1000L);
+
+        final var results = new LinkedHashMap<Algorithm, double[]>();
+        algorithms.forEach(algorithm -> results.put(algorithm, new double[repetitions]));
+        System.out.println(" * Racing " + algorithms.stream().map(a -> a.toString)
+                .collect(joining(", ")));
+
+        for (int i = 0; i < repetitions; i++) {
+            System.out.println("   > Repetition " + i);
+
+            Portfolio.Result winner = null;
+            for (final Portfolio.Result result : portfolio.race()) {
+                results.get(result.algorithm())[i] = result.aplc();
+                raceCurves.computeIfAbsent(result.algorithm(), a -> new ArrayList<>())
+                        .add(result.curve());
+                if (winner == null || result.aplc() > winner.aplc()) {
+                    winner = result;
+                }
+
+                System.out.print("      - " + result.algorithm().toString + ": APLC "
+                        + result.aplc());
+                System.out.println(result.cancelled()
+                        ? format(" (cancelled after %fs)", result.cancelledAt())
+                        : "");
+            }
+
+            System.out.println("      - Winner: " + winner.algorithm().toString);
+            System.out.println("      - Ordering: "
+                    + Bridge.getTestCaseOrder(testCases, winner.solution()));
+        }
+
+        return results;
+    }
+
     /**
      * Prints the results to stdout if quiet mode is off, otherwise prints to a file {@code
      * results.txt} in the current working directory.
@@ -465,12 +700,15 @@ public class Main {
      */
     private void query() throws Exception {
         setAlgorithms(); // -a
-        setStoppingCondition(); // -f, -t
         setCoverageMatrixAndTestCaseNames(); // -c, -p, -m
+        setStoppingCondition(); // -f, -t, -g, -u
         setRepetitions(); // -r
         setSeed(); // -s
+        setSeedRatio(); // -d
         setOrdering(); // -o
         setQuiet(); // -q
+        setExecutionTimes(); // -e
+        setPortfolio(); // -x
     }
 
     /**
@@ -495,6 +733,24 @@ public class Main {
                     case "RS" -> algorithms.add(RS);
                     case "RW" -> algorithms.add(Algorithm.RW);
                     case "SA" -> algorithms.add(Algorithm.SA);
+                    case "GA" -> algorithms.add(Algorithm.GA);
+                    case "IGA" -> algorithms.add(Algorithm.IGA);
+                    case "TG" -> algorithms.add(Algorithm.TG);
+                    case "AG" -> algorithms.add(Algorithm.AG);
+                    case "HC" -> algorithms.add(Algorithm.HC);
+                    case "TS" -> algorithms.add(Algorithm.TS);
+                    case "ILS" -> algorithms.add(Algorithm.ILS);
+                    case "ACO" -> algorithms.add(Algorithm.ACO);
+                    case "OLES" -> algorithms.add(Algorithm.OLES);
+                    case "MLES" -> algorithms.add(Algorithm.MLES);
+                    case "DE" -> algorithms.add(Algorithm.DE);
+                    case "NSGA2" -> algorithms.add(Algorithm.NSGA2);
+                    case "EXACT" -> algorithms.add(Algorithm.EXACT);
+                    case "MA" -> algorithms.add(Algorithm.MA);
+                    case "LNS" -> algorithms.add(Algorithm.LNS);
+                    case "BEAM" -> algorithms.add(Algorithm.BEAM);
+                    case "ART" -> algorithms.add(Algorithm.ART);
+                    case "HIER" -> algorithms.add(Algorithm.HIER);
                     default -> throw new IllegalArgumentException("Unknown algorithm: " + algo);
                 }
             }
@@ -531,17 +787,28 @@ public class Main {
     }
 
     /**
-     * Sets the stopping condition to the one specified by the user on the command line.
+     * Sets the stopping condition to the one specified by the user on the command line. Searches
+     * always stop early once they find an ordering that is provably optimal, and, if requested,
+     * once they stagnate.
      */
     private void setStoppingCondition() {
         if (cmd.hasOption(fitnessEvalsOpt) && cmd.hasOption(timeOpt)) {
             final var fitnessSc = parseMaxFitnessEvals();
             final var timeSc = parseTime();
             this.stoppingCondition = new OneOf(fitnessSc, timeSc);
+            this.timeCondition = timeSc;
         } else if (cmd.hasOption(fitnessEvalsOpt)) {
             this.stoppingCondition = parseMaxFitnessEvals();
         } else if (cmd.hasOption(timeOpt)) {
-            this.stoppingCondition = parseTime();
+            // Unlike the evaluation budget, the time budget does not detect optimal orderings.
+            final var timeSc = parseTime();
+            final var targetSc = buildTargetFitnessCondition(coverageMatrix);
+            this.stoppingCondition = new OneOf(timeSc, targetSc);
+            this.timeCondition = timeSc;
+        }
+
+        if (cmd.hasOption(stagnationOpt)) {
+            this.stoppingCondition = new OneOf(stoppingCondition, parseStagnation());
         }
     }
 
@@ -556,18 +823,54 @@ public class Main {
         return buildMaxFitnessEvalsCondition(fitnessEvals);
     }
 
+    private StoppingCondition parseStagnation() {
+        final String value = cmd.getOptionValue(stagnationOpt);
+
+        final int evaluations = parseInt(value);
+        if (evaluations <= 0) {
+            throw new IllegalArgumentException("Non-positive stagnation limit: " + evaluations);
+        }
+
+        return buildStagnationCondition(evaluations);
+    }
+
     private StoppingCondition parseTime() {
+        return cmd.hasOption(cpuTimeOpt)
+                ? buildMaxCpuTimeCondition(parseTimeSeconds())
+                : buildMaxTimeCondition(parseTimeSeconds());
+    }
+
+    /**
+     * Returns the maximum search time given on the command line, in seconds.
+     *
+     * @return the maximum search time
+     * @throws IllegalArgumentException if the time is malformed, negative, has minutes or seconds
+     *                                  of 60 or more, or does not fit into an {@code int}
+     */
+    private int parseTimeSeconds() throws IllegalArgumentException {
         final String value = cmd.getOptionValue(timeOpt);
 
         final String[] parts = value.split(separator);
         if (parts.length == 1) {
             final int seconds = parseInt(parts[0]);
-            return buildMaxTimeCondition(seconds);
+            if (seconds < 0) {
+                throw new IllegalArgumentException("Negative time: " + seconds);
+            }
+            return seconds;
         } else if (parts.length == 3) {
             final int hours = parseInt(parts[0]);
             final int minutes = parseInt(parts[1]);
             final int seconds = parseInt(parts[2]);
-            return buildMaxTimeCondition(hours, minutes, seconds);
+            if (!(0 <= seconds && seconds < 60) || !(0 <= minutes && minutes < 60)
+                    || !(0 <= hours)) {
+                throw new IllegalArgumentException(format("Invalid time %d:%d:%d",
+                        hours, minutes, seconds));
+            }
+            try {
+                return Math.addExact(Math.multiplyExact(hours, 3600), minutes * 60 + seconds);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Time too large: " + value, e);
+            }
         } else {
             throw new IllegalArgumentException("Invalid time format: " + value);
         }
@@ -597,6 +900,16 @@ public class Main {
         }
     }
 
+    /**
+     * Sets the seed ratio of the algorithms to the one specified by the user on the command line.
+     */
+    private void setSeedRatio() {
+        if (cmd.hasOption(seedRatioOpt)) {
+            final String value = cmd.getOptionValue(seedRatioOpt);
+            Bridge.setSeedRatio(Double.parseDouble(value));
+        }
+    }
+
     /**
      * Sets the test case ordering to the one specified by the user on the command line.
      */
@@ -611,6 +924,44 @@ public class Main {
         }
     }
 
+    /**
+     * Reads the execution times of the test cases from the file given on the command line, one
+     * time per line. Blank lines are ignored.
+     *
+     * @throws IOException when the file cannot be read
+     */
+    private void setExecutionTimes() throws IOException {
+        if (cmd.hasOption(execTimesOpt)) {
+            final Path file = Paths.get(cmd.getOptionValue(execTimesOpt));
+            executionTimes = Files.readAllLines(file).stream()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty())
+                    .mapToDouble(Double::parseDouble)
+                    .toArray();
+            if (executionTimes.length != coverageMatrix.length) {
+                throw new IllegalArgumentException(format("Expected %d execution times, got %d",
+                        coverageMatrix.length, executionTimes.length));
+            }
+        }
+    }
+
+    /**
+     * Sets the "portfolio" option as per the command line.
+     */
+    private void setPortfolio() {
+        if (cmd.hasOption(portfolioOpt)) {
+            if (!cmd.hasOption(timeOpt)) {
+                throw new IllegalArgumentException("Racing a portfolio requires a time budget");
+            }
+            if (cmd.hasOption(cpuTimeOpt)) {
+                // The racers run concurrently, so the CPU time of the process would count all of
+                // them at once.
+                throw new IllegalArgumentException("Racing a portfolio requires a wall time budget");
+            }
+            portfolio = true;
+        }
+    }
+
     /**
      * Sets the "quiet" option as per the command line.
      */
@@ -638,7 +989,97 @@ public class Main {
         /**
          * Simulated Annealing.
          */
-        SA("SA", "Simulated Annealing");
+        SA("SA", "Simulated Annealing"),
+
+        /**
+         * Genetic Algorithm.
+         */
+        GA("GA", "Genetic Algorithm"),
+
+        /**
+         * Island-model Genetic Algorithm.
+         */
+        IGA("IGA", "Island Genetic Algorithm"),
+
+        /**
+         * Total-greedy prioritization.
+         */
+        TG("TG", "Total Greedy"),
+
+        /**
+         * Additional-greedy prioritization.
+         */
+        AG("AG", "Additional Greedy"),
+
+        /**
+         * Steepest-ascent Hill Climbing with random restarts.
+         */
+        HC("HC", "Hill Climbing"),
+
+        /**
+         * Tabu Search.
+         */
+        TS("TS", "Tabu Search"),
+
+        /**
+         * Iterated Local Search with variable neighbourhoods.
+         */
+        ILS("ILS", "Iterated Local Search"),
+
+        /**
+         * Ant Colony Optimization (MAX-MIN ant system).
+         */
+        ACO("ACO", "Ant Colony Optimization"),
+
+        /**
+         * (1+lambda) Evolution Strategy.
+         */
+        OLES("OLES", "(1+lambda) Evolution Strategy"),
+
+        /**
+         * (mu+lambda) Evolution Strategy.
+         */
+        MLES("MLES", "(mu+lambda) Evolution Strategy"),
+
+        /**
+         * Differential Evolution on random-key encoded orderings.
+         */
+        DE("DE", "Differential Evolution"),
+
+        /**
+         * NSGA-II, optimizing APLC and cost-cognizant APLC.
+         */
+        NSGA2("NSGA2", "NSGA-II"),
+
+        /**
+         * Branch-and-bound over subsets of test cases, optimal for small test suites.
+         */
+        EXACT("EXACT", "Exact Prioritization"),
+
+        /**
+         * Genetic algorithm whose elites are refined by local search in every generation.
+         */
+        MA("MA", "Memetic Algorithm"),
+
+        /**
+         * Large neighbourhood search with greedy repair and annealing acceptance.
+         */
+        LNS("LNS", "Large Neighbourhood Search"),
+
+        /**
+         * Deterministic beam search that constructs orderings position by position.
+         */
+        BEAM("BEAM", "Beam Search"),
+
+        /**
+         * Adaptive random prioritization, with distances estimated by MinHash and LSH.
+         */
+        ART("ART", "Adaptive Random Prioritization"),
+
+        /**
+         * Clusters the test cases and runs a large neighbourhood search within every cluster.
+         */
+        HIER("HIER", "Hierarchical Prioritization");
 
         /**
          * The abbreviated name of an algorithm (used on the command line).
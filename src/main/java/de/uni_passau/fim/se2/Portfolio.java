@@ -0,0 +1,349 @@
+package de.uni_passau.fim.se2;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.Main.Algorithm;
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.OneOf;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Races several search algorithms concurrently on the same coverage matrix with a shared
+ * wall-clock budget, and cancels the ones that clearly cannot catch up with the leader.
+ * <p>
+ * Every racer runs on its own thread and reports improvements of its best solution through
+ * {@link StoppingCondition#notifyImprovement(Object)}. A monitor samples the APLC values of the
+ * latest reports at a fixed interval, which yields the best-so-far curve of every racer. Once a
+ * warm-up share of the budget has elapsed, the monitor applies a racing test on the improvement
+ * rate: a racer is cancelled if, even when it kept improving for the rest of the budget at the
+ * rate it achieved over the last quarter of the elapsed time, it would still end below the APLC
+ * value the leader already has. Cancelled racers return their best solution so far. Their threads
+ * end, and the cores their parallel evaluations took from the common fork-join pool go to the
+ * remaining racers.
+ * <p>
+ * As all racers draw from the same source of randomness concurrently, a race is not reproducible
+ * even with a fixed seed.
+ */
+final class Portfolio {
+
+    /**
+     * The share of the budget that must elapse before the first racer may be cancelled.
+     */
+    static final double WARM_UP = 0.1;
+
+    /**
+     * The share of the elapsed time over which the improvement rate of a racer is measured.
+     */
+    static final double WINDOW = 0.25;
+
+    /**
+     * The number of times the monitor samples the racers during the budget.
+     */
+    private static final int SAMPLES = 200;
+
+    /**
+     * The bounds of the sampling interval, in milliseconds.
+     */
+    private static final long MIN_INTERVAL = 5;
+    private static final long MAX_INTERVAL = 1000;
+
+    /**
+     * The algorithms to race.
+     */
+    private final List<Algorithm> algorithms;
+
+    /**
+     * Builds the search algorithm of a racer, given the stopping condition it must use.
+     */
+    private final BiFunction<Algorithm, StoppingCondition, SearchAlgorithm<?>> builder;
+
+    /**
+     * Supplies a fresh additional budget for every racer, or {@code null} if there is none.
+     */
+    private final Supplier<StoppingCondition> budget;
+
+    /**
+     * The coverage matrix to compute APLC values with.
+     */
+    private final boolean[][] coverageMatrix;
+
+    /**
+     * The shared wall-clock budget, in nanoseconds.
+     */
+    private final long budgetNanos;
+
+    /**
+     * Creates a new portfolio.
+     *
+     * @param algorithms     the algorithms to race, not empty
+     * @param builder        builds the search algorithm of a racer from its stopping condition
+     * @param budget         supplies a fresh additional budget for every racer, such as a maximum
+     *                       number of fitness evaluations, or {@code null} if there is none
+     * @param coverageMatrix the coverage matrix
+     * @param budgetMillis   the shared wall-clock budget, in milliseconds, positive
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if there are no algorithms or the budget is not positive
+     */
+    Portfolio(
+            final List<Algorithm> algorithms,
+            final BiFunction<Algorithm, StoppingCondition, SearchAlgorithm<?>> builder,
+            final Supplier<StoppingCondition> budget,
+            final boolean[][] coverageMatrix,
+            final long budgetMillis)
+            throws NullPointerException, IllegalArgumentException {
+        if (algorithms.isEmpty()) {
+            throw new IllegalArgumentException("No algorithms to race");
+        }
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("Budget must be positive: " + budgetMillis);
+        }
+
+        this.algorithms = List.copyOf(algorithms);
+        this.builder = requireNonNull(builder);
+        this.budget = requireNonNull(budget);
+        this.coverageMatrix = requireNonNull(coverageMatrix);
+        this.budgetNanos = budgetMillis * 1_000_000;
+    }
+
+    /**
+     * Runs one race and returns the result of every racer, in the order of the algorithms.
+     *
+     * @return the results
+     * @throws IllegalStateException if a racer fails or the race is interrupted
+     */
+    List<Result> race() throws IllegalStateException {
+        final long start = System.nanoTime();
+        final long deadline = start + budgetNanos;
+
+        final List<Racer> racers = new ArrayList<>(algorithms.size());
+        for (final Algorithm algorithm : algorithms) {
+            final Racer racer = new Racer(algorithm, deadline);
+            final StoppingCondition extra = budget.get();
+            final StoppingCondition condition = extra == null ? racer : new OneOf(racer, extra);
+            racer.search = builder.apply(algorithm, condition);
+            racers.add(racer);
+        }
+
+        final long interval = Math.max(MIN_INTERVAL,
+                Math.min(MAX_INTERVAL, budgetNanos / 1_000_000 / SAMPLES));
+        final ExecutorService executor = Executors.newFixedThreadPool(racers.size());
+        try {
+            for (final Racer racer : racers) {
+                racer.future = executor.submit(racer.search::findSolution);
+            }
+
+            while (racers.stream().anyMatch(racer -> !racer.future.isDone())) {
+                Thread.sleep(interval);
+                final double elapsed = seconds(System.nanoTime() - start);
+                racers.forEach(racer -> racer.sample(elapsed));
+                if (elapsed >= WARM_UP * seconds(budgetNanos)) {
+                    cancelDominated(racers, elapsed, seconds(interval * 1_000_000));
+                }
+            }
+
+            final double end = seconds(System.nanoTime() - start);
+            final List<Result> results = new ArrayList<>(racers.size());
+            for (final Racer racer : racers) {
+                final Object solution = racer.future.get();
+                racer.latest = solution;
+                racer.sample(end);
+                results.add(new Result(racer.algorithm, solution,
+                        Bridge.computeAPLC(coverageMatrix, solution), racer.cancelledAt,
+                        racer.curve.toArray(new double[0][])));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while racing", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Racer failed: " + e.getCause().getMessage(),
+                    e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Cancels every running racer that cannot reach the best APLC value of the leader by the
+     * end of the budget when it continues at its recent improvement rate.
+     *
+     * @param racers   the racers
+     * @param elapsed  the elapsed time, in seconds
+     * @param interval the sampling interval, in seconds
+     */
+    private void cancelDominated(
+            final List<Racer> racers,
+            final double elapsed,
+            final double interval) {
+        final double leader = racers.stream().mapToDouble(racer -> racer.best).max().orElseThrow();
+        final double remaining = Math.max(0, seconds(budgetNanos) - elapsed);
+        final double window = Math.max(WINDOW * elapsed, interval);
+        for (final Racer racer : racers) {
+            if (racer.cancelled || racer.future.isDone() || racer.best >= leader) {
+                continue;
+            }
+
+            final boolean dominated;
+            if (racer.curve.isEmpty()) {
+                // The racer has not reported any solution during the whole warm-up.
+                dominated = true;
+            } else {
+                final double rate = (racer.best - racer.bestAt(elapsed - window)) / window;
+                dominated = racer.best + rate * remaining < leader;
+            }
+            if (dominated) {
+                racer.cancelledAt = elapsed;
+                racer.cancelled = true;
+            }
+        }
+    }
+
+    /**
+     * Converts the given nanoseconds to seconds.
+     */
+    private static double seconds(final long nanos) {
+        return nanos / 1e9;
+    }
+
+    /**
+     * The result of one racer.
+     *
+     * @param algorithm   the algorithm
+     * @param solution    the solution it returned
+     * @param aplc        the APLC value of the solution
+     * @param cancelledAt when the racer was cancelled, in seconds since the start of the race,
+     *                    or {@code NaN} if it was not cancelled
+     * @param curve       the best-so-far curve, as pairs of seconds since the start of the race
+     *                    and APLC value
+     */
+    record Result(Algorithm algorithm, Object solution, double aplc, double cancelledAt,
+                  double[][] curve) {
+
+        /**
+         * Tells whether the racer was cancelled.
+         *
+         * @return {@code true} if the racer was cancelled
+         */
+        boolean cancelled() {
+            return !Double.isNaN(cancelledAt);
+        }
+    }
+
+    /**
+     * One algorithm in a race, which also serves as its stopping condition for the shared
+     * deadline and for cancellation.
+     */
+    private final class Racer implements StoppingCondition {
+
+        private final Algorithm algorithm;
+
+        private final long deadline;
+
+        private SearchAlgorithm<?> search;
+
+        private Future<?> future;
+
+        /**
+         * The latest solution reported by the search, written by its thread.
+         */
+        private volatile Object latest;
+
+        /**
+         * Set by the monitor to make the search stop.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * The following fields are only accessed by the monitor.
+         */
+        private Object sampled;
+        private double best = Double.NEGATIVE_INFINITY;
+        private double cancelledAt = Double.NaN;
+        private final List<double[]> curve = new ArrayList<>();
+
+        private Racer(final Algorithm algorithm, final long deadline) {
+            this.algorithm = algorithm;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Adds the APLC value of the latest reported solution to the curve if it is better than
+         * the previous value.
+         *
+         * @param elapsed the elapsed time, in seconds
+         */
+        private void sample(final double elapsed) {
+            final Object solution = latest;
+            if (solution == null || solution == sampled) {
+                return;
+            }
+
+            sampled = solution;
+            final double aplc = Bridge.computeAPLC(coverageMatrix, solution);
+            if (aplc > best) {
+                best = aplc;
+                curve.add(new double[]{elapsed, aplc});
+            }
+        }
+
+        /**
+         * Returns the best APLC value at the given time, or the first value of the curve if it
+         * starts later.
+         *
+         * @param time the time, in seconds
+         * @return the best APLC value at that time
+         */
+        private double bestAt(final double time) {
+            double value = curve.get(0)[1];
+            for (final double[] point : curve) {
+                if (point[0] > time) {
+                    break;
+                }
+                value = point[1];
+            }
+            return value;
+        }
+
+        @Override
+        public void notifySearchStarted() {
+            // The deadline is shared by all racers, so it does not start with the search.
+        }
+
+        @Override
+        public void notifyFitnessEvaluation() {
+            // Not relevant for this stopping condition, so do nothing.
+        }
+
+        @Override
+        public void notifyFitnessEvaluations(final int evaluations) {
+            if (evaluations < 0) {
+                throw new IllegalArgumentException("Negative number of evaluations: "
+                        + evaluations);
+            }
+        }
+
+        @Override
+        public void notifyImprovement(final Object solution) {
+            latest = solution;
+        }
+
+        @Override
+        public boolean searchMustStop() {
+            return cancelled || System.nanoTime() - deadline >= 0;
+        }
+
+        @Override
+        public double getProgress() {
+            final long remaining = deadline - System.nanoTime();
+            return Math.min(1, Math.max(0, 1 - remaining / (double) budgetNanos));
+        }
+    }
+}
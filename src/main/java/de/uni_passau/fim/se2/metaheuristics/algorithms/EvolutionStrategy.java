@@ -0,0 +1,211 @@
+package de.uni_passau.fim.se2.metaheuristics.algorithms;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.configurations.Configuration;
+import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
+import de.uni_passau.fim.se2.metaheuristics.fitness_functions.FitnessFunction;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Pair;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * A (&mu;+&lambda;) evolution strategy, which includes the (1+&lambda;) strategy for
+ * {@code mu = 1}. In every generation, &lambda; offspring are created by mutating parents chosen
+ * uniformly at random, and the &mu; best of parents and offspring form the next generation. On
+ * ties, offspring are preferred over parents, which lets the search drift across plateaus.
+ * <p>
+ * Offspring are created sequentially (so that runs are reproducible for a fixed RNG seed), but
+ * evaluated in parallel on a fork-join pool, and the stopping condition is notified about the
+ * evaluations of a generation as one batch. Hence, the search may exceed its budget by at most
+ * one generation.
+ *
+ * @param <C> the type of configuration
+ * @apiNote The fitness function and the mutation operator must be safe to use from multiple
+ * threads.
+ */
+public final class EvolutionStrategy<C extends Configuration<C>> implements SearchAlgorithm<C> {
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * Generator for random configurations, used to create the initial parents.
+     */
+    private final ConfigurationGenerator<C> generator;
+
+    /**
+     * The fitness function employed by this algorithm.
+     */
+    private final FitnessFunction<C> fitnessFunction;
+
+    /**
+     * The mutation operator.
+     */
+    private final UnaryOperator<C> mutation;
+
+    /**
+     * The number of parents.
+     */
+    private final int mu;
+
+    /**
+     * The number of offspring per generation.
+     */
+    private final int lambda;
+
+    /**
+     * The pool on which offspring are evaluated.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Instantiates a new evolution strategy that evaluates offspring on the common fork-join
+     * pool.
+     *
+     * @param generator         generator for random configurations, not {@code null}
+     * @param fitnessFunction   function with which to compute the fitness, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param mutation          the mutation operator, not {@code null}
+     * @param mu                the number of parents, positive
+     * @param lambda            the number of offspring per generation, positive
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if {@code mu} or {@code lambda} is not positive
+     */
+    public EvolutionStrategy(
+            final ConfigurationGenerator<C> generator,
+            final FitnessFunction<C> fitnessFunction,
+            final StoppingCondition stoppingCondition,
+            final UnaryOperator<C> mutation,
+            final int mu,
+            final int lambda)
+            throws NullPointerException, IllegalArgumentException {
+        this(generator, fitnessFunction, stoppingCondition, mutation, mu, lambda,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new evolution strategy.
+     *
+     * @param generator         generator for random configurations, not {@code null}
+     * @param fitnessFunction   function with which to compute the fitness, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param mutation          the mutation operator, not {@code null}
+     * @param mu                the number of parents, positive
+     * @param lambda            the number of offspring per generation, positive
+     * @param pool              the pool on which to evaluate offspring, not {@code null}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if {@code mu} or {@code lambda} is not positive
+     */
+    public EvolutionStrategy(
+            final ConfigurationGenerator<C> generator,
+            final FitnessFunction<C> fitnessFunction,
+            final StoppingCondition stoppingCondition,
+            final UnaryOperator<C> mutation,
+            final int mu,
+            final int lambda,
+            final ForkJoinPool pool)
+            throws NullPointerException, IllegalArgumentException {
+        if (mu <= 0 || lambda <= 0) {
+            throw new IllegalArgumentException("mu and lambda must be positive");
+        }
+
+        this.generator = requireNonNull(generator);
+        this.fitnessFunction = requireNonNull(fitnessFunction);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.mutation = requireNonNull(mutation);
+        this.mu = mu;
+        this.lambda = lambda;
+        this.pool = requireNonNull(pool);
+    }
+
+    /**
+     * Evolves the parents until the search budget is exhausted and returns the best configuration
+     * ever encountered.
+     *
+     * @return the solution
+     */
+    @Override
+    public C findSolution() {
+        notifySearchStarted();
+        generator.reset();
+
+        final List<C> initial = new ArrayList<>(mu);
+        for (int i = 0; i < mu; i++) {
+            initial.add(generator.get());
+        }
+        List<Pair<C, Double>> parents = evaluate(initial);
+        notifyImprovement(parents.get(0).getFst());
+
+        while (searchCanContinue()) {
+            final Random random = Randomness.random();
+            final List<C> offspring = new ArrayList<>(lambda);
+            for (int i = 0; i < lambda; i++) {
+                offspring.add(mutation.apply(parents.get(random.nextInt(mu)).getFst()));
+            }
+
+            // Offspring come first, so that the stable sort prefers them on ties.
+            final List<Pair<C, Double>> next = evaluate(offspring);
+            next.addAll(parents);
+            next.sort(fittestFirst());
+            final double previousBest = parents.get(0).getSnd();
+            parents = new ArrayList<>(next.subList(0, mu));
+            if (Double.compare(parents.get(0).getSnd(), previousBest) != 0) {
+                notifyImprovement(parents.get(0).getFst());
+            }
+        }
+
+        // The parents always contain the best configuration encountered so far.
+        return parents.get(0).getFst();
+    }
+
+    /**
+     * Computes the fitness of the given configurations in parallel, notifies the stopping
+     * condition about the evaluations as one batch, and returns the configurations paired with
+     * their fitness, sorted such that the fittest configuration comes first.
+     *
+     * @param configurations the configurations to evaluate
+     * @return the evaluated configurations
+     */
+    private List<Pair<C, Double>> evaluate(final List<C> configurations) {
+        final double[] fitness = new double[configurations.size()];
+        pool.submit(() -> IntStream.range(0, fitness.length).parallel().forEach(i ->
+                fitness[i] = configurations.get(i).getFitnessBy(fitnessFunction))).join();
+        getStoppingCondition().notifyFitnessEvaluations(fitness.length);
+
+        final List<Pair<C, Double>> evaluated = new ArrayList<>(fitness.length);
+        for (int i = 0; i < fitness.length; i++) {
+            evaluated.add(Pair.of(configurations.get(i), fitness[i]));
+        }
+        evaluated.sort(fittestFirst());
+        return evaluated;
+    }
+
+    /**
+     * Returns a comparator that orders pairs of configurations and fitness values such that the
+     * fittest pair comes first.
+     *
+     * @return the comparator
+     */
+    private Comparator<Pair<C, Double>> fittestFirst() {
+        final Comparator<Pair<C, Double>> ascending = Comparator.comparingDouble(Pair::getSnd);
+        return fitnessFunction.isMinimizing() ? ascending : ascending.reversed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
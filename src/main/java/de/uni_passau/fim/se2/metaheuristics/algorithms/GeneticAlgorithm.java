@@ -0,0 +1,331 @@
+package de.uni_passau.fim.se2.metaheuristics.algorithms;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.configurations.Configuration;
+import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
+import de.uni_passau.fim.se2.metaheuristics.configurations.Crossover;
+import de.uni_passau.fim.se2.metaheuristics.fitness_functions.FitnessFunction;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Pair;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * A generational genetic algorithm with tournament selection and elitism. In every generation, the
+ * best individuals of the current population survive unchanged (elitism), and the remaining slots
+ * are filled with offspring bred from parents chosen by tournament selection. Offspring are created
+ * sequentially (so that runs are reproducible for a fixed RNG seed), but the fitness evaluation of
+ * a generation's offspring is carried out in parallel on a fork-join pool.
+ * <p>
+ * The stopping condition is queried once per generation. Since a whole generation is evaluated as
+ * one batch, the search may exceed its budget by at most one generation.
+ *
+ * @param <C> the type of configuration
+ * @apiNote The fitness function and the crossover and mutation operators must be safe to use from
+ * multiple threads.
+ */
+public final class GeneticAlgorithm<C extends Configuration<C>> implements SearchAlgorithm<C> {
+
+    /**
+     * The default number of individuals in the population.
+     */
+    public static final int DEFAULT_POPULATION_SIZE = 50;
+
+    /**
+     * The default number of individuals competing in a tournament.
+     */
+    public static final int DEFAULT_TOURNAMENT_SIZE = 3;
+
+    /**
+     * The default number of elite individuals that survive every generation.
+     */
+    public static final int DEFAULT_ELITES = 2;
+
+    /**
+     * The default probability of recombining two parents (instead of cloning the first one).
+     */
+    public static final double DEFAULT_CROSSOVER_RATE = 0.8;
+
+    /**
+     * The default probability of mutating an offspring.
+     */
+    public static final double DEFAULT_MUTATION_RATE = 0.5;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * Generator for random configurations, used to create the initial population.
+     */
+    private final ConfigurationGenerator<C> generator;
+
+    /**
+     * The fitness function employed by this algorithm.
+     */
+    private final FitnessFunction<C> fitnessFunction;
+
+    /**
+     * The crossover operator.
+     */
+    private final Crossover<C> crossover;
+
+    /**
+     * The mutation operator.
+     */
+    private final UnaryOperator<C> mutation;
+
+    /**
+     * The number of individuals in the population.
+     */
+    private final int populationSize;
+
+    /**
+     * The number of individuals competing in a tournament.
+     */
+    private final int tournamentSize;
+
+    /**
+     * The number of elite individuals that survive every generation.
+     */
+    private final int elites;
+
+    /**
+     * The probability of recombining two parents.
+     */
+    private final double crossoverRate;
+
+    /**
+     * The probability of mutating an offspring.
+     */
+    private final double mutationRate;
+
+    /**
+     * The pool on which fitness evaluations are carried out.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Instantiates a new genetic algorithm with default parameters, evaluating offspring on the
+     * common fork-join pool.
+     *
+     * @param generator         generator for random configurations, not {@code null}
+     * @param fitnessFunction   function with which to compute the fitness, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param crossover         the crossover operator, not {@code null}
+     * @param mutation          the mutation operator, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public GeneticAlgorithm(
+            final ConfigurationGenerator<C> generator,
+            final FitnessFunction<C> fitnessFunction,
+            final StoppingCondition stoppingCondition,
+            final Crossover<C> crossover,
+            final UnaryOperator<C> mutation)
+            throws NullPointerException {
+        this(generator, fitnessFunction, stoppingCondition, crossover, mutation,
+                DEFAULT_POPULATION_SIZE, DEFAULT_TOURNAMENT_SIZE, DEFAULT_ELITES,
+                DEFAULT_CROSSOVER_RATE, DEFAULT_MUTATION_RATE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new genetic algorithm.
+     *
+     * @param generator         generator for random configurations, not {@code null}
+     * @param fitnessFunction   function with which to compute the fitness, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param crossover         the crossover operator, not {@code null}
+     * @param mutation          the mutation operator, not {@code null}
+     * @param populationSize    the number of individuals in the population, positive
+     * @param tournamentSize    the number of individuals competing in a tournament, positive
+     * @param elites            the number of elite individuals, less than the population size
+     * @param crossoverRate     the probability of recombining two parents, in [0, 1]
+     * @param mutationRate      the probability of mutating an offspring, in [0, 1]
+     * @param pool              the pool on which to evaluate offspring, not {@code null}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if a numeric parameter is out of range
+     */
+    public GeneticAlgorithm(
+            final ConfigurationGenerator<C> generator,
+            final FitnessFunction<C> fitnessFunction,
+            final StoppingCondition stoppingCondition,
+            final Crossover<C> crossover,
+            final UnaryOperator<C> mutation,
+            final int populationSize,
+            final int tournamentSize,
+            final int elites,
+            final double crossoverRate,
+            final double mutationRate,
+            final ForkJoinPool pool)
+            throws NullPointerException, IllegalArgumentException {
+        if (populationSize <= 0 || tournamentSize <= 0) {
+            throw new IllegalArgumentException("Population and tournament size must be positive");
+        }
+        if (elites < 0 || elites >= populationSize) {
+            throw new IllegalArgumentException("Invalid number of elites: " + elites);
+        }
+        if (!(0 <= crossoverRate && crossoverRate <= 1)
+                || !(0 <= mutationRate && mutationRate <= 1)) {
+            throw new IllegalArgumentException("Rates must be probabilities");
+        }
+
+        this.generator = requireNonNull(generator);
+        this.fitnessFunction = requireNonNull(fitnessFunction);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.crossover = requireNonNull(crossover);
+        this.mutation = requireNonNull(mutation);
+        this.populationSize = populationSize;
+        this.tournamentSize = tournamentSize;
+        this.elites = elites;
+        this.crossoverRate = crossoverRate;
+        this.mutationRate = mutationRate;
+        this.pool = requireNonNull(pool);
+    }
+
+    /**
+     * Evolves a population until the search budget is exhausted and returns the best individual
+     * ever encountered.
+     *
+     * @return the solution
+     */
+    @Override
+    public C findSolution() {
+        notifySearchStarted();
+        generator.reset();
+
+        final List<C> initial = new ArrayList<>(populationSize);
+        for (int i = 0; i < populationSize; i++) {
+            initial.add(generator.get());
+        }
+
+        List<Pair<C, Double>> population = evaluate(initial);
+        Pair<C, Double> best = population.get(0);
+        notifyImprovement(best.getFst());
+
+        while (searchCanContinue()) {
+            final List<C> offspring = breed(population, populationSize - elites);
+
+            final List<Pair<C, Double>> next = new ArrayList<>(populationSize);
+            next.addAll(population.subList(0, elites));
+            next.addAll(evaluate(offspring));
+            next.sort(fittestFirst());
+            population = next;
+
+            final Pair<C, Double> previous = best;
+            best = bestOf(best, population.get(0));
+            if (Double.compare(best.getSnd(), previous.getSnd()) != 0) {
+                notifyImprovement(best.getFst());
+            }
+        }
+
+        return best.getFst();
+    }
+
+    /**
+     * Creates the given number of offspring from the given population.
+     *
+     * @param population the current population
+     * @param count      the number of offspring to create
+     * @return the offspring
+     */
+    private List<C> breed(final List<Pair<C, Double>> population, final int count) {
+        final Random random = Randomness.random();
+        final List<C> offspring = new ArrayList<>(count);
+
+        while (offspring.size() < count) {
+            final C parent1 = tournament(population, random);
+            C child;
+            if (random.nextDouble() < crossoverRate) {
+                final C parent2 = tournament(population, random);
+                child = crossover.apply(parent1, parent2);
+            } else {
+                child = parent1.copy();
+            }
+
+            if (random.nextDouble() < mutationRate) {
+                child = mutation.apply(child);
+            }
+
+            offspring.add(child);
+        }
+
+        return offspring;
+    }
+
+    /**
+     * Selects an individual by tournament selection.
+     *
+     * @param population the population to select from
+     * @param random     the source of randomness
+     * @return the winner of the tournament
+     */
+    private C tournament(final List<Pair<C, Double>> population, final Random random) {
+        Pair<C, Double> winner = population.get(random.nextInt(population.size()));
+        for (int i = 1; i < tournamentSize; i++) {
+            winner = bestOf(winner, population.get(random.nextInt(population.size())));
+        }
+        return winner.getFst();
+    }
+
+    /**
+     * Computes the fitness of the given configurations in parallel, notifies the stopping
+     * condition about the evaluations as one batch, and returns the configurations paired with
+     * their fitness, sorted such that the fittest configuration comes first.
+     *
+     * @param configurations the configurations to evaluate
+     * @return the evaluated configurations
+     */
+    private List<Pair<C, Double>> evaluate(final List<C> configurations) {
+        final double[] fitness = new double[configurations.size()];
+        pool.submit(() -> IntStream.range(0, fitness.length).parallel().forEach(i ->
+                fitness[i] = configurations.get(i).getFitnessBy(fitnessFunction))).join();
+        getStoppingCondition().notifyFitnessEvaluations(fitness.length);
+
+        final List<Pair<C, Double>> evaluated = new ArrayList<>(fitness.length);
+        for (int i = 0; i < fitness.length; i++) {
+            evaluated.add(Pair.of(configurations.get(i), fitness[i]));
+        }
+        evaluated.sort(fittestFirst());
+        return evaluated;
+    }
+
+    /**
+     * Returns a comparator that orders pairs of configurations and fitness values such that the
+     * fittest pair comes first.
+     *
+     * @return the comparator
+     */
+    private Comparator<Pair<C, Double>> fittestFirst() {
+        final Comparator<Pair<C, Double>> ascending = Comparator.comparingDouble(Pair::getSnd);
+        return fitnessFunction.isMinimizing() ? ascending : ascending.reversed();
+    }
+
+    /**
+     * Determines the best of two given pairs of configurations and fitness values.
+     *
+     * @param p1 a pair of configuration and fitness value
+     * @param p2 another pair of configuration and fitness value
+     * @return the better of the two pairs (as per the fitness value)
+     */
+    private Pair<C, Double> bestOf(final Pair<C, Double> p1, final Pair<C, Double> p2) {
+        final double f1 = p1.getSnd();
+        final double f2 = p2.getSnd();
+        return (fitnessFunction.isMinimizing() ^ f1 < f2) ? p2 : p1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
@@ -0,0 +1,280 @@
+package de.uni_passau.fim.se2.metaheuristics.algorithms;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.configurations.Configuration;
+import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
+import de.uni_passau.fim.se2.metaheuristics.configurations.MoveNeighbourhoods;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.Random;
+
+/**
+ * Iterated local search with variable neighbourhoods. Starting from a random configuration, the
+ * search alternates between
+ * <ul>
+ *     <li>
+ *         a local search that descends through all neighbourhood structures (variable
+ *         neighbourhood descent): it applies the first improving move of the current
+ *         neighbourhood, found by delta evaluation, and starts over with the first neighbourhood,
+ *         or moves on to the next neighbourhood if the current one contains no improving move;
+ *     </li>
+ *     <li>
+ *         and a perturbation that applies a number of random moves of one neighbourhood
+ *         (shaking).
+ *     </li>
+ * </ul>
+ * If the resulting local optimum is at least as good as the best configuration found so far, it
+ * is accepted. Otherwise, the search returns to the best configuration and shakes it in the next
+ * neighbourhood, and after all neighbourhoods have been tried, with one more random move. The
+ * perturbation strength is reset to one whenever the best configuration improves.
+ * <p>
+ * Delta evaluations are charged to the stopping condition at the rate given by
+ * {@link MoveNeighbourhoods#deltasPerEvaluation()}, and every applied move and every reset as
+ * one fitness evaluation.
+ *
+ * @param <C> the type of configuration
+ */
+public final class IteratedLocalSearch<C extends Configuration<C>> implements SearchAlgorithm<C> {
+
+    /**
+     * The default maximum number of random moves per perturbation.
+     */
+    public static final int DEFAULT_MAX_STRENGTH = 8;
+
+    /**
+     * The number of delta evaluations after which the stopping condition is queried during a
+     * local search.
+     */
+    private static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * Generator for the initial configuration.
+     */
+    private final ConfigurationGenerator<C> generator;
+
+    /**
+     * The neighbourhood structures, holding the current configuration.
+     */
+    private final MoveNeighbourhoods<C> moves;
+
+    /**
+     * The maximum number of random moves per perturbation.
+     */
+    private final int maxStrength;
+
+    /**
+     * The number of delta evaluations not yet charged to the stopping condition.
+     */
+    private long unchargedDeltas;
+
+    /**
+     * Instantiates a new iterated local search with the default maximum perturbation strength.
+     *
+     * @param generator         generator for the initial configuration, not {@code null}
+     * @param moves             the neighbourhood structures, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public IteratedLocalSearch(
+            final ConfigurationGenerator<C> generator,
+            final MoveNeighbourhoods<C> moves,
+            final StoppingCondition stoppingCondition)
+            throws NullPointerException {
+        this(generator, moves, stoppingCondition, DEFAULT_MAX_STRENGTH);
+    }
+
+    /**
+     * Instantiates a new iterated local search.
+     *
+     * @param generator         generator for the initial configuration, not {@code null}
+     * @param moves             the neighbourhood structures, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param maxStrength       the maximum number of random moves per perturbation, positive
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if the maximum strength is not positive
+     */
+    public IteratedLocalSearch(
+            final ConfigurationGenerator<C> generator,
+            final MoveNeighbourhoods<C> moves,
+            final StoppingCondition stoppingCondition,
+            final int maxStrength)
+            throws NullPointerException, IllegalArgumentException {
+        if (maxStrength <= 0) {
+            throw new IllegalArgumentException("Maximum strength must be positive: "
+                    + maxStrength);
+        }
+
+        this.generator = requireNonNull(generator);
+        this.moves = requireNonNull(moves);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.maxStrength = maxStrength;
+    }
+
+    /**
+     * Alternates local search and perturbation until the search budget is exhausted, and returns
+     * the best configuration encountered.
+     *
+     * @return the solution
+     */
+    @Override
+    public C findSolution() {
+        notifySearchStarted();
+        generator.reset();
+        unchargedDeltas = 0;
+
+        final Random random = Randomness.random();
+        moves.reset(generator.get());
+        notifyFitnessEvaluation();
+        descend(random);
+
+        C best = moves.snapshot();
+        double bestFitness = moves.fitness();
+        notifyImprovement(best);
+        int neighbourhood = 0;
+        int strength = 1;
+
+        while (searchCanContinue()) {
+            perturb(neighbourhood, strength, random);
+            descend(random);
+
+            final double fitness = moves.fitness();
+            if (!isBetter(bestFitness, fitness)) {
+                final boolean improved = isBetter(fitness, bestFitness);
+                if (improved) {
+                    neighbourhood = 0;
+                    strength = 1;
+                }
+                best = moves.snapshot();
+                bestFitness = fitness;
+                if (improved) {
+                    notifyImprovement(best);
+                }
+            } else {
+                moves.reset(best);
+                notifyFitnessEvaluation();
+                neighbourhood++;
+                if (neighbourhood == moves.neighbourhoods()) {
+                    neighbourhood = 0;
+                    strength = Math.min(strength + 1, maxStrength);
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Descends to a configuration that is locally optimal with respect to all neighbourhoods,
+     * unless the search budget is exhausted first.
+     *
+     * @param random the source of randomness
+     */
+    private void descend(final Random random) {
+        int neighbourhood = 0;
+        while (neighbourhood < moves.neighbourhoods() && searchCanContinue()) {
+            if (improve(neighbourhood, random)) {
+                neighbourhood = 0;
+            } else {
+                neighbourhood++;
+            }
+        }
+    }
+
+    /**
+     * Applies the first improving move of the given neighbourhood, scanning the moves in cyclic
+     * order from a random starting point.
+     *
+     * @param neighbourhood the neighbourhood
+     * @param random        the source of randomness
+     * @return {@code true} if an improving move was applied, {@code false} if there is none or
+     * the search budget is exhausted
+     */
+    private boolean improve(final int neighbourhood, final Random random) {
+        final long size = moves.size(neighbourhood);
+        if (size == 0) {
+            return false;
+        }
+
+        final long start = random.nextLong(size);
+        long evaluated = 0;
+        for (long i = 0; i < size; i++) {
+            final long move = (start + i) % size;
+            final double delta = moves.delta(neighbourhood, move);
+            evaluated++;
+
+            if (moves.isMinimizing() ? delta < 0 : delta > 0) {
+                charge(evaluated);
+                moves.apply(neighbourhood, move);
+                notifyFitnessEvaluation();
+                return true;
+            }
+
+            if (evaluated == CHECK_INTERVAL) {
+                charge(evaluated);
+                evaluated = 0;
+                if (searchMustStop()) {
+                    return false;
+                }
+            }
+        }
+
+        charge(evaluated);
+        return false;
+    }
+
+    /**
+     * Applies the given number of random moves of the given neighbourhood.
+     *
+     * @param neighbourhood the neighbourhood
+     * @param strength      the number of moves
+     * @param random        the source of randomness
+     */
+    private void perturb(final int neighbourhood, final int strength, final Random random) {
+        final long size = moves.size(neighbourhood);
+        if (size == 0) {
+            return;
+        }
+
+        for (int i = 0; i < strength; i++) {
+            moves.apply(neighbourhood, random.nextLong(size));
+            notifyFitnessEvaluation();
+        }
+    }
+
+    /**
+     * Tells whether the first fitness value is strictly better than the second one.
+     *
+     * @param f1 a fitness value
+     * @param f2 another fitness value
+     * @return {@code true} if {@code f1} is better than {@code f2}
+     */
+    private boolean isBetter(final double f1, final double f2) {
+        return moves.isMinimizing() ? f1 < f2 : f1 > f2;
+    }
+
+    /**
+     * Charges the given number of delta evaluations to the stopping condition.
+     *
+     * @param deltas the number of delta evaluations
+     */
+    private void charge(final long deltas) {
+        final int rate = moves.deltasPerEvaluation();
+        unchargedDeltas += deltas;
+        getStoppingCondition().notifyFitnessEvaluations((int) (unchargedDeltas / rate));
+        unchargedDeltas %= rate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
@@ -2,11 +2,11 @@ package de.uni_passau.fim.se2.metaheuristics.algorithms;
 
 import static java.util.Objects.requireNonNull;
 
+import de.uni_passau.fim.se2.metaheuristics.configurations.AdaptiveOperatorSelection;
 import de.uni_passau.fim.se2.metaheuristics.configurations.Configuration;
 import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
 import de.uni_passau.fim.se2.metaheuristics.fitness_functions.FitnessFunction;
 import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
-import de.uni_passau.fim.se2.test_prioritization.TestCaseOrdering;
 import de.uni_passau.fim.se2.util.Pair;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
@@ -91,7 +91,7 @@ public final class RandomWalk<C extends Configuration<C>> implements SearchAlgor
     @Override
     public C findSolution() {
         return randomWalk()              // Perform a random walk,
-                .reduce(this::bestOf)    // find the best encountered configuration,
+                .reduce(this::improve)   // find the best encountered configuration,
                 .orElseThrow().getFst(); // and extract and return it.
     }
 
@@ -108,6 +108,22 @@ public final class RandomWalk<C extends Configuration<C>> implements SearchAlgor
         return (fitnessFunction.isMinimizing() ^ f1 < f2) ? p2 : p1;
     }
 
+    /**
+     * Determines the best of the best configuration so far and the next one, and notifies the
+     * stopping condition if the next one is strictly better.
+     *
+     * @param best the best pair of configuration and fitness value so far
+     * @param next the pair of the next configuration and its fitness value
+     * @return the better of the two pairs (as per the fitness value)
+     */
+    private Pair<C, Double> improve(final Pair<C, Double> best, final Pair<C, Double> next) {
+        final Pair<C, Double> better = bestOf(best, next);
+        if (Double.compare(better.getSnd(), best.getSnd()) != 0) {
+            notifyImprovement(better.getFst());
+        }
+        return better;
+    }
+
     /**
      * Performs a random walk and returns the fitness values of the encountered configurations.
      *
@@ -125,8 +141,13 @@ public final class RandomWalk<C extends Configuration<C>> implements SearchAlgor
      */
     private Stream<Pair<C, Double>> randomWalk() {
         notifySearchStarted(); // IMPORTANT: Don't forget to notify the stopping condition!
+        generator.reset();
+        if (stepper instanceof AdaptiveOperatorSelection<C> adaptive) {
+            adaptive.reset();
+        }
 
         final var start = pickRandomStart();
+        notifyImprovement(start.getFst());
         final Predicate<Pair<C, Double>> searchCanContinue = ignored -> searchCanContinue();
 
         // Given the starting point, we repeatedly pick a random neighbor until the search budget is
@@ -147,15 +168,20 @@ public final class RandomWalk<C extends Configuration<C>> implements SearchAlgor
     }
 
     /**
-     * Picks a random neighbor for the given configuration using the stepper function.
+     * Picks a random neighbor for the given configuration using the stepper function. If the
+     * stepper selects operators adaptively, it is credited with the fitness gain of the neighbor.
      *
      * @param configFitnessPair the pair of configuration and its fitness
      * @return a random neighbor
      */
     private Pair<C, Double> pickRandomNeighbor(final Pair<C, Double> configFitnessPair) {
-        final C config = configFitnessPair.getFst();
-        final Configuration neighbor = ((TestCaseOrdering) config).apply(config);
-        return makeConfigFitnessPairFor((C) neighbor);
+        final C neighbor = stepper.apply(configFitnessPair.getFst());
+        final Pair<C, Double> pair = makeConfigFitnessPairFor(neighbor);
+        if (stepper instanceof AdaptiveOperatorSelection<C> adaptive) {
+            final double delta = pair.getSnd() - configFitnessPair.getSnd();
+            adaptive.feedback(fitnessFunction.isMinimizing() ? -delta : delta);
+        }
+        return pair;
     }
 
     /**
@@ -180,6 +206,15 @@ public final class RandomWalk<C extends Configuration<C>> implements SearchAlgor
         return configuration.getFitnessBy(fitnessFunction);
     }
 
+    /**
+     * Returns the stepping function used to go from one configuration to the next.
+     *
+     * @return the stepping function
+     */
+    public UnaryOperator<C> getStepper() {
+        return stepper;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -75,4 +75,14 @@ public interface SearchAlgorithm<C> {
     default void notifyFitnessEvaluation() {
         getStoppingCondition().notifyFitnessEvaluation();
     }
+
+    /**
+     * Notifies the stopping condition that the search has found a strictly better solution.
+     *
+     * @param solution the new best solution
+     * @implNote an alias for {@code getStoppingCondition().notifyImprovement(solution)}
+     */
+    default void notifyImprovement(final C solution) {
+        getStoppingCondition().notifyImprovement(solution);
+    }
 }
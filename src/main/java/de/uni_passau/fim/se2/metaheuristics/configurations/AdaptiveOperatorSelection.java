@@ -0,0 +1,274 @@
+package de.uni_passau.fim.se2.metaheuristics.configurations;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An elementary transformation that chooses among several operators with a multi-armed bandit,
+ * crediting every operator with the fitness improvement it achieved per nanosecond spent rather
+ * than per call. Hence, an operator that improves less often but is much cheaper can still win.
+ * <p>
+ * Every call of {@link #transform(Configuration)} applies the operator with the highest
+ * discounted UCB score
+ * <pre>{@code
+ * rate(a) / max rate + c * sqrt(2 * ln(sum of counts) / count(a))
+ * }</pre>
+ * where {@code rate(a)} is the discounted improvement of operator {@code a} divided by its
+ * discounted time. The time of a step is measured from the start of the transformation until the
+ * search algorithm reports the fitness gain of the neighbour via {@link #feedback(double)}, so it
+ * includes the evaluation of the neighbour. All counts and sums decay by a constant factor per
+ * step, which lets the selection follow operators whose pay-off changes during the search.
+ * <p>
+ * Instances are stateful and not thread-safe; search algorithms call {@link #reset()} at the
+ * start of every search.
+ *
+ * @param <C> the type of configuration
+ */
+public final class AdaptiveOperatorSelection<C extends Configuration<C>>
+        implements ElementaryTransformation<C> {
+
+    /**
+     * The default weight of the exploration term.
+     */
+    public static final double DEFAULT_EXPLORATION = 0.5;
+
+    /**
+     * The default factor by which all counts and sums decay per step.
+     */
+    public static final double DEFAULT_DECAY = 0.99;
+
+    /**
+     * The operators to choose from.
+     */
+    private final List<ElementaryTransformation<C>> operators;
+
+    /**
+     * The weight of the exploration term.
+     */
+    private final double exploration;
+
+    /**
+     * The factor by which all counts and sums decay per step.
+     */
+    private final double decay;
+
+    /**
+     * The discounted number of applications of every operator.
+     */
+    private final double[] counts;
+
+    /**
+     * The discounted fitness improvement of every operator.
+     */
+    private final double[] gains;
+
+    /**
+     * The discounted time spent by every operator, in nanoseconds.
+     */
+    private final double[] nanos;
+
+    /**
+     * The statistics of every operator since the last reset.
+     */
+    private final long[] totalCalls;
+    private final long[] totalImprovements;
+    private final double[] totalGains;
+    private final long[] totalNanos;
+
+    /**
+     * The operator applied by the last transformation that has not received feedback yet, or
+     * {@code -1}.
+     */
+    private int pending = -1;
+
+    /**
+     * When the pending transformation started, as per {@link System#nanoTime()}.
+     */
+    private long pendingSince;
+
+    /**
+     * Creates a selection among the given operators with default parameters.
+     *
+     * @param operators the operators, not {@code null} and not empty
+     * @throws NullPointerException     if an operator is {@code null}
+     * @throws IllegalArgumentException if there are no operators
+     */
+    public AdaptiveOperatorSelection(final List<? extends ElementaryTransformation<C>> operators)
+            throws NullPointerException, IllegalArgumentException {
+        this(operators, DEFAULT_EXPLORATION, DEFAULT_DECAY);
+    }
+
+    /**
+     * Creates a selection among the given operators.
+     *
+     * @param operators   the operators, not {@code null} and not empty
+     * @param exploration the weight of the exploration term, not negative
+     * @param decay       the factor by which all counts and sums decay per step, in (0, 1]
+     * @throws NullPointerException     if an operator is {@code null}
+     * @throws IllegalArgumentException if there are no operators or a parameter is out of range
+     */
+    public AdaptiveOperatorSelection(
+            final List<? extends ElementaryTransformation<C>> operators,
+            final double exploration,
+            final double decay)
+            throws NullPointerException, IllegalArgumentException {
+        if (operators.isEmpty()) {
+            throw new IllegalArgumentException("No operators given");
+        }
+        if (!(exploration >= 0)) {
+            throw new IllegalArgumentException("Invalid exploration weight: " + exploration);
+        }
+        if (!(0 < decay && decay <= 1)) {
+            throw new IllegalArgumentException("Invalid decay: " + decay);
+        }
+
+        this.operators = List.copyOf(operators);
+        this.exploration = exploration;
+        this.decay = decay;
+
+        final int k = this.operators.size();
+        this.counts = new double[k];
+        this.gains = new double[k];
+        this.nanos = new double[k];
+        this.totalCalls = new long[k];
+        this.totalImprovements = new long[k];
+        this.totalGains = new double[k];
+        this.totalNanos = new long[k];
+    }
+
+    /**
+     * Applies the operator chosen by the bandit to the given configuration.
+     *
+     * @param configuration the configuration to transform
+     * @return the neighbour
+     */
+    @Override
+    public C transform(final C configuration) {
+        pending = select();
+        pendingSince = System.nanoTime();
+        return operators.get(pending).apply(configuration);
+    }
+
+    /**
+     * Credits the operator of the last transformation with the given fitness gain of the
+     * neighbour over the transformed configuration, and with the time elapsed since the
+     * transformation started. Does nothing if there was no transformation since the last
+     * feedback.
+     *
+     * @param gain how much better the neighbour is, negative if it is worse
+     */
+    public void feedback(final double gain) {
+        if (pending < 0) {
+            return;
+        }
+
+        final long elapsed = Math.max(1, System.nanoTime() - pendingSince);
+        final double improvement = Math.max(0, gain);
+        for (int a = 0; a < counts.length; a++) {
+            counts[a] *= decay;
+            gains[a] *= decay;
+            nanos[a] *= decay;
+        }
+        counts[pending] += 1;
+        gains[pending] += improvement;
+        nanos[pending] += elapsed;
+
+        totalCalls[pending]++;
+        totalImprovements[pending] += improvement > 0 ? 1 : 0;
+        totalGains[pending] += improvement;
+        totalNanos[pending] += elapsed;
+        pending = -1;
+    }
+
+    /**
+     * Forgets all credit and statistics.
+     */
+    public void reset() {
+        for (int a = 0; a < counts.length; a++) {
+            counts[a] = 0;
+            gains[a] = 0;
+            nanos[a] = 0;
+            totalCalls[a] = 0;
+            totalImprovements[a] = 0;
+            totalGains[a] = 0;
+            totalNanos[a] = 0;
+        }
+        pending = -1;
+    }
+
+    /**
+     * Chooses the operator with the highest score. Operators that have never been applied come
+     * first.
+     *
+     * @return the index of the operator
+     */
+    private int select() {
+        double maxRate = 0;
+        double total = 0;
+        for (int a = 0; a < counts.length; a++) {
+            if (counts[a] == 0) {
+                return a;
+            }
+            maxRate = Math.max(maxRate, gains[a] / nanos[a]);
+            total += counts[a];
+        }
+
+        final double logTotal = Math.log(Math.max(total, 1));
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int a = 0; a < counts.length; a++) {
+            final double rate = maxRate > 0 ? gains[a] / nanos[a] / maxRate : 0;
+            final double score = rate + exploration * Math.sqrt(2 * logTotal / counts[a]);
+            if (score > bestScore) {
+                best = a;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the statistics of every operator since the last reset, in the order of the
+     * operators.
+     *
+     * @return the statistics
+     */
+    public List<Statistics> getStatistics() {
+        final List<Statistics> statistics = new ArrayList<>(operators.size());
+        for (int a = 0; a < operators.size(); a++) {
+            statistics.add(new Statistics(operators.get(a).toString(), totalCalls[a],
+                    totalImprovements[a], totalGains[a], totalNanos[a]));
+        }
+        return statistics;
+    }
+
+    /**
+     * The statistics of one operator.
+     *
+     * @param operator     the name of the operator
+     * @param calls        how often the operator was applied
+     * @param improvements how often the neighbour was better than the transformed configuration
+     * @param gain         the total fitness improvement
+     * @param nanos        the total time spent, in nanoseconds
+     */
+    public record Statistics(String operator, long calls, long improvements, double gain,
+                             long nanos) {
+
+        /**
+         * Returns the fitness improvement per second spent.
+         *
+         * @return the improvement rate
+         */
+        public double gainPerSecond() {
+            return nanos == 0 ? 0 : gain / nanos * 1e9;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d calls, %d improvements, gain %.6g in %.3f ms (%.6g/s)",
+                    operator, calls, improvements, gain, nanos / 1e6, gainPerSecond());
+        }
+    }
+}
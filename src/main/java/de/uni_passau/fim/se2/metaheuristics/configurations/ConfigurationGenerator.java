@@ -18,4 +18,15 @@ public interface ConfigurationGenerator<C extends Configuration<C>> extends Supp
      */
     @Override
     C get();
+
+    /**
+     * Notifies this generator that a new search starts, so that generators with state, such as
+     * the seeds they have already handed out, behave the same in every search. Search algorithms
+     * call this method once per search, before generating their first configuration.
+     *
+     * @implNote The default implementation does nothing.
+     */
+    default void reset() {
+        // Stateless generators have nothing to reset.
+    }
 }
@@ -0,0 +1,41 @@
+package de.uni_passau.fim.se2.metaheuristics.configurations;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * A crossover operator for evolutionary algorithms that recombines two parent configurations into
+ * an offspring configuration.
+ *
+ * @param <C> the type of configuration supported by this crossover
+ */
+public interface Crossover<C extends Configuration<C>> extends BinaryOperator<C> {
+
+    /**
+     * Recombines the given parents. An alias for {@link #crossover}.
+     *
+     * @param parent1 the first parent
+     * @param parent2 the second parent
+     * @return the offspring
+     */
+    @Override
+    default C apply(final C parent1, final C parent2) {
+        return this.crossover(parent1, parent2);
+    }
+
+    /**
+     * Recombines the given parents into a new offspring configuration.
+     * <p>
+     * Implementations must ensure that the offspring of two valid and admissible parents is a
+     * valid and admissible solution as well. The offspring should inherit characteristics of both
+     * parents. A crossover must not exhibit any side effects, such as changing the internal state
+     * of one of the parents.
+     * <p>
+     * Since offspring are usually created in bulk, implementations must be safe to invoke
+     * concurrently for different pairs of parents.
+     *
+     * @param parent1 the first parent
+     * @param parent2 the second parent
+     * @return the offspring
+     */
+    C crossover(final C parent1, final C parent2);
+}
@@ -0,0 +1,87 @@
+package de.uni_passau.fim.se2.metaheuristics.configurations;
+
+/**
+ * A mutable view of a current configuration that exposes one or more neighbourhood structures as
+ * indexed move operators, and evaluates moves by how much they would change the fitness of the
+ * current configuration (delta evaluation), without applying them. This lets local search
+ * algorithms explore neighbourhoods much faster than by creating and evaluating every neighbour.
+ * <p>
+ * Neighbourhoods are numbered from {@code 0} to {@code neighbourhoods() - 1}, and the moves of
+ * neighbourhood {@code k} from {@code 0} to {@code size(k) - 1}. A neighbourhood may contain moves
+ * that leave the configuration unchanged; their delta must be zero.
+ *
+ * @param <C> the type of configuration
+ */
+public interface MoveNeighbourhoods<C extends Configuration<C>> {
+
+    /**
+     * Makes the given configuration the current one. Costs about one fitness evaluation.
+     *
+     * @param configuration the new current configuration
+     */
+    void reset(C configuration);
+
+    /**
+     * Returns the current configuration. Later moves do not affect the returned configuration.
+     *
+     * @return the current configuration
+     */
+    C snapshot();
+
+    /**
+     * Returns the fitness of the current configuration.
+     *
+     * @return the fitness
+     */
+    double fitness();
+
+    /**
+     * Tells whether lower fitness values are better.
+     *
+     * @return {@code true} if the fitness is minimized, {@code false} if it is maximized
+     */
+    boolean isMinimizing();
+
+    /**
+     * Returns the number of neighbourhood structures.
+     *
+     * @return the number of neighbourhoods, positive
+     */
+    int neighbourhoods();
+
+    /**
+     * Returns the number of moves in the given neighbourhood.
+     *
+     * @param neighbourhood the neighbourhood
+     * @return the number of moves
+     */
+    long size(int neighbourhood);
+
+    /**
+     * Computes by how much the fitness would change if the given move was applied to the current
+     * configuration.
+     *
+     * @param neighbourhood the neighbourhood
+     * @param move          the move
+     * @return the change of the fitness
+     */
+    double delta(int neighbourhood, long move);
+
+    /**
+     * Applies the given move to the current configuration. Costs about one fitness evaluation.
+     *
+     * @param neighbourhood the neighbourhood
+     * @param move          the move
+     */
+    void apply(int neighbourhood, long move);
+
+    /**
+     * Returns how many delta evaluations cost about as much as one fitness evaluation. Search
+     * algorithms use it to charge delta evaluations to their stopping condition.
+     *
+     * @return the number of delta evaluations per fitness evaluation, positive
+     */
+    default int deltasPerEvaluation() {
+        return 1;
+    }
+}
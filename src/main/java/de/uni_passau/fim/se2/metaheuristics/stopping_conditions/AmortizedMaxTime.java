@@ -0,0 +1,290 @@
+package de.uni_passau.fim.se2.metaheuristics.stopping_conditions;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * A stopping condition that defines the search budget in terms of wall time, like
+ * {@link MaxTime}, but measures it with the monotonic {@link System#nanoTime()} and reads the
+ * clock only every {@code k}-th time it is queried. For searches whose steps take less than a
+ * microsecond, reading the clock on every query is a measurable share of the search time, and
+ * {@link System#currentTimeMillis()} may jump when the system clock is adjusted.
+ * <p>
+ * The interval {@code k} adapts to the speed of the search: whenever the clock is read, the time
+ * per query since the previous reading is used to choose {@code k} such that the next {@code k}
+ * queries take about half of the maximum overshoot, that is, the maximum time by which the
+ * search may exceed its budget before the condition notices. The interval at most doubles from
+ * one reading to the next, so that it does not overreact to a burst of fast queries, and is
+ * shortened towards the end of the budget so that the next reading falls close to the deadline.
+ * Once the budget is exhausted, the condition keeps reporting so without reading the clock.
+ * <p>
+ * Queries between readings report the elapsed time of the last reading, so the progress lags
+ * behind by less than the maximum overshoot. When the budget is exhausted, the condition records
+ * by how much it has been exceeded at that moment, which is summarized by
+ * {@link #getStatistics()}. The condition can be queried from several threads: concurrent
+ * queries may be counted only once, which delays the next reading by a few queries, and the
+ * readings themselves are serialized.
+ */
+public final class AmortizedMaxTime implements StoppingCondition {
+
+    /**
+     * The default maximum overshoot, in nanoseconds.
+     */
+    public static final long DEFAULT_MAX_OVERSHOOT_NANOS = 1_000_000;
+
+    /**
+     * The maximum number of queries between two readings of the clock.
+     */
+    private static final int MAX_INTERVAL = 1 << 16;
+
+    /**
+     * The search budget, in nanoseconds.
+     */
+    private final long maxNanos;
+
+    /**
+     * The maximum overshoot, in nanoseconds.
+     */
+    private final long maxOvershoot;
+
+    /**
+     * A supplier that gives the current time of a monotonic clock, in nanoseconds.
+     */
+    private final LongSupplier nanoTime;
+
+    /**
+     * The time when the search was started, and the time of the last reading of the clock.
+     */
+    private long startTime;
+    private long lastReading;
+
+    /**
+     * The elapsed time at the last reading of the clock.
+     */
+    private long elapsed;
+
+    /**
+     * The current number of queries between two readings, and the number of queries left until
+     * the next reading.
+     */
+    private int interval;
+    private int countdown;
+
+    /**
+     * Whether the budget of the current search is exhausted.
+     */
+    private volatile boolean expired;
+
+    /**
+     * The number of queries and readings of the clock, over all searches.
+     */
+    private long queries;
+    private long readings;
+
+    /**
+     * The number of searches whose budget was exhausted, the overshoot of the last one, and the
+     * sum and maximum of their overshoots.
+     */
+    private int expirations;
+    private long lastOvershoot;
+    private long overshootSum;
+    private long overshootMax;
+
+    /**
+     * Constructs a new stopping condition with the given search budget and maximum overshoot, and
+     * the given {@code nanoTime} to determine the current time.
+     *
+     * @param maxNanos     the search budget, in nanoseconds
+     * @param maxOvershoot the maximum overshoot, in nanoseconds
+     * @param nanoTime     the supplier that tells the current time, in nanoseconds
+     * @throws NullPointerException     when the supplier is {@code null}
+     * @throws IllegalArgumentException when the budget is negative or the overshoot not positive
+     */
+    AmortizedMaxTime(final long maxNanos, final long maxOvershoot, final LongSupplier nanoTime)
+            throws NullPointerException, IllegalArgumentException {
+        if (maxNanos < 0) {
+            throw new IllegalArgumentException("time must not be negative");
+        }
+        if (maxOvershoot <= 0) {
+            throw new IllegalArgumentException("overshoot must be positive");
+        }
+
+        this.maxNanos = maxNanos;
+        this.maxOvershoot = maxOvershoot;
+        this.nanoTime = requireNonNull(nanoTime);
+        this.interval = 1;
+    }
+
+    /**
+     * Factory function to create a new stopping condition using the given number of seconds as
+     * budget, and the default maximum overshoot.
+     *
+     * @param seconds the budget in seconds
+     * @return a new stopping condition with the given search budget
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public static AmortizedMaxTime seconds(final int seconds) throws IllegalArgumentException {
+        return new AmortizedMaxTime(seconds * 1_000_000_000L, DEFAULT_MAX_OVERSHOOT_NANOS,
+                System::nanoTime);
+    }
+
+    /**
+     * Factory function to create a new stopping condition using the given budget and maximum
+     * overshoot.
+     *
+     * @param budget       the budget
+     * @param maxOvershoot the maximum overshoot
+     * @return a new stopping condition with the given search budget
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if the budget is negative or the overshoot not positive
+     */
+    public static AmortizedMaxTime of(final Duration budget, final Duration maxOvershoot)
+            throws NullPointerException, IllegalArgumentException {
+        return new AmortizedMaxTime(budget.toNanos(), maxOvershoot.toNanos(), System::nanoTime);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifySearchStarted() {
+        startTime = nanoTime.getAsLong();
+        lastReading = startTime;
+        readings++;
+        elapsed = 0;
+        interval = 1;
+        countdown = 1;
+        expired = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifyFitnessEvaluation() {
+        // Not relevant for this stopping condition, so do nothing.
+    }
+
+    @Override
+    public void notifyFitnessEvaluations(final int evaluations) throws IllegalArgumentException {
+        // Fitness evaluations are irrelevant for this stopping condition. However, we keep the
+        // check that the number of evaluations must not be negative.
+        if (evaluations < 0) {
+            throw new IllegalArgumentException("Negative number of evaluations: " + evaluations);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean searchMustStop() {
+        return expired || query() > maxNanos;
+    }
+
+    /**
+     * Returns the share of the budget that had elapsed at the last reading of the clock, or 1 if
+     * the budget is exhausted.
+     *
+     * @return the progress, in [0, 1]
+     */
+    @Override
+    public double getProgress() {
+        final long elapsed = query();
+        return expired ? 1 : Math.min(1, elapsed / (double) Math.max(1, maxNanos));
+    }
+
+    /**
+     * Counts a query, and reads the clock if it is due.
+     *
+     * @return the elapsed time at the last reading
+     */
+    private long query() {
+        queries++;
+        if (expired || --countdown > 0) {
+            return elapsed;
+        }
+        return read();
+    }
+
+    /**
+     * Reads the clock, unless another thread has just done so, and adapts the interval until the
+     * next reading.
+     *
+     * @return the elapsed time at the last reading
+     */
+    private synchronized long read() {
+        if (expired || countdown > 0) {
+            return elapsed;
+        }
+
+        final long now = nanoTime.getAsLong();
+        readings++;
+        final double nanosPerQuery = Math.max(1, now - lastReading) / (double) interval;
+        lastReading = now;
+        elapsed = now - startTime;
+        if (elapsed > maxNanos) {
+            expire(elapsed - maxNanos);
+            return elapsed;
+        }
+
+        final double target = maxOvershoot / 2.0 / nanosPerQuery;
+        final double untilDeadline = (maxNanos - elapsed) / nanosPerQuery + 1;
+        interval = (int) Math.max(1, Math.min(Math.min(target, untilDeadline),
+                Math.min(2.0 * interval, MAX_INTERVAL)));
+        countdown = interval;
+        return elapsed;
+    }
+
+    /**
+     * Marks the budget as exhausted and records the given overshoot.
+     */
+    private void expire(final long overshoot) {
+        expired = true;
+        expirations++;
+        lastOvershoot = overshoot;
+        overshootSum += overshoot;
+        overshootMax = Math.max(overshootMax, overshoot);
+    }
+
+    /**
+     * Returns the statistics over all searches this condition has been used for.
+     *
+     * @return the statistics
+     */
+    public Statistics getStatistics() {
+        return new Statistics(queries, readings, expirations, lastOvershoot,
+                expirations == 0 ? 0 : overshootSum / (double) expirations, overshootMax);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%.3fs, %s)", getClass().getSimpleName(), maxNanos / 1e9,
+                getStatistics());
+    }
+
+    /**
+     * Statistics about the clock readings of a stopping condition and by how much searches
+     * exceeded their budget before the condition noticed.
+     *
+     * @param queries       the number of queries
+     * @param readings      the number of readings of the clock
+     * @param expirations   the number of searches whose budget was exhausted
+     * @param lastOvershoot the overshoot of the last such search, in nanoseconds
+     * @param meanOvershoot the mean overshoot, in nanoseconds
+     * @param maxOvershoot  the maximum overshoot, in nanoseconds
+     */
+    public record Statistics(long queries, long readings, int expirations, long lastOvershoot,
+                             double meanOvershoot, long maxOvershoot) {
+
+        @Override
+        public String toString() {
+            return String.format("%d queries, %d clock readings, overshoot last %.3f ms, "
+                            + "mean %.3f ms, max %.3f ms over %d searches",
+                    queries, readings, lastOvershoot / 1e6, meanOvershoot / 1e6,
+                    maxOvershoot / 1e6, expirations);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package de.uni_passau.fim.se2.metaheuristics.stopping_conditions;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A stopping condition that publishes every strict improvement of the best solution of a search
+ * as it happens, so that consumers can act on a good-enough solution long before the search
+ * budget is exhausted. The budget itself is defined by the wrapped stopping condition.
+ * <p>
+ * Search algorithms report improvements through {@link #notifyImprovement(Object)}, and only
+ * when the best solution improves, so publishing adds no cost per fitness evaluation. Every
+ * improvement carries the number of fitness evaluations and the time since the search started.
+ * Improvements are delivered asynchronously, so a slow subscriber never blocks the search. A
+ * subscriber that falls behind by more than {@link Flow#defaultBufferSize()} improvements misses
+ * some of them. If it misses the final best solution, it receives that solution again before
+ * completion, waiting at most {@value #RESEND_TIMEOUT_MILLIS} ms for the subscriber to catch up.
+ * Subscribers that already received it do not receive it twice.
+ * <p>
+ * Subscribers cancel the search by cancelling their subscriptions: once all subscribers have
+ * cancelled, the search must stop. A publisher serves exactly one search, which is started with
+ * {@link #run(SearchAlgorithm)}:
+ * <pre>{@code
+ * var publisher = new ImprovementPublisher<TestCaseOrdering>(MaxTime.seconds(60));
+ * var search = new HillClimbing(problem, publisher, PermutationMutation.INSERT);
+ * publisher.subscribe(subscriber);
+ * var best = publisher.run(search);
+ * }</pre>
+ *
+ * @param <C> the type of solution
+ */
+public final class ImprovementPublisher<C> implements StoppingCondition,
+        Flow.Publisher<ImprovementPublisher.Improvement<C>> {
+
+    /**
+     * How long to wait for a subscriber that fell behind when resending the final best solution,
+     * in milliseconds.
+     */
+    static final long RESEND_TIMEOUT_MILLIS = 100;
+
+    /**
+     * The stopping condition that defines the search budget.
+     */
+    private final StoppingCondition budget;
+
+    /**
+     * Delivers the improvements to the subscribers.
+     */
+    private final SubmissionPublisher<Improvement<C>> publisher = new SubmissionPublisher<>();
+
+    /**
+     * The number of subscribers that have not cancelled their subscriptions.
+     */
+    private final AtomicInteger activeSubscribers = new AtomicInteger();
+
+    /**
+     * Whether all subscribers have cancelled their subscriptions.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Whether the latest improvement has been dropped for a subscriber that fell behind.
+     */
+    private volatile boolean latestDropped;
+
+    /**
+     * Whether the search has been run.
+     */
+    private final AtomicBoolean used = new AtomicBoolean();
+
+    /**
+     * The number of fitness evaluations since the search started.
+     */
+    private long evaluations;
+
+    /**
+     * When the search started, as per {@link System#nanoTime()}.
+     */
+    private long startTime;
+
+    /**
+     * The latest improvement.
+     */
+    private Improvement<C> latest;
+
+    /**
+     * Creates a publisher for a search with the given budget.
+     *
+     * @param budget the stopping condition that defines the budget, not {@code null}
+     * @throws NullPointerException if the budget is {@code null}
+     */
+    public ImprovementPublisher(final StoppingCondition budget) throws NullPointerException {
+        this.budget = requireNonNull(budget);
+    }
+
+    /**
+     * Runs the given search, which must use this publisher as its stopping condition or as part
+     * of it, and completes all subscriptions when the search returns. If the search fails, the
+     * subscriptions complete exceptionally.
+     *
+     * @param search the search
+     * @return the solution of the search
+     * @throws IllegalStateException if this publisher has already been used for a search
+     */
+    public C run(final SearchAlgorithm<C> search) throws IllegalStateException {
+        if (!used.compareAndSet(false, true)) {
+            throw new IllegalStateException("A publisher can only serve one search");
+        }
+
+        try {
+            final C solution = search.findSolution();
+            if (latestDropped) {
+                // Subscribers that already received the latest improvement skip it.
+                publisher.offer(latest, RESEND_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS,
+                        (subscriber, improvement) -> false);
+            }
+            publisher.close();
+            return solution;
+        } catch (RuntimeException | Error e) {
+            publisher.closeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Subscribes the given subscriber to the improvements of the search.
+     *
+     * @param subscriber the subscriber
+     */
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Improvement<C>> subscriber) {
+        requireNonNull(subscriber);
+        publisher.subscribe(new CancellationTracker(subscriber));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifySearchStarted() {
+        evaluations = 0;
+        startTime = System.nanoTime();
+        latest = null;
+        latestDropped = false;
+        budget.notifySearchStarted();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifyFitnessEvaluation() {
+        evaluations++;
+        budget.notifyFitnessEvaluation();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifyFitnessEvaluations(final int evaluations) throws IllegalArgumentException {
+        budget.notifyFitnessEvaluations(evaluations);
+        this.evaluations += evaluations;
+    }
+
+    /**
+     * Publishes the given solution along with the number of fitness evaluations and the time
+     * spent so far.
+     *
+     * @param solution the new best solution
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void notifyImprovement(final Object solution) {
+        budget.notifyImprovement(solution);
+        latest = new Improvement<>((C) solution, evaluations, System.nanoTime() - startTime);
+        latestDropped = false;
+        publisher.offer(latest, (subscriber, improvement) -> {
+            latestDropped = true;
+            return false;
+        });
+    }
+
+    /**
+     * Tells whether the budget is exhausted or all subscribers have cancelled.
+     *
+     * @return {@code true} if the search must stop, {@code false} otherwise
+     */
+    @Override
+    public boolean searchMustStop() {
+        return cancelled || budget.searchMustStop();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getProgress() {
+        return budget.getProgress();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%s)", getClass().getSimpleName(), budget);
+    }
+
+    /**
+     * A strict improvement of the best solution of a search.
+     *
+     * @param solution    the new best solution
+     * @param evaluations the number of fitness evaluations until the solution was found
+     * @param nanos       the time since the search started, in nanoseconds
+     * @param <C>         the type of solution
+     */
+    public record Improvement<C>(C solution, long evaluations, long nanos) {
+    }
+
+    /**
+     * Forwards everything to a subscriber, except for an improvement the subscriber has already
+     * received, and makes the search stop once all subscribers have cancelled their subscriptions.
+     */
+    private final class CancellationTracker implements Flow.Subscriber<Improvement<C>> {
+
+        private final Flow.Subscriber<? super Improvement<C>> subscriber;
+
+        private Flow.Subscription subscription;
+
+        /**
+         * The improvement last forwarded to the subscriber.
+         */
+        private Improvement<C> last;
+
+        private CancellationTracker(final Flow.Subscriber<? super Improvement<C>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            activeSubscribers.incrementAndGet();
+            final AtomicBoolean done = new AtomicBoolean();
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    subscription.cancel();
+                    if (done.compareAndSet(false, true)
+                            && activeSubscribers.decrementAndGet() == 0) {
+                        cancelled = true;
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void onNext(final Improvement<C> improvement) {
+            if (improvement == last) {
+                // The resent final improvement; give back the demand it consumed.
+                subscription.request(1);
+                return;
+            }
+            last = improvement;
+            subscriber.onNext(improvement);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            subscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            subscriber.onComplete();
+        }
+    }
+}
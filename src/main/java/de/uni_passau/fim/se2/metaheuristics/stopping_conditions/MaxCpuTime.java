@@ -0,0 +1,185 @@
+package de.uni_passau.fim.se2.metaheuristics.stopping_conditions;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.LongSupplier;
+
+/**
+ * A stopping condition that defines the search budget in terms of CPU time rather than wall time.
+ * When several searches share a machine, wall time also counts the time a search waits for a
+ * processor, which makes budgets unfair and results noisy. CPU time only counts the time the
+ * search actually runs.
+ * <p>
+ * By default, the budget is the CPU time of the thread that starts the search, as reported by
+ * {@link ThreadMXBean}, which suits single-threaded searches. With
+ * {@link #aggregateSeconds(int)}, it is the CPU time of the whole process since the search
+ * started, which suits searches that evaluate in parallel: it includes the fork-join workers
+ * that evaluate on behalf of the search, whether or not they ever contact the condition, and
+ * threads that terminate before the budget is checked. It also includes the garbage collector
+ * and the JIT compiler, which work for the search too, but also any other search running in the
+ * same JVM at the same time, so the aggregate budget is meant for searches that run one after
+ * another.
+ * <p>
+ * Reading CPU times takes about a microsecond, so the clock is read at amortized intervals, as
+ * described in {@link AmortizedMaxTime}, which also provides the statistics about clock readings
+ * and overshoots. Progress is reported as the consumed share of the budget.
+ */
+public final class MaxCpuTime implements StoppingCondition {
+
+    /**
+     * Tells the CPU time of threads.
+     */
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Checks the budget, using the CPU time of the search as its clock.
+     */
+    private final AmortizedMaxTime budget;
+
+    /**
+     * The thread that started the current search.
+     */
+    private volatile Thread searchThread;
+
+    /**
+     * Constructs a new stopping condition with the given budget.
+     *
+     * @param maxNanos  the budget, in nanoseconds of CPU time
+     * @param aggregate whether to count the CPU time of the whole process
+     * @throws IllegalArgumentException      if the budget is negative
+     * @throws UnsupportedOperationException if the JVM does not measure the CPU time
+     */
+    private MaxCpuTime(final long maxNanos, final boolean aggregate)
+            throws IllegalArgumentException, UnsupportedOperationException {
+        final LongSupplier clock;
+        if (aggregate) {
+            clock = processCpuTime();
+        } else {
+            if (!threads.isThreadCpuTimeSupported()) {
+                throw new UnsupportedOperationException("CPU time of threads cannot be measured");
+            }
+            if (!threads.isThreadCpuTimeEnabled()) {
+                threads.setThreadCpuTimeEnabled(true);
+            }
+            clock = this::searchThreadCpuTime;
+        }
+
+        this.budget = new AmortizedMaxTime(maxNanos,
+                AmortizedMaxTime.DEFAULT_MAX_OVERSHOOT_NANOS, clock);
+    }
+
+    /**
+     * Factory function to create a new stopping condition using the given number of seconds of
+     * CPU time of the thread that starts the search as budget.
+     *
+     * @param seconds the budget in seconds
+     * @return a new stopping condition with the given search budget
+     * @throws IllegalArgumentException      if the budget is negative
+     * @throws UnsupportedOperationException if the JVM does not measure the CPU time of threads
+     */
+    public static MaxCpuTime seconds(final int seconds)
+            throws IllegalArgumentException, UnsupportedOperationException {
+        return new MaxCpuTime(seconds * 1_000_000_000L, false);
+    }
+
+    /**
+     * Factory function to create a new stopping condition using the given number of seconds of
+     * CPU time of the whole process as budget.
+     *
+     * @param seconds the budget in seconds
+     * @return a new stopping condition with the given search budget
+     * @throws IllegalArgumentException      if the budget is negative
+     * @throws UnsupportedOperationException if the JVM does not measure the CPU time of the
+     *                                       process
+     */
+    public static MaxCpuTime aggregateSeconds(final int seconds)
+            throws IllegalArgumentException, UnsupportedOperationException {
+        return new MaxCpuTime(seconds * 1_000_000_000L, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifySearchStarted() {
+        searchThread = Thread.currentThread();
+        budget.notifySearchStarted();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifyFitnessEvaluation() {
+        // Not relevant for this stopping condition, so do nothing.
+    }
+
+    @Override
+    public void notifyFitnessEvaluations(final int evaluations) throws IllegalArgumentException {
+        // Fitness evaluations are irrelevant for this stopping condition. However, we keep the
+        // check that the number of evaluations must not be negative.
+        if (evaluations < 0) {
+            throw new IllegalArgumentException("Negative number of evaluations: " + evaluations);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean searchMustStop() {
+        return budget.searchMustStop();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getProgress() {
+        return budget.getProgress();
+    }
+
+    /**
+     * Returns the statistics over all searches this condition has been used for, in terms of CPU
+     * time.
+     *
+     * @return the statistics
+     */
+    public AmortizedMaxTime.Statistics getStatistics() {
+        return budget.getStatistics();
+    }
+
+    /**
+     * Returns a clock that tells the CPU time of the process.
+     *
+     * @return the clock, in nanoseconds
+     * @throws UnsupportedOperationException if the JVM does not measure the CPU time of the
+     *                                       process
+     */
+    private static LongSupplier processCpuTime() throws UnsupportedOperationException {
+        if (!(ManagementFactory.getOperatingSystemMXBean()
+                instanceof com.sun.management.OperatingSystemMXBean os)
+                || os.getProcessCpuTime() < 0) {
+            throw new UnsupportedOperationException("CPU time of the process cannot be measured");
+        }
+        return os::getProcessCpuTime;
+    }
+
+    /**
+     * Tells the CPU time of the thread that started the current search.
+     *
+     * @return the CPU time, in nanoseconds
+     */
+    private long searchThreadCpuTime() {
+        final Thread thread = searchThread;
+        if (thread == null || thread == Thread.currentThread()) {
+            return threads.getCurrentThreadCpuTime();
+        }
+        return Math.max(0, threads.getThreadCpuTime(thread.getId()));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%s)", getClass().getSimpleName(), budget);
+    }
+}
@@ -0,0 +1,220 @@
+package de.uni_passau.fim.se2.metaheuristics.stopping_conditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A stopping condition that defines the search budget in terms of fitness evaluations, and that
+ * can be shared by search algorithms whose worker threads evaluate in parallel.
+ * <p>
+ * Counting every evaluation on a single shared counter makes all workers contend for one cache
+ * line. Instead, the budget is handed out as tickets: a worker reserves a batch of tickets from
+ * the shared budget when it has none left, and then consumes them locally, so the shared budget
+ * is touched once per batch. A batch never exceeds what is left of the budget, and reservations
+ * are atomic, so a worker is only told to stop once the whole budget has been reserved and its
+ * own tickets are used up. Evaluations a worker reports without holding tickets, for example
+ * because it reports a whole generation after asking once, are still charged; such evaluations
+ * are the only way to exceed the budget, by at most what a worker evaluates between two queries.
+ * Conversely, tickets still held by workers when the search ends are not used, which is at most
+ * one batch per worker.
+ * <p>
+ * The number of evaluations is counted by a {@link LongAdder}, which workers update without
+ * contention, and reported as progress.
+ */
+public final class MaxFitnessEvaluations implements StoppingCondition {
+
+    /**
+     * The default number of tickets per reservation.
+     */
+    public static final int DEFAULT_BATCH = 32;
+
+    /**
+     * The search budget.
+     */
+    private final long maxEvaluations;
+
+    /**
+     * The maximum number of tickets per reservation.
+     */
+    private final int batch;
+
+    /**
+     * The number of tickets reserved in the current search.
+     */
+    private final AtomicLong reserved = new AtomicLong();
+
+    /**
+     * The number of evaluations in the current search.
+     */
+    private final LongAdder evaluations = new LongAdder();
+
+    /**
+     * The number of the current search, so that tickets left over by workers from a previous
+     * search are discarded.
+     */
+    private volatile int search;
+
+    /**
+     * The tickets of the current thread.
+     */
+    private final ThreadLocal<Tickets> tickets = ThreadLocal.withInitial(Tickets::new);
+
+    /**
+     * Constructs a new stopping condition with the given budget and the default batch size.
+     *
+     * @param maxEvaluations the maximum number of fitness evaluations
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public MaxFitnessEvaluations(final long maxEvaluations) throws IllegalArgumentException {
+        this(maxEvaluations, DEFAULT_BATCH);
+    }
+
+    /**
+     * Constructs a new stopping condition with the given budget and batch size.
+     *
+     * @param maxEvaluations the maximum number of fitness evaluations
+     * @param batch          the maximum number of tickets per reservation, positive
+     * @throws IllegalArgumentException if the budget is negative or the batch size not positive
+     */
+    public MaxFitnessEvaluations(final long maxEvaluations, final int batch)
+            throws IllegalArgumentException {
+        if (maxEvaluations < 0) {
+            throw new IllegalArgumentException("Negative number of evaluations: "
+                    + maxEvaluations);
+        }
+        if (batch <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batch);
+        }
+
+        this.maxEvaluations = maxEvaluations;
+        this.batch = batch;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifySearchStarted() {
+        reserved.set(0);
+        evaluations.reset();
+        search++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifyFitnessEvaluation() {
+        final Tickets own = ownTickets();
+        if (own.count > 0) {
+            own.count--;
+        } else {
+            reserved.incrementAndGet();
+        }
+        evaluations.increment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifyFitnessEvaluations(final int evaluations) throws IllegalArgumentException {
+        if (evaluations < 0) {
+            throw new IllegalArgumentException("Negative number of evaluations: " + evaluations);
+        }
+
+        final Tickets own = ownTickets();
+        final int covered = (int) Math.min(own.count, evaluations);
+        own.count -= covered;
+        if (covered < evaluations) {
+            reserved.addAndGet(evaluations - covered);
+        }
+        this.evaluations.add(evaluations);
+    }
+
+    /**
+     * Tells whether the search must stop, i.e., whether the current thread has no tickets left and
+     * none can be reserved, because the whole budget has been reserved.
+     *
+     * @return {@code true} if the search must stop, {@code false} otherwise
+     */
+    @Override
+    public boolean searchMustStop() {
+        final Tickets own = ownTickets();
+        if (own.count > 0) {
+            return false;
+        }
+
+        long current = reserved.get();
+        while (current < maxEvaluations) {
+            final long count = Math.min(batch, maxEvaluations - current);
+            if (reserved.compareAndSet(current, current + count)) {
+                own.count = count;
+                return false;
+            }
+            current = reserved.get();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of fitness evaluations in the current search.
+     *
+     * @return the number of evaluations
+     */
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    /**
+     * Returns the share of the budget used by the evaluations in the current search.
+     *
+     * @return the progress, in [0, 1]
+     */
+    @Override
+    public double getProgress() {
+        if (maxEvaluations == 0) {
+            return 1;
+        }
+        return Math.min(1, evaluations.sum() / (double) maxEvaluations);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    /**
+     * Returns the tickets of the current thread, discarding those of a previous search.
+     *
+     * @return the tickets
+     */
+    private Tickets ownTickets() {
+        final Tickets own = tickets.get();
+        final int current = search;
+        if (own.search != current) {
+            own.search = current;
+            own.count = 0;
+        }
+        return own;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%d/%d)", getClass().getSimpleName(), getEvaluations(),
+                maxEvaluations);
+    }
+
+    /**
+     * The tickets a thread holds, and the search for which they were reserved.
+     */
+    private static final class Tickets {
+
+        private long count;
+
+        private int search = -1;
+    }
+}
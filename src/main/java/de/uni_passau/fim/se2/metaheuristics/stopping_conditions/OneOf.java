@@ -76,6 +76,16 @@ public final class OneOf implements StoppingCondition {
         Arrays.stream(stoppingConditions).forEach(StoppingCondition::notifyFitnessEvaluation);
     }
 
+    /**
+     * Notifies all stopping conditions that the search has found a better solution.
+     *
+     * @param solution the new best solution
+     */
+    @Override
+    public void notifyImprovement(final Object solution) {
+        Arrays.stream(stoppingConditions).forEach(c -> c.notifyImprovement(solution));
+    }
+
     /**
      * Tells whether the search must stop, i.e., if one of the wrapped stopping conditions is
      * satisfied.
@@ -103,6 +113,16 @@ public final class OneOf implements StoppingCondition {
                 .getAsDouble(); // By construction, a value is always present.
     }
 
+    /**
+     * Tells whether all the stopping conditions are thread-safe.
+     *
+     * @return {@code true} if this condition is thread-safe, {@code false} otherwise
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return Arrays.stream(stoppingConditions).allMatch(StoppingCondition::isThreadSafe);
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", getClass().getSimpleName(),
@@ -0,0 +1,188 @@
+package de.uni_passau.fim.se2.metaheuristics.stopping_conditions;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A stopping condition that stops a search once it stagnates, that is, once it has not found a
+ * better solution within a given number of fitness evaluations or a given amount of wall time,
+ * whichever comes first. The search start counts as an improvement. The condition relies on the
+ * search calling {@link #notifyImprovement(Object)} on every strict improvement, and does not
+ * bound the total budget: to do so, it is combined with another condition via {@link OneOf}, such
+ * as {@code new OneOf(MaxTime.seconds(60), Stagnation.evaluations(10_000))}.
+ * <p>
+ * Both limits are exact: the search must stop right after the evaluation that exceeds the
+ * evaluation limit, and the clock is read whenever the condition is queried.
+ */
+public final class Stagnation implements StoppingCondition {
+
+    /**
+     * The maximum number of fitness evaluations without improvement.
+     */
+    private final long maxEvaluations;
+
+    /**
+     * The maximum time without improvement (usually, in milliseconds).
+     */
+    private final long maxTime;
+
+    /**
+     * A supplier that gives the current wall time (usually, in terms of milliseconds).
+     */
+    private final LongSupplier timeSupplier;
+
+    /**
+     * The number of fitness evaluations since the last improvement.
+     */
+    private long evaluations;
+
+    /**
+     * The time of the last improvement.
+     */
+    private long improvementTime;
+
+    /**
+     * The largest share of a limit that was consumed since the search started.
+     */
+    private double progress;
+
+    /**
+     * Constructs a new stopping condition with the given limits, and the given
+     * {@code timeSupplier} to determine the current time.
+     *
+     * @param maxEvaluations the maximum number of fitness evaluations without improvement
+     * @param maxTime        the maximum time without improvement
+     * @param timeSupplier   the supplier that tells the current time
+     * @throws NullPointerException     when the time supplier is {@code null}
+     * @throws IllegalArgumentException when a limit is not positive
+     */
+    Stagnation(final long maxEvaluations, final long maxTime, final LongSupplier timeSupplier)
+            throws NullPointerException, IllegalArgumentException {
+        if (maxEvaluations <= 0 || maxTime <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Limits must be positive: %d evaluations, %d time units",
+                    maxEvaluations, maxTime));
+        }
+
+        this.maxEvaluations = maxEvaluations;
+        this.maxTime = maxTime;
+        this.timeSupplier = requireNonNull(timeSupplier);
+        this.improvementTime = Long.MAX_VALUE;
+    }
+
+    /**
+     * Factory function to create a stopping condition that stops the search after the given
+     * number of fitness evaluations without improvement.
+     *
+     * @param evaluations the maximum number of fitness evaluations without improvement
+     * @return a new stopping condition
+     * @throws IllegalArgumentException if the number of evaluations is not positive
+     */
+    public static Stagnation evaluations(final long evaluations) throws IllegalArgumentException {
+        return new Stagnation(evaluations, Long.MAX_VALUE, System::currentTimeMillis);
+    }
+
+    /**
+     * Factory function to create a stopping condition that stops the search after the given
+     * number of milliseconds without improvement.
+     *
+     * @param millis the maximum number of milliseconds without improvement
+     * @return a new stopping condition
+     * @throws IllegalArgumentException if the number of milliseconds is not positive
+     */
+    public static Stagnation millis(final long millis) throws IllegalArgumentException {
+        return new Stagnation(Long.MAX_VALUE, millis, System::currentTimeMillis);
+    }
+
+    /**
+     * Factory function to create a stopping condition that stops the search after the given
+     * number of fitness evaluations or milliseconds without improvement, whichever comes first.
+     *
+     * @param evaluations the maximum number of fitness evaluations without improvement
+     * @param millis      the maximum number of milliseconds without improvement
+     * @return a new stopping condition
+     * @throws IllegalArgumentException if a limit is not positive
+     */
+    public static Stagnation of(final long evaluations, final long millis)
+            throws IllegalArgumentException {
+        return new Stagnation(evaluations, millis, System::currentTimeMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifySearchStarted() {
+        evaluations = 0;
+        improvementTime = timeSupplier.getAsLong();
+        progress = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifyFitnessEvaluation() {
+        evaluations++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifyFitnessEvaluations(final int evaluations) throws IllegalArgumentException {
+        if (evaluations < 0) {
+            throw new IllegalArgumentException("Negative number of evaluations: " + evaluations);
+        }
+
+        this.evaluations += evaluations;
+    }
+
+    /**
+     * Restarts both limits.
+     *
+     * @param solution the new best solution
+     */
+    @Override
+    public void notifyImprovement(final Object solution) {
+        getProgress();
+        evaluations = 0;
+        improvementTime = timeSupplier.getAsLong();
+    }
+
+    /**
+     * Tells whether the search has not improved within one of the limits.
+     *
+     * @return {@code true} if the search must stop, {@code false} otherwise
+     */
+    @Override
+    public boolean searchMustStop() {
+        return evaluations > maxEvaluations
+                || timeSupplier.getAsLong() - improvementTime > maxTime;
+    }
+
+    /**
+     * Tells the largest share of a limit that was consumed without improvement since the search
+     * started. Unlike the time since the last improvement, the returned value never decreases, so
+     * that algorithms whose parameters depend on the progress, such as the temperature of
+     * simulated annealing, do not start over on every improvement.
+     *
+     * @return the progress, in [0, 1]
+     */
+    @Override
+    public double getProgress() {
+        final double share = Math.max(
+                evaluations / (double) maxEvaluations,
+                Math.max(0, timeSupplier.getAsLong() - improvementTime) / (double) maxTime);
+        progress = Math.max(progress, Math.min(1, share));
+        return progress;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%s, %s)", getClass().getSimpleName(),
+                maxEvaluations == Long.MAX_VALUE ? "-" : maxEvaluations + " evaluations",
+                maxTime == Long.MAX_VALUE ? "-" : maxTime + " ms");
+    }
+}
@@ -45,6 +45,18 @@ public interface StoppingCondition {
         }
     }
 
+    /**
+     * Notifies this stopping condition that the search has found a solution that is strictly
+     * better than all solutions it found before in the current run. Intended to be called by the
+     * search algorithm the stopping condition is subscribed to, only when the best solution
+     * improves, so that observing the search costs nothing per fitness evaluation. Conditions that
+     * only measure the budget ignore the notification, which is the default.
+     *
+     * @param solution the new best solution, must not be modified afterwards
+     */
+    default void notifyImprovement(final Object solution) {
+    }
+
     /**
      * Tells whether the search algorithm must stop, i.e., the search budget has been exhausted. The
      * inverse of {@code searchCanContinue()}.
@@ -72,4 +84,16 @@ public interface StoppingCondition {
      * @return the amount of search budget consumed
      */
     double getProgress();
+
+    /**
+     * Tells whether this stopping condition may be notified about fitness evaluations and queried
+     * by several threads at once, without serializing these calls. The search must still be
+     * started, and improvements reported, by one thread at a time.
+     *
+     * @return {@code true} if the condition is thread-safe, {@code false} otherwise
+     * @implNote The default implementation returns {@code false}.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
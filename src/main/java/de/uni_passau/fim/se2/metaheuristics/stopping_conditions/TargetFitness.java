@@ -0,0 +1,157 @@
+package de.uni_passau.fim.se2.metaheuristics.stopping_conditions;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A stopping condition that stops a search as soon as it finds a solution whose fitness reaches a
+ * given target, for example a known optimum or an upper bound of the fitness. The fitness is only
+ * computed for the solutions passed to {@link #notifyImprovement(Object)}, that is, once per
+ * strict improvement of the search, so the condition adds no cost per fitness evaluation. It does
+ * not bound the total budget: to do so, it is combined with another condition via
+ * {@link OneOf}.
+ *
+ * @param <C> the type of solution
+ */
+public final class TargetFitness<C> implements StoppingCondition {
+
+    /**
+     * The fitness function.
+     */
+    private final ToDoubleFunction<? super C> fitness;
+
+    /**
+     * The target fitness.
+     */
+    private final double target;
+
+    /**
+     * Whether lower fitness values are better.
+     */
+    private final boolean minimizing;
+
+    /**
+     * Whether the target has been reached in the current search.
+     */
+    private volatile boolean reached;
+
+    private TargetFitness(
+            final ToDoubleFunction<? super C> fitness,
+            final double target,
+            final boolean minimizing)
+            throws NullPointerException, IllegalArgumentException {
+        if (Double.isNaN(target)) {
+            throw new IllegalArgumentException("Target must not be NaN");
+        }
+
+        this.fitness = requireNonNull(fitness);
+        this.target = target;
+        this.minimizing = minimizing;
+    }
+
+    /**
+     * Factory function to create a stopping condition for a maximizing fitness function, which
+     * stops the search once the fitness is at least the given target.
+     *
+     * @param fitness the fitness function, not {@code null}
+     * @param target  the target fitness, not NaN
+     * @param <C>     the type of solution
+     * @return a new stopping condition
+     * @throws NullPointerException     if the fitness function is {@code null}
+     * @throws IllegalArgumentException if the target is NaN
+     */
+    public static <C> TargetFitness<C> atLeast(
+            final ToDoubleFunction<? super C> fitness,
+            final double target)
+            throws NullPointerException, IllegalArgumentException {
+        return new TargetFitness<>(fitness, target, false);
+    }
+
+    /**
+     * Factory function to create a stopping condition for a minimizing fitness function, which
+     * stops the search once the fitness is at most the given target.
+     *
+     * @param fitness the fitness function, not {@code null}
+     * @param target  the target fitness, not NaN
+     * @param <C>     the type of solution
+     * @return a new stopping condition
+     * @throws NullPointerException     if the fitness function is {@code null}
+     * @throws IllegalArgumentException if the target is NaN
+     */
+    public static <C> TargetFitness<C> atMost(
+            final ToDoubleFunction<? super C> fitness,
+            final double target)
+            throws NullPointerException, IllegalArgumentException {
+        return new TargetFitness<>(fitness, target, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifySearchStarted() {
+        reached = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifyFitnessEvaluation() {
+        // Only improvements are relevant for this stopping condition, so do nothing.
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void notifyFitnessEvaluations(final int evaluations) throws IllegalArgumentException {
+        if (evaluations < 0) {
+            throw new IllegalArgumentException("Negative number of evaluations: " + evaluations);
+        }
+    }
+
+    /**
+     * Rates the given solution, and remembers whether it reaches the target.
+     *
+     * @param solution the new best solution, of type {@code C}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void notifyImprovement(final Object solution) {
+        if (reached) {
+            return;
+        }
+
+        final double value = fitness.applyAsDouble((C) solution);
+        reached = minimizing ? value <= target : value >= target;
+    }
+
+    /**
+     * Tells whether a solution has reached the target.
+     *
+     * @return {@code true} if the search must stop, {@code false} otherwise
+     */
+    @Override
+    public boolean searchMustStop() {
+        return reached;
+    }
+
+    /**
+     * Tells whether a solution has reached the target, as 1 if so and as 0 otherwise, because the
+     * distance to the target says little about the budget needed to close it.
+     *
+     * @return the progress, either 0 or 1
+     */
+    @Override
+    public double getProgress() {
+        return reached ? 1 : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%s %s)", getClass().getSimpleName(),
+                minimizing ? "<=" : ">=", target);
+    }
+}
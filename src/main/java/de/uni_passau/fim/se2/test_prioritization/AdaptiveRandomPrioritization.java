@@ -0,0 +1,303 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Adaptive random prioritization: repeatedly draws a few random candidates from the remaining
+ * test cases and appends the one that is farthest from the test cases ordered so far, that is, the
+ * one whose nearest ordered test case has the largest Jaccard distance (maximin). Test cases that
+ * cover nothing come last.
+ * <p>
+ * The naive algorithm compares every candidate with every ordered test case, which takes
+ * quadratic time in the number of test cases. Instead, the distances are estimated from
+ * {@link MinHashSignatures}, which are computed once per coverage matrix when the algorithm is
+ * created, and the nearest ordered test cases are looked up by locality-sensitive hashing: the
+ * signatures are split into bands, and every ordered test case is stored in one bucket per band,
+ * keyed by the values of its signature in that band. Only ordered test cases that share a bucket
+ * with a candidate are compared with it, and at most {@link #MAX_COMPARISONS} of them. A candidate
+ * that shares no bucket with any ordered test case is considered to be at distance one, which is
+ * accurate for dissimilar test cases: with the default of 16 bands of 4 values, test cases with a
+ * similarity of 0.5 share a bucket with a probability of 0.64, and those with a similarity of 0.8
+ * with a probability of more than 0.99. A candidate is discarded as soon as it turns out to be
+ * nearer to an ordered test case than the best candidate so far. Thereby, the time to append a
+ * test case does not grow with the size of the suite.
+ * <p>
+ * The ordering is constructed in one go and is not interrupted by the stopping condition. The
+ * stopping condition is notified about a single fitness evaluation, namely the one of the
+ * constructed ordering.
+ */
+public final class AdaptiveRandomPrioritization implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The default number of candidates drawn for every position.
+     */
+    public static final int DEFAULT_CANDIDATES = 10;
+
+    /**
+     * The default number of bands the signatures are split into.
+     */
+    public static final int DEFAULT_BANDS = 16;
+
+    /**
+     * The default number of signature values per band.
+     */
+    public static final int DEFAULT_ROWS = 4;
+
+    /**
+     * The maximum number of ordered test cases a candidate is compared with.
+     */
+    public static final int MAX_COMPARISONS = 16;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The problem instance, from which the solution is derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * The bit-packed coverage matrix of the problem.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * The MinHash signatures of the test cases.
+     */
+    private final MinHashSignatures signatures;
+
+    /**
+     * The number of candidates drawn for every position.
+     */
+    private final int candidates;
+
+    /**
+     * The number of bands and the number of signature values per band.
+     */
+    private final int bands;
+    private final int rows;
+
+    /**
+     * Instantiates a new adaptive random prioritization with default parameters.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public AdaptiveRandomPrioritization(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition)
+            throws NullPointerException {
+        this(problem, stoppingCondition, DEFAULT_CANDIDATES, DEFAULT_BANDS, DEFAULT_ROWS);
+    }
+
+    /**
+     * Instantiates a new adaptive random prioritization, and computes the signatures of the test
+     * cases.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param candidates        the number of candidates drawn for every position, positive
+     * @param bands             the number of bands the signatures are split into, positive
+     * @param rows              the number of signature values per band, positive
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if a numeric parameter is not positive
+     */
+    public AdaptiveRandomPrioritization(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition,
+            final int candidates,
+            final int bands,
+            final int rows)
+            throws NullPointerException, IllegalArgumentException {
+        if (candidates <= 0 || bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid parameters: %d candidates, %d bands, %d rows",
+                    candidates, bands, rows));
+        }
+
+        this.problem = requireNonNull(problem);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.coverage = PackedCoverage.of(problem.coverageMatrix);
+        this.signatures = MinHashSignatures.of(coverage, bands * rows);
+        this.candidates = candidates;
+        this.bands = bands;
+        this.rows = rows;
+    }
+
+    /**
+     * Constructs an ordering by adaptive random prioritization.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+
+        final int n = coverage.tests();
+        final int[] ordering = new int[n];
+        final int[] remaining = new int[n];
+        int count = 0;
+        int last = n;
+        for (int test = n - 1; test >= 0; test--) {
+            if (coverage.lineCount(test) > 0) {
+                remaining[count++] = test;
+            } else {
+                ordering[--last] = test;
+            }
+        }
+
+        final Buckets buckets = new Buckets(count);
+        final Random random = Randomness.random();
+        for (int position = 0; count > 0; position++) {
+            // Move the candidates to the end of the remaining test cases.
+            final int drawn = Math.min(candidates, count);
+            for (int i = 0; i < drawn; i++) {
+                swap(remaining, random.nextInt(count - i), count - 1 - i);
+            }
+
+            int picked = count - 1;
+            double nearest = Double.POSITIVE_INFINITY;
+            for (int i = count - 1; i >= count - drawn && nearest > 0; i--) {
+                final double similarity = buckets.nearest(remaining[i], nearest);
+                if (similarity < nearest) {
+                    picked = i;
+                    nearest = similarity;
+                }
+            }
+
+            swap(remaining, picked, --count);
+            ordering[position] = remaining[count];
+            buckets.add(remaining[count]);
+        }
+
+        notifyFitnessEvaluation();
+        final TestCaseOrdering solution = problem.withOrdering(ordering);
+        notifyImprovement(solution);
+        return solution;
+    }
+
+    /**
+     * Swaps the given elements of the given array.
+     */
+    private static void swap(final int[] array, final int i, final int j) {
+        final int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+
+    /**
+     * The buckets of the ordered test cases, one hash table with chaining per band.
+     */
+    private final class Buckets {
+
+        /**
+         * The mask of a slot index, and per band and slot, the first entry or -1.
+         */
+        private final int mask;
+        private final int[] heads;
+
+        /**
+         * Per entry, the key of the bucket, the test case, and the next entry in the same slot or
+         * -1.
+         */
+        private final long[] keys;
+        private final int[] tests;
+        private final int[] next;
+
+        private int entries;
+
+        /**
+         * Per test case, the query in which it was last compared, so that test cases sharing
+         * several buckets with a candidate are compared only once.
+         */
+        private final int[] comparedIn;
+        private int query;
+
+        private Buckets(final int capacity) {
+            final int slots = Integer.highestOneBit(Math.max(1, 2 * capacity - 1)) << 1;
+            this.mask = slots - 1;
+            this.heads = new int[bands * slots];
+            this.keys = new long[bands * capacity];
+            this.tests = new int[bands * capacity];
+            this.next = new int[bands * capacity];
+            this.comparedIn = new int[coverage.tests()];
+            Arrays.fill(heads, -1);
+        }
+
+        /**
+         * Stores the given test case in its bucket of every band.
+         *
+         * @param test the test case
+         */
+        private void add(final int test) {
+            for (int band = 0; band < bands; band++) {
+                final long key = key(test, band);
+                final int slot = band * (mask + 1) + (int) (key & mask);
+                keys[entries] = key;
+                tests[entries] = test;
+                next[entries] = heads[slot];
+                heads[slot] = entries++;
+            }
+        }
+
+        /**
+         * Estimates the largest similarity of the given test case to an ordered test case that
+         * shares a bucket with it. The search stops early once the similarity reaches the given
+         * limit.
+         *
+         * @param test  the test case
+         * @param limit the limit
+         * @return the largest similarity found, or 0 if the test case shares no bucket
+         */
+        private double nearest(final int test, final double limit) {
+            query++;
+            double nearest = 0;
+            int comparisons = 0;
+            for (int band = 0; band < bands; band++) {
+                final long key = key(test, band);
+                int entry = heads[band * (mask + 1) + (int) (key & mask)];
+                for (; entry >= 0 && comparisons < MAX_COMPARISONS; entry = next[entry]) {
+                    final int other = tests[entry];
+                    if (keys[entry] != key || comparedIn[other] == query) {
+                        continue;
+                    }
+                    comparedIn[other] = query;
+                    comparisons++;
+                    nearest = Math.max(nearest, signatures.similarity(test, other));
+                    if (nearest >= limit) {
+                        return nearest;
+                    }
+                }
+            }
+            return nearest;
+        }
+
+        /**
+         * Computes the key of the bucket of the given test case in the given band.
+         */
+        private long key(final int test, final int band) {
+            long key = band;
+            for (int row = band * rows, end = row + rows; row < end; row++) {
+                key = (key + signatures.value(test, row)) * 0x9E3779B97F4A7C15L;
+            }
+            return key ^ (key >>> 29);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A MAX-MIN ant system for test case prioritization. The pheromone trail {@code tau[p][t]} tells
+ * how desirable it is to put test case {@code t} at position {@code p}; it is stored row by row
+ * in a flat {@code float[]}. Every ant builds an ordering position by position, choosing the next
+ * test case {@code t} among the unscheduled ones with a probability proportional to
+ * {@code tau[p][t]^alpha * (1 + gain(t))^beta}, where {@code gain(t)} is the number of lines
+ * {@code t} covers that are not covered by the test cases scheduled so far. Once all coverable
+ * lines are covered, the order of the remaining test cases no longer affects the APLC value, and
+ * they are appended in random order.
+ * <p>
+ * The ants of an iteration build their orderings in parallel, each with its own source of
+ * randomness, and are evaluated as one batch. Afterwards, all trails evaporate, and the best
+ * ordering found so far deposits pheromone proportional to its APLC value. Trails are kept within
+ * {@code [tauMax / (2n), tauMax]}, where {@code tauMax = bestAPLC / rho}.
+ */
+public final class AntColonyOptimization implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The default number of ants per iteration.
+     */
+    public static final int DEFAULT_ANTS = 16;
+
+    /**
+     * The default evaporation rate.
+     */
+    public static final double DEFAULT_EVAPORATION = 0.1;
+
+    /**
+     * The default weight of the pheromone trail.
+     */
+    public static final double DEFAULT_ALPHA = 1;
+
+    /**
+     * The default weight of the coverage heuristic.
+     */
+    public static final double DEFAULT_BETA = 2;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The problem instance, from which the solution is derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * The bit-packed coverage matrix of the problem.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * The number of ants per iteration.
+     */
+    private final int ants;
+
+    /**
+     * The evaporation rate.
+     */
+    private final double rho;
+
+    /**
+     * The weight of the pheromone trail.
+     */
+    private final double alpha;
+
+    /**
+     * For every possible coverage gain {@code g}, the weighted heuristic value
+     * {@code (1 + g)^beta}.
+     */
+    private final double[] heuristic;
+
+    /**
+     * The pool on which the ants build their orderings.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Instantiates a new ant colony with default parameters, building orderings on the common
+     * fork-join pool.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public AntColonyOptimization(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition)
+            throws NullPointerException {
+        this(problem, stoppingCondition, DEFAULT_ANTS, DEFAULT_EVAPORATION, DEFAULT_ALPHA,
+                DEFAULT_BETA, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new ant colony.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param ants              the number of ants per iteration, positive
+     * @param rho               the evaporation rate, in (0, 1]
+     * @param alpha             the weight of the pheromone trail, not negative
+     * @param beta              the weight of the coverage heuristic, not negative
+     * @param pool              the pool on which the ants build their orderings, not
+     *                          {@code null}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if a numeric parameter is out of range, or if there are
+     *                                  too many test cases for the pheromone matrix to fit into an
+     *                                  array
+     */
+    public AntColonyOptimization(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition,
+            final int ants,
+            final double rho,
+            final double alpha,
+            final double beta,
+            final ForkJoinPool pool)
+            throws NullPointerException, IllegalArgumentException {
+        if (ants <= 0) {
+            throw new IllegalArgumentException("Number of ants must be positive: " + ants);
+        }
+        if (!(0 < rho && rho <= 1)) {
+            throw new IllegalArgumentException("Invalid evaporation rate: " + rho);
+        }
+        if (!(alpha >= 0 && beta >= 0)) {
+            throw new IllegalArgumentException("Weights must not be negative");
+        }
+        final long n = problem.size();
+        if (n * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many test cases: " + n);
+        }
+
+        this.problem = requireNonNull(problem);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.pool = requireNonNull(pool);
+        this.coverage = PackedCoverage.of(problem.coverageMatrix);
+        this.ants = ants;
+        this.rho = rho;
+        this.alpha = alpha;
+
+        this.heuristic = new double[coverage.lines() + 1];
+        for (int gain = 0; gain < heuristic.length; gain++) {
+            heuristic[gain] = Math.pow(1 + gain, beta);
+        }
+    }
+
+    /**
+     * Lets the colony build orderings until the search budget is exhausted, and returns the best
+     * ordering encountered.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+
+        final int n = coverage.tests();
+        final Random random = Randomness.random();
+
+        // Start with the upper bound for the best possible APLC value.
+        float tauMax = (float) (1 / rho);
+        final float[] tau = new float[n * n];
+        Arrays.fill(tau, tauMax);
+
+        int[] best = null;
+        double bestAPLC = Double.NEGATIVE_INFINITY;
+
+        while (searchCanContinue()) {
+            final long[] seeds = new long[ants];
+            for (int ant = 0; ant < ants; ant++) {
+                seeds[ant] = random.nextLong();
+            }
+
+            final int[][] orderings = new int[ants][];
+            final double[] aplc = new double[ants];
+            pool.submit(() -> IntStream.range(0, ants).parallel().forEach(ant -> {
+                orderings[ant] = construct(tau, new Random(seeds[ant]));
+                aplc[ant] = coverage.aplc(orderings[ant]);
+            })).join();
+            getStoppingCondition().notifyFitnessEvaluations(ants);
+
+            final int[] previous = best;
+            for (int ant = 0; ant < ants; ant++) {
+                if (aplc[ant] > bestAPLC) {
+                    best = orderings[ant];
+                    bestAPLC = aplc[ant];
+                }
+            }
+            if (best != previous) {
+                notifyImprovement(problem.withOrdering(best));
+            }
+
+            tauMax = (float) (bestAPLC / rho);
+            final float tauMin = tauMax / (2 * n);
+            evaporate(tau, tauMin);
+            deposit(tau, best, (float) bestAPLC, tauMax);
+        }
+
+        return best == null ? problem.get() : problem.withOrdering(best);
+    }
+
+    /**
+     * Lets one ant build an ordering.
+     *
+     * @param tau    the pheromone trails
+     * @param random the ant's source of randomness
+     * @return the ordering
+     */
+    private int[] construct(final float[] tau, final Random random) {
+        final int n = coverage.tests();
+        final int[] ordering = new int[n];
+        final int[] unscheduled = IntStream.range(0, n).toArray();
+        final double[] weights = new double[n];
+        final long[] covered = coverage.emptySet();
+        int remaining = n;
+        int uncovered = coverage.coverableLines();
+
+        for (int p = 0; p < n && uncovered > 0; p++) {
+            final int row = p * n;
+            double total = 0;
+            for (int i = 0; i < remaining; i++) {
+                final int test = unscheduled[i];
+                final float trail = tau[row + test];
+                weights[i] = (alpha == 1 ? trail : Math.pow(trail, alpha))
+                        * heuristic[coverage.countNew(test, covered)];
+                total += weights[i];
+            }
+
+            int chosen = remaining - 1;
+            double threshold = random.nextDouble() * total;
+            for (int i = 0; i < remaining - 1; i++) {
+                threshold -= weights[i];
+                if (threshold < 0) {
+                    chosen = i;
+                    break;
+                }
+            }
+
+            final int test = unscheduled[chosen];
+            unscheduled[chosen] = unscheduled[--remaining];
+            ordering[p] = test;
+            uncovered -= coverage.cover(test, covered);
+        }
+
+        // The positions of the remaining test cases do not affect the APLC value.
+        for (int i = remaining - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int tmp = unscheduled[i];
+            unscheduled[i] = unscheduled[j];
+            unscheduled[j] = tmp;
+        }
+        System.arraycopy(unscheduled, 0, ordering, n - remaining, remaining);
+
+        return ordering;
+    }
+
+    /**
+     * Lets all trails evaporate, but not below the given lower bound.
+     *
+     * @param tau    the pheromone trails
+     * @param tauMin the lower bound
+     */
+    private void evaporate(final float[] tau, final float tauMin) {
+        // A plain loop over the flat array, which the JIT compiler vectorizes.
+        final float keep = (float) (1 - rho);
+        for (int i = 0; i < tau.length; i++) {
+            tau[i] = Math.max(tauMin, tau[i] * keep);
+        }
+    }
+
+    /**
+     * Lets the given ordering deposit pheromone on its trails, but not above the given upper
+     * bound.
+     *
+     * @param tau      the pheromone trails
+     * @param ordering the ordering
+     * @param amount   the amount of pheromone to deposit per trail
+     * @param tauMax   the upper bound
+     */
+    private void deposit(
+            final float[] tau,
+            final int[] ordering,
+            final float amount,
+            final float tauMax) {
+        final int n = ordering.length;
+        for (int p = 0; p < n; p++) {
+            final int i = p * n + ordering[p];
+            tau[i] = Math.min(tauMax, tau[i] + amount);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
@@ -0,0 +1,445 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Constructs orderings position by position with a beam search, which keeps the best
+ * {@code width} partial orderings on every level. With a width of one, it is a greedy heuristic;
+ * the wider the beam, the closer it gets to exhaustive search, at a proportional cost.
+ * <p>
+ * As explained in {@link ExactPrioritization}, the sum of first-coverage positions equals the sum,
+ * over all prefixes of the ordering, of the number of lines the prefix leaves uncovered. Partial
+ * orderings are ranked by the part of that sum their prefixes already account for, plus the
+ * optimistic bound that all uncovered lines are covered by the next test case. Partial orderings
+ * that cannot beat the best complete ordering are pruned with the tighter bound
+ * {@code sum over j of max(0, u - G(j))} on the rest, where {@code u} is the number of uncovered
+ * lines and {@code G(j)} the sum of the {@code j} largest coverage gains of the remaining test
+ * cases. The tighter bound is not used for ranking: as it treats the gains as disjoint, it favours
+ * partial orderings that leave many overlapping test cases for later, and wider beams then yield
+ * worse orderings. The tighter bound uses the gains with respect to the parent of a partial
+ * ordering, which can only be larger, so that it stays optimistic and costs no additional coverage
+ * scans. Only test cases that add coverage are appended, as placing one that adds nothing before
+ * one that does never pays off. Partial orderings with the same set of test cases have the same
+ * future, so only the best of them is kept. A partial ordering is complete once it covers all
+ * coverable lines, and the remaining test cases are appended in the order of their indices.
+ * <p>
+ * Partial orderings are linked to their parents and share their sets of covered lines and of used
+ * test cases until they are selected for the next level, which is when the sets are copied and
+ * updated. The expansion of the partial orderings of a level runs in parallel on a fork-join pool,
+ * and ties are broken by index, so the search is deterministic. The stopping condition is checked
+ * on every level; if the search must stop early, the best partial ordering is completed greedily.
+ * As in {@link HillClimbing}, the stopping condition is charged one fitness evaluation for every
+ * {@code n} test cases whose coverage is scanned, where {@code n} is the number of test cases.
+ */
+public final class BeamSearch implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The default number of partial orderings kept on every level.
+     */
+    public static final int DEFAULT_WIDTH = 16;
+
+    /**
+     * Orders candidates by score, then by accumulated cost, then by the rank of their parent, and
+     * finally by the index of the appended test case.
+     */
+    private static final Comparator<Candidate> ranking = Comparator
+            .comparingLong(Candidate::score)
+            .thenComparingLong(Candidate::cost)
+            .thenComparingInt(Candidate::parentRank)
+            .thenComparingInt(Candidate::test);
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The problem instance, from which the solution is derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * The bit-packed coverage matrix of the problem.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * The number of partial orderings kept on every level.
+     */
+    private final int width;
+
+    /**
+     * The pool on which partial orderings are expanded.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Per test case, a random key, whose sums identify sets of test cases.
+     */
+    private final long[] keys;
+
+    /**
+     * The number of scanned test cases not yet charged to the stopping condition.
+     */
+    private long unchargedScans;
+
+    /**
+     * Instantiates a new beam search with the default width, running on the common fork-join
+     * pool.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public BeamSearch(final TestCaseOrdering problem, final StoppingCondition stoppingCondition)
+            throws NullPointerException {
+        this(problem, stoppingCondition, DEFAULT_WIDTH, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new beam search.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param width             the number of partial orderings kept on every level, positive
+     * @param pool              the pool on which to expand partial orderings, not {@code null}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if the width is not positive
+     */
+    public BeamSearch(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition,
+            final int width,
+            final ForkJoinPool pool)
+            throws NullPointerException, IllegalArgumentException {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Beam width must be positive: " + width);
+        }
+
+        this.problem = requireNonNull(problem);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.coverage = PackedCoverage.of(problem.coverageMatrix);
+        this.width = width;
+        this.pool = requireNonNull(pool);
+
+        // A fixed seed keeps the search deterministic, and the keys only need to be distinct.
+        final SplittableRandom random = new SplittableRandom(0);
+        this.keys = random.longs(coverage.tests()).toArray();
+    }
+
+    /**
+     * Runs the beam search until all partial orderings are complete or pruned, and returns the
+     * best complete ordering.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+        unchargedScans = 0;
+
+        final int n = coverage.tests();
+        final State root = new State(null, -1, 0, 0, coverage.coverableLines(),
+                coverage.emptySet(), new long[(n + 63) / 64], 0);
+        State best = null;
+        List<State> beam = List.of(root);
+        if (root.uncovered == 0) {
+            best = root;
+            beam = List.of();
+            notifyImprovement(problem.withOrdering(ordering(best)));
+        }
+
+        while (!beam.isEmpty()) {
+            if (searchMustStop()) {
+                final State completed = completeGreedily(beam.get(0));
+                if (best == null || completed.cost < best.cost) {
+                    best = completed;
+                    notifyImprovement(problem.withOrdering(ordering(best)));
+                }
+                break;
+            }
+
+            final List<State> parents = beam;
+            final Candidate[][] expanded = new Candidate[parents.size()][];
+            pool.submit(() -> IntStream.range(0, parents.size()).parallel().forEach(rank ->
+                    expanded[rank] = expand(parents.get(rank), rank))).join();
+            charge(parents.stream().mapToLong(parent -> n - parent.depth).sum());
+
+            final List<Candidate> candidates = new ArrayList<>();
+            for (final Candidate[] children : expanded) {
+                candidates.addAll(Arrays.asList(children));
+            }
+            candidates.sort(ranking);
+
+            final List<State> next = new ArrayList<>(width);
+            final Map<Long, List<State>> selected = new HashMap<>();
+            for (final Candidate candidate : candidates) {
+                if (next.size() == width) {
+                    break;
+                }
+                if (best != null && candidate.bound >= best.cost) {
+                    continue;
+                }
+
+                final State parent = parents.get(candidate.parentRank);
+                final long hash = parent.hash + keys[candidate.test];
+                final List<State> sameHash =
+                        selected.computeIfAbsent(hash, h -> new ArrayList<>(1));
+                if (sameHash.stream().anyMatch(state -> sameTests(state, parent, candidate.test))) {
+                    continue;
+                }
+
+                final State child = parent.child(candidate, hash);
+                sameHash.add(child);
+                if (child.uncovered > 0) {
+                    next.add(child);
+                } else if (best == null || child.cost < best.cost) {
+                    best = child;
+                    notifyImprovement(problem.withOrdering(ordering(best)));
+                }
+            }
+            beam = next;
+        }
+
+        return problem.withOrdering(ordering(best));
+    }
+
+    /**
+     * Computes the candidates for appending a test case to the given partial ordering, and
+     * returns the best {@code width} of them.
+     *
+     * @param parent the partial ordering
+     * @param rank   the rank of the partial ordering in its level
+     * @return the candidates, best first
+     */
+    private Candidate[] expand(final State parent, final int rank) {
+        final int n = coverage.tests();
+        final int[] tests = new int[n - parent.depth];
+        final int[] gains = new int[n - parent.depth];
+        int count = 0;
+        for (int test = 0; test < n; test++) {
+            if ((parent.used[test >>> 6] & 1L << test) == 0) {
+                final int gain = coverage.countNew(test, parent.covered);
+                if (gain > 0) {
+                    tests[count] = test;
+                    gains[count++] = gain;
+                }
+            }
+        }
+
+        // Sort by descending gain, ties by index, and compute the sums G(j) of the largest gains.
+        final Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> gains[a] != gains[b]
+                ? Integer.compare(gains[b], gains[a])
+                : Integer.compare(tests[a], tests[b]));
+        final long[] largest = new long[count + 1];
+        for (int j = 0; j < count; j++) {
+            largest[j + 1] = largest[j] + gains[order[j]];
+        }
+
+        final Candidate[] candidates = new Candidate[count];
+        final long cost = parent.cost + parent.uncovered;
+        for (int r = 0; r < count; r++) {
+            final int gain = gains[order[r]];
+            final int uncovered = parent.uncovered - gain;
+            long bound = 0;
+            for (int j = 0; j < count; j++) {
+                // The j largest gains of the other test cases.
+                final long others = j <= r ? largest[j] : largest[j + 1] - gain;
+                if (uncovered <= others) {
+                    break;
+                }
+                bound += uncovered - others;
+            }
+            candidates[r] = new Candidate(rank, tests[order[r]], gain, cost, cost + uncovered,
+                    cost + bound);
+        }
+
+        Arrays.sort(candidates, ranking);
+        return Arrays.copyOf(candidates, Math.min(width, count));
+    }
+
+    /**
+     * Completes the given partial ordering with the additional greedy heuristic.
+     *
+     * @param state the partial ordering
+     * @return the complete ordering
+     */
+    private State completeGreedily(final State state) {
+        State current = state;
+        long scans = 0;
+        while (current.uncovered > 0) {
+            int bestTest = -1;
+            int bestGain = 0;
+            for (int test = 0; test < coverage.tests(); test++) {
+                if ((current.used[test >>> 6] & 1L << test) == 0) {
+                    final int gain = coverage.countNew(test, current.covered);
+                    scans++;
+                    if (gain > bestGain) {
+                        bestTest = test;
+                        bestGain = gain;
+                    }
+                }
+            }
+            final long cost = current.cost + current.uncovered;
+            current = current.child(new Candidate(0, bestTest, bestGain, cost, cost, cost),
+                    current.hash + keys[bestTest]);
+        }
+        charge(scans);
+        return current;
+    }
+
+    /**
+     * Tells whether the given partial ordering uses the same test cases as the given parent with
+     * the given test case appended.
+     *
+     * @param state  the partial ordering
+     * @param parent the parent
+     * @param test   the appended test case
+     * @return {@code true} if the sets of test cases are equal
+     */
+    private static boolean sameTests(final State state, final State parent, final int test) {
+        for (int w = 0; w < state.used.length; w++) {
+            final long used = w == test >>> 6 ? parent.used[w] | 1L << test : parent.used[w];
+            if (state.used[w] != used) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the ordering of the given complete partial ordering, followed by the remaining
+     * test cases in the order of their indices.
+     *
+     * @param state the partial ordering
+     * @return the ordering
+     */
+    private int[] ordering(final State state) {
+        final int[] ordering = new int[coverage.tests()];
+        int position = state.depth;
+        for (State s = state; s.parent != null; s = s.parent) {
+            ordering[--position] = s.test;
+        }
+        position = state.depth;
+        for (int test = 0; test < ordering.length; test++) {
+            if ((state.used[test >>> 6] & 1L << test) == 0) {
+                ordering[position++] = test;
+            }
+        }
+        return ordering;
+    }
+
+    /**
+     * Charges the given number of scanned test cases to the stopping condition, at the rate of
+     * one fitness evaluation per {@code n} test cases.
+     *
+     * @param scans the number of scanned test cases
+     */
+    private void charge(final long scans) {
+        final int n = Math.max(1, coverage.tests());
+        unchargedScans += scans;
+        getStoppingCondition().notifyFitnessEvaluations((int) (unchargedScans / n));
+        unchargedScans %= n;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+
+    /**
+     * A test case that may be appended to a partial ordering.
+     *
+     * @param parentRank the rank of the partial ordering in its level
+     * @param test       the test case
+     * @param gain       the number of lines the test case adds
+     * @param cost       the part of the first-coverage sum accounted for after appending it
+     * @param score      the cost plus the number of lines left uncovered
+     * @param bound      the cost plus the tighter bound on the rest
+     */
+    private record Candidate(int parentRank, int test, int gain, long cost, long score,
+                             long bound) {
+    }
+
+    /**
+     * A partial ordering, linked to its parent.
+     */
+    private final class State {
+
+        private final State parent;
+
+        private final int test;
+
+        private final int depth;
+
+        /**
+         * The part of the first-coverage sum accounted for by the prefixes of this ordering.
+         */
+        private final long cost;
+
+        private final int uncovered;
+
+        private final long[] covered;
+
+        private final long[] used;
+
+        /**
+         * The sum of the keys of the used test cases.
+         */
+        private final long hash;
+
+        private State(
+                final State parent,
+                final int test,
+                final int depth,
+                final long cost,
+                final int uncovered,
+                final long[] covered,
+                final long[] used,
+                final long hash) {
+            this.parent = parent;
+            this.test = test;
+            this.depth = depth;
+            this.cost = cost;
+            this.uncovered = uncovered;
+            this.covered = covered;
+            this.used = used;
+            this.hash = hash;
+        }
+
+        /**
+         * Creates the partial ordering of the given candidate, with its own copies of the sets.
+         *
+         * @param candidate the candidate
+         * @param hash      the sum of the keys of its test cases
+         * @return the partial ordering
+         */
+        private State child(final Candidate candidate, final long hash) {
+            final long[] childCovered = covered.clone();
+            coverage.cover(candidate.test, childCovered);
+            final long[] childUsed = used.clone();
+            childUsed[candidate.test >>> 6] |= 1L << candidate.test;
+            return new State(this, candidate.test, depth + 1, candidate.cost,
+                    uncovered - candidate.gain, childCovered, childUsed, hash);
+        }
+    }
+}
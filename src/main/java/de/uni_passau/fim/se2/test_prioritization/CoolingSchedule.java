@@ -0,0 +1,238 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A cooling schedule for Simulated Annealing. It maps the progress of the search, as reported by
+ * {@link de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition#getProgress()
+ * StoppingCondition.getProgress()}, to a temperature relative to the initial temperature. Since
+ * the schedule is driven by progress instead of a fixed number of steps, the temperature reaches
+ * its final value exactly when the search budget is exhausted, regardless of whether the budget is
+ * given in fitness evaluations or in wall time.
+ */
+public interface CoolingSchedule {
+
+    /**
+     * The default ratio between the final and the initial temperature.
+     */
+    double DEFAULT_FINAL_RATIO = 1e-3;
+
+    /**
+     * Returns the temperature for the given search progress as a fraction of the initial
+     * temperature. The returned value must be positive and should not exceed 1.
+     *
+     * @param progress the consumed search budget, in the interval [0, 1]
+     * @return the relative temperature
+     */
+    double relativeTemperature(final double progress);
+
+    /**
+     * Resets the internal state of this schedule (if any). Called once at the beginning of every
+     * search.
+     */
+    default void reset() {
+        // Stateless by default, so nothing to do.
+    }
+
+    /**
+     * Notifies this schedule that an annealing step took place. Adaptive schedules can use this
+     * information to adjust the temperature.
+     *
+     * @param improved whether the step improved the best solution found so far
+     * @param progress the consumed search budget, in the interval [0, 1]
+     */
+    default void notifyStep(final boolean improved, final double progress) {
+        // Stateless by default, so nothing to do.
+    }
+
+    /**
+     * Exponential cooling {@code T(p) = T0 * r^p}, the budget-aware equivalent of multiplying the
+     * temperature by a constant factor in every step.
+     *
+     * @param finalRatio the ratio {@code r} between final and initial temperature, in (0, 1]
+     * @return the cooling schedule
+     */
+    static CoolingSchedule geometric(final double finalRatio) {
+        checkRatio(finalRatio);
+        return new CoolingSchedule() {
+            @Override
+            public double relativeTemperature(final double progress) {
+                return Math.pow(finalRatio, clamp(progress));
+            }
+
+            @Override
+            public String toString() {
+                return "Geometric(" + finalRatio + ")";
+            }
+        };
+    }
+
+    /**
+     * Linear cooling {@code T(p) = T0 * (1 - p * (1 - r))}.
+     *
+     * @param finalRatio the ratio {@code r} between final and initial temperature, in (0, 1]
+     * @return the cooling schedule
+     */
+    static CoolingSchedule linear(final double finalRatio) {
+        checkRatio(finalRatio);
+        return new CoolingSchedule() {
+            @Override
+            public double relativeTemperature(final double progress) {
+                return 1 - clamp(progress) * (1 - finalRatio);
+            }
+
+            @Override
+            public String toString() {
+                return "Linear(" + finalRatio + ")";
+            }
+        };
+    }
+
+    /**
+     * Lundy-Mees cooling. The original schedule performs one update {@code T' = T / (1 + b * T)}
+     * per step, which means {@code 1 / T} grows linearly with the number of steps. Here, {@code b}
+     * is chosen such that the final temperature is reached at the end of the budget, that is,
+     * {@code T(p) = T0 / (1 + p * (1 / r - 1))}.
+     *
+     * @param finalRatio the ratio {@code r} between final and initial temperature, in (0, 1]
+     * @return the cooling schedule
+     */
+    static CoolingSchedule lundyMees(final double finalRatio) {
+        checkRatio(finalRatio);
+        return new CoolingSchedule() {
+            @Override
+            public double relativeTemperature(final double progress) {
+                return 1 / (1 + clamp(progress) * (1 / finalRatio - 1));
+            }
+
+            @Override
+            public String toString() {
+                return "LundyMees(" + finalRatio + ")";
+            }
+        };
+    }
+
+    /**
+     * Wraps the given schedule such that the search is reheated when the best solution did not
+     * improve for {@code patience} consecutive steps. A reheat restarts the wrapped schedule on the
+     * remaining budget, starting at {@code reheatFactor} times the temperature the previous
+     * restart started at. Hence, every reheat is cooler than the one before, and the final
+     * temperature is still reached at the end of the budget.
+     *
+     * @param schedule     the schedule to wrap
+     * @param patience     number of steps without improvement that trigger a reheat
+     * @param reheatFactor relative temperature of a reheat compared to the previous one, in (0, 1]
+     * @return the cooling schedule
+     */
+    static CoolingSchedule adaptiveReheating(
+            final CoolingSchedule schedule,
+            final int patience,
+            final double reheatFactor) {
+        return new AdaptiveReheating(schedule, patience, reheatFactor);
+    }
+
+    /**
+     * Clamps the given progress value to the interval [0, 1].
+     *
+     * @param progress the progress
+     * @return the clamped progress
+     */
+    private static double clamp(final double progress) {
+        return Math.max(0, Math.min(1, progress));
+    }
+
+    /**
+     * Checks that the given ratio between final and initial temperature is in (0, 1].
+     *
+     * @param ratio the ratio to check
+     * @throws IllegalArgumentException if the ratio is out of range
+     */
+    private static void checkRatio(final double ratio) throws IllegalArgumentException {
+        if (!(0 < ratio && ratio <= 1)) {
+            throw new IllegalArgumentException("Invalid temperature ratio: " + ratio);
+        }
+    }
+
+    /**
+     * Reheating decorator for another cooling schedule.
+     */
+    final class AdaptiveReheating implements CoolingSchedule {
+
+        /**
+         * The wrapped schedule.
+         */
+        private final CoolingSchedule schedule;
+
+        /**
+         * Number of steps without improvement after which to reheat.
+         */
+        private final int patience;
+
+        /**
+         * Factor by which the starting temperature is scaled on every reheat.
+         */
+        private final double reheatFactor;
+
+        /**
+         * Steps since the best solution was last improved.
+         */
+        private int stagnation;
+
+        /**
+         * The progress at which the wrapped schedule was last restarted.
+         */
+        private double restartProgress;
+
+        /**
+         * The relative temperature at which the wrapped schedule was last restarted.
+         */
+        private double scale;
+
+        private AdaptiveReheating(
+                final CoolingSchedule schedule,
+                final int patience,
+                final double reheatFactor) {
+            if (patience <= 0) {
+                throw new IllegalArgumentException("Patience must be positive: " + patience);
+            }
+            checkRatio(reheatFactor);
+            this.schedule = requireNonNull(schedule);
+            this.patience = patience;
+            this.reheatFactor = reheatFactor;
+            reset();
+        }
+
+        @Override
+        public double relativeTemperature(final double progress) {
+            final double remaining = 1 - restartProgress;
+            final double restarted =
+                    remaining > 0 ? (clamp(progress) - restartProgress) / remaining : 1;
+            return scale * schedule.relativeTemperature(restarted);
+        }
+
+        @Override
+        public void reset() {
+            schedule.reset();
+            stagnation = 0;
+            restartProgress = 0;
+            scale = 1;
+        }
+
+        @Override
+        public void notifyStep(final boolean improved, final double progress) {
+            schedule.notifyStep(improved, progress);
+            if (improved) {
+                stagnation = 0;
+            } else if (++stagnation >= patience && progress < 1) {
+                stagnation = 0;
+                restartProgress = clamp(progress);
+                scale *= reheatFactor;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "AdaptiveReheating(" + schedule + ", " + patience + ", " + reheatFactor + ")";
+        }
+    }
+}
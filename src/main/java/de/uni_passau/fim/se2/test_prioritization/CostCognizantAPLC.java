@@ -0,0 +1,114 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The cost-cognizant APLC objective, which measures how fast an ordering covers the code per unit
+ * of cumulative execution time rather than per test case. It is the area under the curve of the
+ * covered fraction of lines over the fraction of the total execution time spent, where the test
+ * case that first covers a line counts half:
+ * <pre>{@code
+ * APLCc = sum over lines l of (t[TF(l)] + ... + t[n] - t[TF(l)] / 2) / (T * m')
+ * }</pre>
+ * Here, {@code TF(l)} is the position of the first test case that covers line {@code l},
+ * {@code t[p]} the execution time of the test case at position {@code p}, {@code T} the total
+ * execution time, and {@code m'} the number of coverable lines. With equal execution times, the
+ * value equals the APLC value.
+ */
+public final class CostCognizantAPLC implements OrderingObjective {
+
+    /**
+     * The bit-packed coverage matrix.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * The execution time of every test case.
+     */
+    private final double[] times;
+
+    /**
+     * The total execution time of all test cases.
+     */
+    private final double totalTime;
+
+    /**
+     * Creates the objective for the given coverage matrix and execution times.
+     *
+     * @param coverage the bit-packed coverage matrix, not {@code null}
+     * @param times    the execution time of every test case, in any unit, not {@code null}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if there is not exactly one time per test case, a time is
+     *                                  negative or not finite, or all times are zero
+     */
+    public CostCognizantAPLC(final PackedCoverage coverage, final double[] times)
+            throws NullPointerException, IllegalArgumentException {
+        this.coverage = requireNonNull(coverage);
+        if (times.length != coverage.tests()) {
+            throw new IllegalArgumentException("Expected " + coverage.tests()
+                    + " execution times, got " + times.length);
+        }
+
+        double total = 0;
+        for (final double time : times) {
+            if (!(time >= 0 && Double.isFinite(time))) {
+                throw new IllegalArgumentException("Invalid execution time: " + time);
+            }
+            total += time;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Total execution time must be positive");
+        }
+
+        this.times = times.clone();
+        this.totalTime = total;
+    }
+
+    /**
+     * Estimates execution times for when no measured times are available: every test case is
+     * assumed to take time proportional to the number of lines it covers, plus a constant
+     * overhead equal to the time of one line.
+     *
+     * @param coverage the bit-packed coverage matrix
+     * @return the estimated execution time of every test case
+     */
+    public static double[] estimateTimes(final PackedCoverage coverage) {
+        final double[] times = new double[coverage.tests()];
+        for (int test = 0; test < times.length; test++) {
+            times[test] = 1 + coverage.lineCount(test);
+        }
+        return times;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String name() {
+        return "APLCc";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double evaluate(final int[] ordering) {
+        final int coverable = coverage.coverableLines();
+        if (coverable == 0) {
+            return 0;
+        }
+
+        final long[] covered = coverage.emptySet();
+        int remaining = coverable;
+        double elapsed = 0;
+        double area = 0;
+        for (int p = 0; p < ordering.length && remaining > 0; p++) {
+            final int test = ordering[p];
+            final int added = coverage.cover(test, covered);
+            area += added * (totalTime - elapsed - times[test] / 2);
+            elapsed += times[test];
+            remaining -= added;
+        }
+        return area / (totalTime * coverable);
+    }
+}
@@ -0,0 +1,273 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Differential evolution (DE/rand/1/bin) for test case prioritization, searching the space of
+ * {@linkplain RandomKeyOrdering random-key encoded} orderings. For every member {@code x} of the
+ * population, a trial vector is created by binomial crossover of {@code x} with the mutant
+ * {@code a + f * (b - c)} of three other members chosen at random, and replaces {@code x} if it is
+ * at least as fit. The initial population is encoded from the orderings of a generator, such as a
+ * {@link SeededGenerator}.
+ * <p>
+ * Trial vectors are created sequentially, but evaluated in parallel on a fork-join pool, and the
+ * stopping condition is notified about the evaluations of a generation as one batch.
+ */
+public final class DifferentialEvolution implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The default population size.
+     */
+    public static final int DEFAULT_POPULATION_SIZE = 32;
+
+    /**
+     * The default differential weight.
+     */
+    public static final double DEFAULT_WEIGHT = 0.5;
+
+    /**
+     * The default crossover rate.
+     */
+    public static final double DEFAULT_CROSSOVER_RATE = 0.9;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The problem instance, from which the solution is derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * Generator for the orderings of the initial population.
+     */
+    private final ConfigurationGenerator<TestCaseOrdering> initializer;
+
+    /**
+     * The fitness function for random-key encoded orderings.
+     */
+    private final RandomKeyFitness fitnessFunction;
+
+    /**
+     * The number of members of the population.
+     */
+    private final int populationSize;
+
+    /**
+     * The differential weight.
+     */
+    private final double f;
+
+    /**
+     * The probability of taking a key from the mutant rather than from the target vector.
+     */
+    private final double cr;
+
+    /**
+     * The pool on which trial vectors are evaluated.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Instantiates a new differential evolution with default parameters, evaluating trial vectors
+     * on the common fork-join pool.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param initializer       generator for the initial orderings, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public DifferentialEvolution(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> initializer,
+            final StoppingCondition stoppingCondition)
+            throws NullPointerException {
+        this(problem, initializer, stoppingCondition, DEFAULT_POPULATION_SIZE, DEFAULT_WEIGHT,
+                DEFAULT_CROSSOVER_RATE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new differential evolution.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param initializer       generator for the initial orderings, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param populationSize    the number of members of the population, at least four
+     * @param f                 the differential weight, positive
+     * @param cr                the crossover rate, in [0, 1]
+     * @param pool              the pool on which to evaluate trial vectors, not {@code null}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if a numeric parameter is out of range
+     */
+    public DifferentialEvolution(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> initializer,
+            final StoppingCondition stoppingCondition,
+            final int populationSize,
+            final double f,
+            final double cr,
+            final ForkJoinPool pool)
+            throws NullPointerException, IllegalArgumentException {
+        if (populationSize < 4) {
+            throw new IllegalArgumentException("Population size must be at least 4: "
+                    + populationSize);
+        }
+        if (!(f > 0)) {
+            throw new IllegalArgumentException("Invalid differential weight: " + f);
+        }
+        if (!(0 <= cr && cr <= 1)) {
+            throw new IllegalArgumentException("Invalid crossover rate: " + cr);
+        }
+
+        this.problem = requireNonNull(problem);
+        this.initializer = requireNonNull(initializer);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.pool = requireNonNull(pool);
+        this.fitnessFunction = new RandomKeyFitness(problem);
+        this.populationSize = populationSize;
+        this.f = f;
+        this.cr = cr;
+    }
+
+    /**
+     * Evolves the population until the search budget is exhausted, and returns the ordering of the
+     * best member.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+        initializer.reset();
+
+        final Random random = Randomness.random();
+        final RandomKeyOrdering[] population = new RandomKeyOrdering[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            population[i] = RandomKeyOrdering.encode(initializer.get().toArray());
+        }
+        final double[] fitness = evaluate(population);
+        int best = fittest(fitness);
+        double bestFitness = fitness[best];
+        notifyImprovement(problem.withOrdering(population[best].toOrdering()));
+
+        final RandomKeyOrdering[] trials = new RandomKeyOrdering[populationSize];
+        while (searchCanContinue()) {
+            for (int i = 0; i < populationSize; i++) {
+                trials[i] = trial(population, i, random);
+            }
+
+            final double[] trialFitness = evaluate(trials);
+            for (int i = 0; i < populationSize; i++) {
+                if (!isBetter(fitness[i], trialFitness[i])) {
+                    population[i] = trials[i];
+                    fitness[i] = trialFitness[i];
+                }
+            }
+
+            best = fittest(fitness);
+            if (isBetter(fitness[best], bestFitness)) {
+                bestFitness = fitness[best];
+                notifyImprovement(problem.withOrdering(population[best].toOrdering()));
+            }
+        }
+
+        return problem.withOrdering(population[best].toOrdering());
+    }
+
+    /**
+     * Returns the index of the fittest member of the population.
+     *
+     * @param fitness the fitness of every member
+     * @return the index of the fittest member
+     */
+    private int fittest(final double[] fitness) {
+        int best = 0;
+        for (int i = 1; i < populationSize; i++) {
+            if (isBetter(fitness[i], fitness[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Creates the trial vector of the given member of the population.
+     *
+     * @param population the population
+     * @param target     the index of the member
+     * @param random     the source of randomness
+     * @return the trial vector
+     */
+    private RandomKeyOrdering trial(
+            final RandomKeyOrdering[] population,
+            final int target,
+            final Random random) {
+        int a;
+        int b;
+        int c;
+        do {
+            a = random.nextInt(populationSize);
+        } while (a == target);
+        do {
+            b = random.nextInt(populationSize);
+        } while (b == target || b == a);
+        do {
+            c = random.nextInt(populationSize);
+        } while (c == target || c == a || c == b);
+
+        final RandomKeyOrdering x = population[target];
+        final double[] keys = x.keys();
+        final int forced = random.nextInt(keys.length);
+        for (int j = 0; j < keys.length; j++) {
+            if (j == forced || random.nextDouble() < cr) {
+                keys[j] = population[a].key(j)
+                        + f * (population[b].key(j) - population[c].key(j));
+            }
+        }
+        return new RandomKeyOrdering(keys);
+    }
+
+    /**
+     * Computes the fitness of the given configurations in parallel, and notifies the stopping
+     * condition about the evaluations as one batch.
+     *
+     * @param configurations the configurations to evaluate
+     * @return the fitness of every configuration
+     */
+    private double[] evaluate(final RandomKeyOrdering[] configurations) {
+        final double[] fitness = new double[configurations.length];
+        pool.submit(() -> IntStream.range(0, fitness.length).parallel().forEach(i ->
+                fitness[i] = configurations[i].getFitnessBy(fitnessFunction))).join();
+        getStoppingCondition().notifyFitnessEvaluations(fitness.length);
+        return fitness;
+    }
+
+    /**
+     * Tells whether the first fitness value is strictly better than the second one.
+     *
+     * @param f1 a fitness value
+     * @param f2 another fitness value
+     * @return {@code true} if {@code f1} is better than {@code f2}
+     */
+    private boolean isBetter(final double f1, final double f2) {
+        return fitnessFunction.isMinimizing() ? f1 < f2 : f1 > f2;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
@@ -0,0 +1,505 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import java.util.Arrays;
+
+/**
+ * Computes an ordering with optimal APLC value for small test suites by branch-and-bound over
+ * subsets of test cases.
+ * <p>
+ * The sum of first-coverage positions that APLC is derived from equals the sum, over all prefixes
+ * of the ordering (including the empty one), of the number of lines the prefix leaves uncovered.
+ * Since that number only depends on the set of test cases in the prefix, the optimal cost of
+ * completing a prefix only depends on its set, which is what the search memoizes. Before the
+ * search, every test case whose covered lines are a subset of those of another test case is set
+ * aside, as is every test case that covers nothing: moving them behind the test cases that
+ * dominate them never makes an ordering worse. They are appended to the optimal ordering of the
+ * remaining test cases, whose sets are encoded as bit masks.
+ * <p>
+ * The search expands test cases by descending number of additionally covered lines, and prunes a
+ * subset when the lower bound {@code sum over j of max(0, u - G(j))} exceeds its budget, where
+ * {@code u} is the number of uncovered lines and {@code G(j)} the sum of the {@code j} largest
+ * coverage gains. The memo table has at most one entry per subset, up to a fixed maximum, and
+ * overwrites old entries when it is full, so memory stays bounded at the cost of recomputation.
+ * The search checks the stopping condition periodically, and if it must stop early, returns the
+ * best ordering found so far, which is at least as good as the additional-greedy ordering. The
+ * whole search counts as one fitness evaluation.
+ */
+public final class ExactPrioritization implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The default maximum number of entries of the memo table, which takes 12 bytes per entry.
+     */
+    public static final int DEFAULT_MEMO_ENTRIES = 1 << 22;
+
+    /**
+     * The maximum number of non-dominated test cases, as their sets are encoded as bit masks.
+     */
+    public static final int MAX_TESTS = 63;
+
+    /**
+     * The number of expanded subsets after which the stopping condition is queried.
+     */
+    private static final int CHECK_INTERVAL = 1 << 12;
+
+    /**
+     * The maximum number of slots probed when looking up or inserting a memo entry.
+     */
+    private static final int MAX_PROBES = 8;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The problem instance, from which the solution is derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * The bit-packed coverage matrix of the problem.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * The non-dominated test cases, which the search orders.
+     */
+    private final int[] tests;
+
+    /**
+     * The test cases that are set aside and appended to the optimal ordering.
+     */
+    private final int[] dominatedTests;
+
+    /**
+     * The keys of the memo table, i.e., the subsets as bit masks over {@link #tests}, or
+     * {@code -1} for empty slots.
+     */
+    private final long[] memoKeys;
+
+    /**
+     * The values of the memo table: the optimal cost of completing the subset, or a lower bound
+     * of it, shifted left by one bit, with the lowest bit telling whether the value is exact.
+     */
+    private final int[] memoValues;
+
+    /**
+     * The set of covered lines on every level of the search.
+     */
+    private long[][] covered;
+
+    /**
+     * The candidate test cases on every level of the search, as indices into {@link #tests}.
+     */
+    private int[][] candidates;
+
+    /**
+     * The coverage gains of the candidates on every level of the search.
+     */
+    private int[][] gains;
+
+    /**
+     * The test cases chosen on the current search path, as indices into {@link #tests}.
+     */
+    private int[] path;
+
+    /**
+     * The best complete path found so far, and its cost.
+     */
+    private int[] incumbent;
+    private int incumbentCost;
+
+    /**
+     * The number of subsets expanded so far.
+     */
+    private long expanded;
+
+    /**
+     * Instantiates a new exact prioritization with a memo table of the default size.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if there are more than {@link #MAX_TESTS} non-dominated
+     *                                  test cases
+     */
+    public ExactPrioritization(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition)
+            throws NullPointerException, IllegalArgumentException {
+        this(problem, stoppingCondition, DEFAULT_MEMO_ENTRIES);
+    }
+
+    /**
+     * Instantiates a new exact prioritization.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param memoEntries       the maximum number of entries of the memo table, positive
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if the number of memo entries is not positive, or if
+     *                                  there are more than {@link #MAX_TESTS} non-dominated test
+     *                                  cases
+     */
+    public ExactPrioritization(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition,
+            final int memoEntries)
+            throws NullPointerException, IllegalArgumentException {
+        if (memoEntries <= 0) {
+            throw new IllegalArgumentException("Number of memo entries must be positive: "
+                    + memoEntries);
+        }
+
+        this.problem = requireNonNull(problem);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.coverage = PackedCoverage.of(problem.coverageMatrix);
+
+        final int n = coverage.tests();
+        final int[] kept = new int[n];
+        final int[] setAside = new int[n];
+        int keptCount = 0;
+        int setAsideCount = 0;
+        for (int t = 0; t < n; t++) {
+            if (isDominated(t)) {
+                setAside[setAsideCount++] = t;
+            } else {
+                kept[keptCount++] = t;
+            }
+        }
+        if (keptCount > MAX_TESTS) {
+            throw new IllegalArgumentException("Too many non-dominated test cases for an exact "
+                    + "search: " + keptCount + " > " + MAX_TESTS);
+        }
+        this.tests = Arrays.copyOf(kept, keptCount);
+        this.dominatedTests = Arrays.copyOf(setAside, setAsideCount);
+
+        // There is no point in more entries than there are subsets of the kept test cases.
+        final int capacity = Integer.highestOneBit(
+                (int) Math.min(memoEntries, 1L << Math.min(keptCount, Integer.SIZE - 1)));
+        this.memoKeys = new long[capacity];
+        this.memoValues = new int[capacity];
+    }
+
+    /**
+     * Tells whether the given test case covers nothing, or only lines that are also covered by
+     * another test case. Of several test cases that cover the same lines, all but the first are
+     * dominated.
+     *
+     * @param test the test case
+     * @return {@code true} if the test case can be moved behind another one
+     */
+    private boolean isDominated(final int test) {
+        if (coverage.lineCount(test) == 0) {
+            return true;
+        }
+        for (int other = 0; other < coverage.tests(); other++) {
+            if (other != test && isSubset(test, other)
+                    && (other < test || coverage.lineCount(other) > coverage.lineCount(test))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether the lines covered by {@code test} are a subset of those covered by
+     * {@code other}.
+     */
+    private boolean isSubset(final int test, final int other) {
+        for (int w = coverage.firstWord(test), end = coverage.endWord(test); w < end; w++) {
+            if ((coverage.word(test, w) & ~coverage.word(other, w)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes an optimal ordering, unless the search budget is exhausted first.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+
+        final int k = tests.length;
+        covered = new long[k + 1][];
+        candidates = new int[k + 1][k];
+        gains = new int[k + 1][k];
+        for (int depth = 0; depth <= k; depth++) {
+            covered[depth] = coverage.emptySet();
+        }
+        path = new int[k];
+        Arrays.fill(memoKeys, -1);
+        expanded = 0;
+
+        // The additional-greedy ordering is the first complete path the search visits, and the
+        // fallback if it must stop early.
+        incumbent = null;
+        incumbentCost = Integer.MAX_VALUE;
+
+        int[] solution;
+        try {
+            final int uncovered = coverage.coverableLines();
+            final int optimum = solve(0, 0L, uncovered, 0, Integer.MAX_VALUE);
+            solution = reconstruct(uncovered, optimum);
+            if (optimum < incumbentCost) {
+                notifyImprovement(problem.withOrdering(complete(solution)));
+            }
+        } catch (final SearchStopped e) {
+            solution = incumbent;
+        }
+
+        notifyFitnessEvaluation();
+        return problem.withOrdering(complete(solution));
+    }
+
+    /**
+     * Computes the optimal cost of completing the given subset, i.e., the sum of uncovered lines
+     * over the prefixes that start with the subset, if it is less than the given budget.
+     * Otherwise, returns a lower bound of it that is at least the budget.
+     *
+     * @param depth     the size of the subset, whose covered lines are {@code covered[depth]}
+     * @param mask      the subset
+     * @param uncovered the number of coverable lines the subset leaves uncovered
+     * @param pathCost  the cost of the path leading to the subset
+     * @param budget    the budget
+     * @return the optimal cost if it is less than {@code budget}, a lower bound otherwise
+     */
+    private int solve(
+            final int depth,
+            final long mask,
+            final int uncovered,
+            final int pathCost,
+            final int budget) {
+        if (uncovered == 0) {
+            if (pathCost < incumbentCost) {
+                incumbent = Arrays.copyOf(path, depth);
+                incumbentCost = pathCost;
+                notifyImprovement(problem.withOrdering(complete(incumbent)));
+            }
+            return 0;
+        }
+
+        final int slot = lookup(mask);
+        if (slot >= 0) {
+            final int value = memoValues[slot];
+            if ((value & 1) != 0 || value >>> 1 >= budget) {
+                return value >>> 1;
+            }
+        }
+
+        if (++expanded % CHECK_INTERVAL == 0 && searchMustStop()) {
+            throw new SearchStopped();
+        }
+
+        final int count = candidates(depth, mask);
+        final int[] candidate = candidates[depth];
+        final int[] gain = gains[depth];
+
+        int bound = 0;
+        int remaining = uncovered;
+        for (int i = 0; remaining > 0; i++) {
+            bound += remaining;
+            remaining -= i < count ? gain[i] : remaining;
+        }
+        if (bound >= budget) {
+            store(mask, bound, false);
+            return bound;
+        }
+
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < count && best > bound; i++) {
+            final int childBudget = Math.min(budget, best) - uncovered;
+            final long[] childCovered = covered[depth + 1];
+            System.arraycopy(covered[depth], 0, childCovered, 0, childCovered.length);
+            coverage.cover(tests[candidate[i]], childCovered);
+            path[depth] = candidate[i];
+
+            final int value = uncovered + solve(depth + 1, mask | 1L << candidate[i],
+                    uncovered - gain[i], pathCost + uncovered, childBudget);
+            best = Math.min(best, value);
+        }
+
+        final boolean exact = best < budget;
+        store(mask, exact ? best : Math.max(best, bound), exact);
+        return exact ? best : Math.max(best, bound);
+    }
+
+    /**
+     * Collects the test cases outside the given subset that cover additional lines into
+     * {@code candidates[depth]}, sorted by descending gain, with their gains in
+     * {@code gains[depth]}.
+     *
+     * @param depth the size of the subset, whose covered lines are {@code covered[depth]}
+     * @param mask  the subset
+     * @return the number of candidates
+     */
+    private int candidates(final int depth, final long mask) {
+        final int[] candidate = candidates[depth];
+        final int[] gain = gains[depth];
+        int count = 0;
+        for (int i = 0; i < tests.length; i++) {
+            if ((mask & 1L << i) == 0) {
+                final int g = coverage.countNew(tests[i], covered[depth]);
+                if (g > 0) {
+                    int j = count++;
+                    while (j > 0 && gain[j - 1] < g) {
+                        candidate[j] = candidate[j - 1];
+                        gain[j] = gain[j - 1];
+                        j--;
+                    }
+                    candidate[j] = i;
+                    gain[j] = g;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Follows the memoized costs from the empty set to recover a path of the given optimal cost.
+     *
+     * @param uncovered the number of coverable lines
+     * @param optimum   the optimal cost
+     * @return the path, as indices into {@link #tests}
+     */
+    private int[] reconstruct(int uncovered, int optimum) {
+        int depth = 0;
+        long mask = 0;
+        int pathCost = 0;
+        while (uncovered > 0) {
+            final int count = candidates(depth, mask);
+            final int target = optimum - uncovered;
+            int chosen = -1;
+            for (int i = 0; i < count && chosen < 0; i++) {
+                final int test = candidates[depth][i];
+                System.arraycopy(covered[depth], 0, covered[depth + 1], 0,
+                        covered[depth + 1].length);
+                coverage.cover(tests[test], covered[depth + 1]);
+                path[depth] = test;
+                final int childUncovered = uncovered - gains[depth][i];
+                if (solve(depth + 1, mask | 1L << test, childUncovered, pathCost + uncovered,
+                        target + 1) == target) {
+                    chosen = i;
+                }
+            }
+
+            // Re-collect, since the recursive calls have overwritten the deeper levels.
+            final int test = candidates[depth][chosen];
+            final int gain = gains[depth][chosen];
+            System.arraycopy(covered[depth], 0, covered[depth + 1], 0, covered[depth + 1].length);
+            coverage.cover(tests[test], covered[depth + 1]);
+            path[depth] = test;
+            pathCost += uncovered;
+            mask |= 1L << test;
+            uncovered -= gain;
+            optimum = target;
+            depth++;
+        }
+        return Arrays.copyOf(path, depth);
+    }
+
+    /**
+     * Turns the given path into an ordering of all test cases, by appending the remaining test
+     * cases in order of their index.
+     *
+     * @param path the path, as indices into {@link #tests}
+     * @return the ordering
+     */
+    private int[] complete(final int[] path) {
+        final int[] ordering = new int[coverage.tests()];
+        final boolean[] used = new boolean[coverage.tests()];
+        int p = 0;
+        for (final int i : path) {
+            ordering[p++] = tests[i];
+            used[tests[i]] = true;
+        }
+        for (int t = 0; t < ordering.length; t++) {
+            if (!used[t]) {
+                ordering[p++] = t;
+            }
+        }
+        return ordering;
+    }
+
+    /**
+     * Finds the slot of the given subset in the memo table.
+     *
+     * @param mask the subset
+     * @return the slot, or {@code -1} if the subset is not memoized
+     */
+    private int lookup(final long mask) {
+        final int slots = memoKeys.length - 1;
+        int slot = hash(mask) & slots;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            final long key = memoKeys[slot];
+            if (key == mask) {
+                return slot;
+            }
+            if (key == -1) {
+                return -1;
+            }
+            slot = (slot + 1) & slots;
+        }
+        return -1;
+    }
+
+    /**
+     * Memoizes the given value of the given subset. If all probed slots are taken by other
+     * subsets, the first of them is overwritten.
+     *
+     * @param mask  the subset
+     * @param value the optimal cost or a lower bound of it
+     * @param exact whether the value is the optimal cost
+     */
+    private void store(final long mask, final int value, final boolean exact) {
+        final int slots = memoKeys.length - 1;
+        final int home = hash(mask) & slots;
+        int target = home;
+        for (int probe = 0, slot = home; probe < MAX_PROBES; probe++) {
+            final long key = memoKeys[slot];
+            if (key == mask || key == -1) {
+                target = slot;
+                break;
+            }
+            slot = (slot + 1) & slots;
+        }
+        memoKeys[target] = mask;
+        memoValues[target] = value << 1 | (exact ? 1 : 0);
+    }
+
+    /**
+     * Spreads the bits of the given subset.
+     */
+    private static int hash(final long mask) {
+        final long h = mask * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) ^ (int) h;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+
+    /**
+     * Thrown to unwind the search when the stopping condition says it must stop.
+     */
+    private static final class SearchStopped extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private SearchStopped() {
+            super(null, null, false, false);
+        }
+    }
+}
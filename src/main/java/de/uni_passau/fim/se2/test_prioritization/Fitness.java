@@ -1,11 +1,14 @@
 package de.uni_passau.fim.se2.test_prioritization;
 
-import java.util.ArrayList;
-
 public class Fitness {
 
     public static double getFitness(double m, double n, boolean[][] coverageMatrix, int[] ordering) {
-        if (TestCaseOrdering.isFitnessMinimizing()) {
+        return getFitness(m, n, coverageMatrix, ordering, TestCaseOrdering.isFitnessMinimizing());
+    }
+
+    public static double getFitness(double m, double n, boolean[][] coverageMatrix, int[] ordering,
+                                    boolean minimizing) {
+        if (minimizing) {
             return getFitnessMinimising(m, n, coverageMatrix, ordering);
         } else {
             return getFitnessMaximising(m, n, coverageMatrix, ordering);
@@ -13,76 +16,34 @@ public class Fitness {
     }
 
     private static double getFitnessMaximising(double m, double n, boolean[][] coverageMatrix, int[] ordering) {
-
-        ArrayList<Integer> statementResolved = new ArrayList<>();
-        for (int i = 0; i < coverageMatrix[0].length; i++) {
-            statementResolved.add(0);
-        }
-
-        ArrayList<Integer> temporarySolution = new ArrayList<>();
-        for (int i = 0; i < coverageMatrix.length; i++) {
-            temporarySolution.add(0);
-        }
-        int solution = 0;
-        int count;
-        for (int i = 0; i < coverageMatrix.length; i++) {
-            count = 0;
-            for (int j = 0; j < coverageMatrix[0].length; j++) {
-                if (coverageMatrix[ordering[i]][j] == true && statementResolved.get(j) == 0) {
-                    statementResolved.set(j, 1);
-                    count++;
-                }
-            }
-            temporarySolution.set(i, count);
-        }
-        for (int i = 0; i < coverageMatrix.length; i++) {
-            solution = solution + temporarySolution.get(i) * (i + 1);
-        }
-        double statementIgnoredCounter = 0d;
-        for (int i = 0; i < statementResolved.size(); i++) {
-            if (statementResolved.get(i) == 0) {
-                statementIgnoredCounter++;
-            }
-        }
-        return 1 - ((1d / (n * (m - statementIgnoredCounter))) * solution) + (1d / (2 * n));
+        return 1 - weightedFirstCoverage(m, n, coverageMatrix, ordering) + (1d / (2 * n));
     }
 
     private static double getFitnessMinimising(double m, double n, boolean[][] coverageMatrix, int[] ordering) {
+        return weightedFirstCoverage(m, n, coverageMatrix, ordering) + (1d / (2 * n));
+    }
 
-        ArrayList<Integer> statementResolved = new ArrayList<>();
-        for (int i = 0; i < coverageMatrix[0].length; i++) {
-            statementResolved.add(0);
-        }
-
-        ArrayList<Integer> temporarySolution = new ArrayList<>();
+    /**
+     * Computes the sum of the (1-based) positions at which every line is covered for the first
+     * time, normalized by the number of test cases times the number of covered lines. Lines that
+     * are not covered by any test case are ignored. Uses primitive arrays only, so the computation
+     * does not allocate boxed values and can run on many threads without GC pressure.
+     */
+    private static double weightedFirstCoverage(double m, double n, boolean[][] coverageMatrix, int[] ordering) {
+        boolean[] statementResolved = new boolean[coverageMatrix[0].length];
+        int resolved = 0;
+        long solution = 0;
         for (int i = 0; i < coverageMatrix.length; i++) {
-            temporarySolution.add(0);
-        }
-        int solution = 0;
-        int count;
-        for (int i = 0; i < coverageMatrix.length; i++) {
-            count = 0;
-            for (int j = 0; j < coverageMatrix[0].length; j++) {
-                if (coverageMatrix[ordering[i]][j] == true && statementResolved.get(j) == 0) {
-                    statementResolved.set(j, 1);
-                    count++;
+            boolean[] row = coverageMatrix[ordering[i]];
+            for (int j = 0; j < row.length; j++) {
+                if (row[j] && !statementResolved[j]) {
+                    statementResolved[j] = true;
+                    resolved++;
+                    solution += i + 1;
                 }
             }
-            temporarySolution.set(i, count);
-        }
-
-        for (int i = 0; i < coverageMatrix.length; i++) {
-            solution = solution + temporarySolution.get(i) * (i + 1);
-        }
-        double statementIgnoredCounter = 0d;
-        for (int i = 0; i < statementResolved.size(); i++) {
-            if (statementResolved.get(i) == 0) {
-                statementIgnoredCounter++;
-            }
         }
-
-        return ((1d / (n * (m - statementIgnoredCounter))) * solution) + (1d / (2 * n));
+        double statementIgnoredCounter = statementResolved.length - resolved;
+        return (1d / (n * (m - statementIgnoredCounter))) * solution;
     }
-
-
 }
@@ -0,0 +1,79 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+
+/**
+ * Adapts a {@link GreedyStrategy} to the {@link SearchAlgorithm} interface, so that greedy
+ * baselines can be run and reported like any other search algorithm.
+ * <p>
+ * The ordering is constructed in one go and is not interrupted by the stopping condition. The
+ * stopping condition is notified about a single fitness evaluation, namely the one of the
+ * constructed ordering. As the strategies are deterministic, every run yields the same solution.
+ */
+public final class GreedyPrioritization implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The configuration from which to derive the solution.
+     */
+    private final TestCaseOrdering prototype;
+
+    /**
+     * The strategy used to construct the ordering.
+     */
+    private final GreedyStrategy strategy;
+
+    /**
+     * The bit-packed coverage matrix of the prototype.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * Instantiates a new greedy prioritization.
+     *
+     * @param prototype         the configuration from which to derive the solution, not
+     *                          {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param strategy          the strategy used to construct the ordering, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public GreedyPrioritization(
+            final TestCaseOrdering prototype,
+            final StoppingCondition stoppingCondition,
+            final GreedyStrategy strategy)
+            throws NullPointerException {
+        this.prototype = requireNonNull(prototype);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.strategy = requireNonNull(strategy);
+        this.coverage = PackedCoverage.of(prototype.coverageMatrix);
+    }
+
+    /**
+     * Constructs an ordering using the greedy strategy.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+        final TestCaseOrdering solution = prototype.withOrdering(strategy.order(coverage));
+        notifyFitnessEvaluation();
+        notifyImprovement(solution);
+        return solution;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
@@ -0,0 +1,232 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Greedy, coverage-based construction heuristics for test case orderings. They are deterministic:
+ * ties are always broken in favour of the test case with the smaller index.
+ */
+public enum GreedyStrategy {
+
+    /**
+     * Orders test cases by the total number of lines they cover, in descending order.
+     */
+    TOTAL {
+        @Override
+        public int[] order(final PackedCoverage coverage) {
+            return IntStream.range(0, coverage.tests())
+                    .boxed()
+                    .sorted(Comparator.comparingInt(coverage::lineCount).reversed())
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    },
+
+    /**
+     * Repeatedly picks the test case that covers the most lines not yet covered by the test cases
+     * picked so far. Once no remaining test case adds any coverage, the set of covered lines is
+     * reset and the procedure starts over with the remaining test cases. Test cases that do not
+     * cover anything come last.
+     * <p>
+     * Since the coverage gain of a test case can only shrink as more test cases are picked
+     * (coverage is submodular), the gain computed in an earlier round is an upper bound of the
+     * current gain. The candidates are therefore kept in a max-heap keyed by these bounds, and only
+     * the candidate at the top is re-evaluated, until it turns out to be up to date (lazy greedy
+     * evaluation, also known as CELF). This yields the same ordering as the naive algorithm, but
+     * usually needs only a handful of re-evaluations per pick instead of one per remaining test
+     * case. In addition, for every line the number of remaining test cases covering it is tracked,
+     * so that saturation is detected as soon as it occurs, rather than by re-evaluating every
+     * remaining test case to find out that none of them adds coverage.
+     */
+    ADDITIONAL {
+        @Override
+        public int[] order(final PackedCoverage coverage) {
+            return new LazyAdditionalGreedy(coverage).order();
+        }
+    };
+
+    /**
+     * Constructs an ordering of all test cases of the given coverage matrix.
+     *
+     * @param coverage the coverage matrix
+     * @return the ordering
+     */
+    public abstract int[] order(final PackedCoverage coverage);
+
+    /**
+     * The state of one run of the lazy additional greedy algorithm.
+     */
+    private static final class LazyAdditionalGreedy {
+
+        private final PackedCoverage coverage;
+
+        /**
+         * The lines covered by the test cases picked since the last reset.
+         */
+        private final long[] covered;
+
+        /**
+         * For every line, the number of remaining (not yet picked) test cases covering it.
+         */
+        private final int[] remainingCover;
+
+        /**
+         * The number of lines that are not yet covered but are covered by a remaining test case.
+         */
+        private int openLines;
+
+        /**
+         * For every test case, the round in which the gain stored in its heap entry was computed.
+         */
+        private final int[] round;
+
+        /**
+         * The remaining candidates, a binary max-heap of entries as created by
+         * {@link #entry(int, int)}.
+         */
+        private final long[] heap;
+
+        private int size;
+
+        /**
+         * The current round, incremented whenever {@link #covered} changes.
+         */
+        private int currentRound;
+
+        LazyAdditionalGreedy(final PackedCoverage coverage) {
+            final int n = coverage.tests();
+            this.coverage = coverage;
+            this.covered = coverage.emptySet();
+            this.round = new int[n];
+            this.heap = new long[n];
+            this.remainingCover = new int[coverage.lines()];
+        }
+
+        int[] order() {
+            final int n = coverage.tests();
+            final int[] ordering = new int[n];
+            int next = 0;
+
+            for (int test = 0; test < n; test++) {
+                if (coverage.lineCount(test) > 0) {
+                    heap[size++] = entry(test, 0);
+                    forEachLine(test, line -> remainingCover[line]++);
+                }
+            }
+            restart();
+
+            while (size > 0) {
+                if (openLines == 0) {
+                    // No remaining test case can add coverage: start over.
+                    Arrays.fill(covered, 0L);
+                    restart();
+                }
+
+                final int top = test(heap[0]);
+                if (round[top] != currentRound) {
+                    heap[0] = entry(top, coverage.countNew(top, covered));
+                    round[top] = currentRound;
+                    siftDown(0);
+                } else {
+                    ordering[next++] = top;
+                    pick(top);
+                    heap[0] = heap[--size];
+                    siftDown(0);
+                }
+            }
+
+            for (int test = 0; test < n; test++) {
+                if (coverage.lineCount(test) == 0) {
+                    ordering[next++] = test;
+                }
+            }
+
+            return ordering;
+        }
+
+        /**
+         * Adds the lines of the given test case to the covered lines, and removes it from the
+         * remaining test cases.
+         */
+        private void pick(final int test) {
+            forEachLine(test, line -> {
+                remainingCover[line]--;
+                if ((covered[line / Long.SIZE] & 1L << line) == 0) {
+                    openLines--;
+                }
+            });
+            coverage.cover(test, covered);
+            currentRound++;
+        }
+
+        /**
+         * Calls the given action for every line covered by the given test case.
+         */
+        private void forEachLine(final int test, final IntConsumer action) {
+            for (int w = coverage.firstWord(test), end = coverage.endWord(test); w < end; w++) {
+                long word = coverage.word(test, w);
+                while (word != 0) {
+                    action.accept(w * Long.SIZE + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        /**
+         * Resets the gains of all remaining candidates to the number of lines they cover, and
+         * rebuilds the heap. Must be called whenever {@link #covered} is empty.
+         */
+        private void restart() {
+            openLines = 0;
+            for (final int count : remainingCover) {
+                if (count > 0) {
+                    openLines++;
+                }
+            }
+
+            currentRound++;
+            for (int i = 0; i < size; i++) {
+                final int test = test(heap[i]);
+                heap[i] = entry(test, coverage.lineCount(test));
+                round[test] = currentRound;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        private void siftDown(int i) {
+            final long entry = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] > heap[child]) {
+                    child++;
+                }
+                if (heap[child] <= entry) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = entry;
+        }
+
+        /**
+         * Encodes a test case and its gain into a heap entry. Entries compare like their gains,
+         * and for equal gains, the entry of the test case with the smaller index is larger.
+         */
+        private static long entry(final int test, final int gain) {
+            return (long) gain << Integer.SIZE | (~test & 0xFFFFFFFFL);
+        }
+
+        private static int test(final long entry) {
+            return ~(int) entry;
+        }
+    }
+}
@@ -0,0 +1,542 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+/**
+ * A two-level prioritization for large test suites. First, the test cases are clustered by the
+ * Jaccard distance of their covered lines with k-medoids. Then, another search algorithm orders
+ * the test cases of every cluster on the sub-matrix of the cluster's test cases and of the lines
+ * they cover, which is much smaller than the whole matrix. Finally, the orderings of the clusters
+ * are merged: the next test case is always taken from the cluster whose next test case adds the
+ * most coverage, so the clusters are ordered by their contribution while the order within each
+ * cluster is kept. Test cases that cover nothing come last.
+ * <p>
+ * The clusters are initialized with k-medoids++ and refined by a few rounds of assigning every test
+ * case to its nearest medoid and moving every medoid to the member with the smallest total
+ * distance to the other members. To keep a round linear in the number of test cases, the new
+ * medoid is chosen among a random sample of the members, by the distances to another sample. The
+ * assignments, the medoid updates and the searches within the clusters run in parallel on a
+ * fork-join pool.
+ * <p>
+ * Every search within a cluster gets a stopping condition that forwards its fitness evaluations
+ * to the stopping condition of this algorithm, and that ends its search when the overall budget is
+ * exhausted or when it has used up its share. The calls are only serialized if the stopping
+ * condition of this algorithm is not {@linkplain StoppingCondition#isThreadSafe() thread-safe}, so
+ * with a budget in fitness evaluations, the searches do not contend for a lock. The share of a
+ * cluster is proportional to its size. It is measured in terms of the overall
+ * {@linkplain StoppingCondition#getProgress() progress}, scaled by the parallelism of the pool,
+ * since the clusters that are searched concurrently advance the overall progress together.
+ * Thereby, the shares work for budgets in fitness evaluations as well as in time. As all searches
+ * draw from the same source of randomness concurrently, the result is not reproducible even with a
+ * fixed seed.
+ */
+public final class HierarchicalPrioritization implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The maximum number of rounds of k-medoids.
+     */
+    private static final int ROUNDS = 5;
+
+    /**
+     * The number of members sampled when moving a medoid.
+     */
+    private static final int SAMPLE = 32;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The problem instance, from which the solution is derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * The bit-packed coverage matrix of the problem.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * The number of clusters, or 0 for the square root of the number of test cases.
+     */
+    private final int clusters;
+
+    /**
+     * Builds the search for a cluster, given its sub-matrix and its stopping condition.
+     */
+    private final BiFunction<boolean[][], StoppingCondition, SearchAlgorithm<TestCaseOrdering>>
+            search;
+
+    /**
+     * The pool on which the clusters are computed and searched.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The stopping condition as seen by the concurrent searches: the stopping condition itself if
+     * it is thread-safe, and otherwise a view that serializes all calls to it.
+     */
+    private final StoppingCondition shared;
+
+    /**
+     * Instantiates a new hierarchical prioritization with the square root of the number of test
+     * cases as number of clusters, running on the common fork-join pool.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param search            builds the search for a cluster from its sub-matrix and its
+     *                          stopping condition, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public HierarchicalPrioritization(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition,
+            final BiFunction<boolean[][], StoppingCondition, SearchAlgorithm<TestCaseOrdering>>
+                    search)
+            throws NullPointerException {
+        this(problem, stoppingCondition, 0, search, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new hierarchical prioritization.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param clusters          the number of clusters, or 0 for the square root of the number of
+     *                          test cases
+     * @param search            builds the search for a cluster from its sub-matrix and its
+     *                          stopping condition, not {@code null}
+     * @param pool              the pool on which to cluster and search, not {@code null}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if the number of clusters is negative
+     */
+    public HierarchicalPrioritization(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition,
+            final int clusters,
+            final BiFunction<boolean[][], StoppingCondition, SearchAlgorithm<TestCaseOrdering>>
+                    search,
+            final ForkJoinPool pool)
+            throws NullPointerException, IllegalArgumentException {
+        if (clusters < 0) {
+            throw new IllegalArgumentException("Negative number of clusters: " + clusters);
+        }
+
+        this.problem = requireNonNull(problem);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.shared = stoppingCondition.isThreadSafe()
+                ? stoppingCondition
+                : new Serialized(stoppingCondition);
+        this.coverage = PackedCoverage.of(problem.coverageMatrix);
+        this.clusters = clusters;
+        this.search = requireNonNull(search);
+        this.pool = requireNonNull(pool);
+    }
+
+    /**
+     * Clusters the test cases, orders every cluster with the search, and merges the orderings.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+
+        final int n = coverage.tests();
+        final int[] tests = IntStream.range(0, n).filter(t -> coverage.lineCount(t) > 0).toArray();
+        final int k = Math.min(tests.length, clusters > 0
+                ? clusters
+                : (int) Math.round(Math.sqrt(tests.length)));
+        final int[][] members = cluster(tests, k, Randomness.random());
+
+        // Report the merge of the unsearched clusters, in case the search takes long.
+        notifyImprovement(problem.withOrdering(merge(members)));
+
+        final double total = tests.length;
+        final double parallelism = pool.getParallelism();
+        pool.submit(() -> IntStream.range(0, k).parallel().forEach(c -> {
+            if (members[c].length > 1 && !budgetExhausted()) {
+                members[c] = solve(members[c],
+                        Math.min(1, parallelism * members[c].length / total));
+            }
+        })).join();
+
+        notifyFitnessEvaluation();
+        final TestCaseOrdering solution = problem.withOrdering(merge(members));
+        notifyImprovement(solution);
+        return solution;
+    }
+
+    /**
+     * Partitions the given test cases into the given number of clusters with k-medoids.
+     *
+     * @param tests  the test cases, which cover at least one line each
+     * @param k      the number of clusters, at most the number of test cases
+     * @param random the source of randomness
+     * @return per cluster, its members
+     */
+    private int[][] cluster(final int[] tests, final int k, final Random random) {
+        if (k == 0) {
+            return new int[0][];
+        }
+
+        // k-medoids++: every further medoid is drawn with a probability proportional to the
+        // squared distance to its nearest medoid so far.
+        final int[] medoids = new int[k];
+        final double[] nearest = new double[tests.length];
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+        medoids[0] = tests[random.nextInt(tests.length)];
+        for (int c = 1; c < k; c++) {
+            final int medoid = medoids[c - 1];
+            pool.submit(() -> IntStream.range(0, tests.length).parallel().forEach(i ->
+                    nearest[i] = Math.min(nearest[i], distance(tests[i], medoid)))).join();
+            final double total = Arrays.stream(nearest).map(d -> d * d).sum();
+            double target = random.nextDouble() * total;
+            int chosen = 0;
+            while (chosen < tests.length - 1 && (target -= nearest[chosen] * nearest[chosen]) > 0) {
+                chosen++;
+            }
+            medoids[c] = tests[chosen];
+        }
+
+        final int[] assignment = new int[tests.length];
+        int[][] members = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            pool.submit(() -> IntStream.range(0, tests.length).parallel().forEach(i -> {
+                int best = 0;
+                double bestDistance = Double.POSITIVE_INFINITY;
+                for (int c = 0; c < k; c++) {
+                    final double d = tests[i] == medoids[c] ? -1 : distance(tests[i], medoids[c]);
+                    if (d < bestDistance) {
+                        best = c;
+                        bestDistance = d;
+                    }
+                }
+                assignment[i] = best;
+            })).join();
+            members = group(tests, assignment, k);
+
+            final int[][] groups = members;
+            final long[] seeds = random.longs(k).toArray();
+            final int[] moved = new int[k];
+            pool.submit(() -> IntStream.range(0, k).parallel().forEach(c ->
+                    moved[c] = medoid(groups[c], medoids[c], new Random(seeds[c])))).join();
+            if (Arrays.equals(moved, medoids)) {
+                break;
+            }
+            System.arraycopy(moved, 0, medoids, 0, k);
+        }
+        return members;
+    }
+
+    /**
+     * Groups the given test cases by their assigned clusters.
+     *
+     * @param tests      the test cases
+     * @param assignment per test case, its cluster
+     * @param k          the number of clusters
+     * @return per cluster, its members
+     */
+    private static int[][] group(final int[] tests, final int[] assignment, final int k) {
+        final int[] sizes = new int[k];
+        for (final int c : assignment) {
+            sizes[c]++;
+        }
+        final int[][] members = new int[k][];
+        for (int c = 0; c < k; c++) {
+            members[c] = new int[sizes[c]];
+            sizes[c] = 0;
+        }
+        for (int i = 0; i < tests.length; i++) {
+            members[assignment[i]][sizes[assignment[i]]++] = tests[i];
+        }
+        return members;
+    }
+
+    /**
+     * Chooses the member of a cluster with the smallest total distance to a sample of the other
+     * members, among the current medoid and a sample of the members.
+     *
+     * @param members the members of the cluster, including the current medoid
+     * @param medoid  the current medoid
+     * @param random  the source of randomness
+     * @return the new medoid
+     */
+    private int medoid(final int[] members, final int medoid, final Random random) {
+        final int[] candidates = sample(members, random);
+        final int[] references = sample(members, random);
+        int best = medoid;
+        double bestCost = cost(medoid, references);
+        for (final int candidate : candidates) {
+            final double cost = cost(candidate, references);
+            if (cost < bestCost) {
+                best = candidate;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the given members if there are at most {@link #SAMPLE} of them, and a random sample
+     * of that size otherwise.
+     */
+    private static int[] sample(final int[] members, final Random random) {
+        if (members.length <= SAMPLE) {
+            return members;
+        }
+        final int[] sample = members.clone();
+        for (int i = 0; i < SAMPLE; i++) {
+            final int j = i + random.nextInt(sample.length - i);
+            final int tmp = sample[i];
+            sample[i] = sample[j];
+            sample[j] = tmp;
+        }
+        return Arrays.copyOf(sample, SAMPLE);
+    }
+
+    /**
+     * Sums the distances of the given test case to the given references.
+     */
+    private double cost(final int test, final int[] references) {
+        double cost = 0;
+        for (final int reference : references) {
+            cost += distance(test, reference);
+        }
+        return cost;
+    }
+
+    /**
+     * Computes the Jaccard distance of the sets of lines covered by the given test cases, which
+     * must cover at least one line each.
+     *
+     * @param a the first test case
+     * @param b the second test case
+     * @return the distance, in [0, 1]
+     */
+    private double distance(final int a, final int b) {
+        int intersection = 0;
+        for (int w = Math.max(coverage.firstWord(a), coverage.firstWord(b)),
+                end = Math.min(coverage.endWord(a), coverage.endWord(b)); w < end; w++) {
+            intersection += Long.bitCount(coverage.word(a, w) & coverage.word(b, w));
+        }
+        final int union = coverage.lineCount(a) + coverage.lineCount(b) - intersection;
+        return 1 - intersection / (double) union;
+    }
+
+    /**
+     * Orders the given members of a cluster with the search, on the sub-matrix of the members
+     * and the lines they cover.
+     *
+     * @param members the members
+     * @param share   the share of the overall progress the search may use
+     * @return the members in the order found by the search
+     */
+    private int[] solve(final int[] members, final double share) {
+        final long[] covered = coverage.emptySet();
+        for (final int test : members) {
+            coverage.cover(test, covered);
+        }
+        final int[] lines = new int[Arrays.stream(covered).mapToInt(Long::bitCount).sum()];
+        int count = 0;
+        for (int w = 0; w < covered.length; w++) {
+            for (long word = covered[w]; word != 0; word &= word - 1) {
+                lines[count++] = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+            }
+        }
+
+        final boolean[][] matrix = new boolean[members.length][lines.length];
+        for (int i = 0; i < members.length; i++) {
+            for (int j = 0; j < lines.length; j++) {
+                final int line = lines[j];
+                matrix[i][j] =
+                        (coverage.word(members[i], line / Long.SIZE) & 1L << line) != 0;
+            }
+        }
+
+        final int[] ordering = search.apply(matrix, new Share(share)).findSolution().toArray();
+        final int[] ordered = new int[members.length];
+        for (int i = 0; i < ordering.length; i++) {
+            ordered[i] = members[ordering[i]];
+        }
+        return ordered;
+    }
+
+    /**
+     * Merges the orderings of the clusters by repeatedly taking the next test case of the cluster
+     * whose next test case adds the most coverage, and appends the test cases that cover nothing.
+     * A next test case that adds no coverage is deferred to the end, so that it does not hold back
+     * the rest of its cluster: lines it covers may have been covered by other clusters already.
+     *
+     * @param members per cluster, its ordered members
+     * @return the ordering
+     */
+    private int[] merge(final int[][] members) {
+        final int n = coverage.tests();
+        final int[] ordering = new int[n];
+        final int[] deferred = new int[n];
+        final long[] covered = coverage.emptySet();
+        final int[] heads = new int[members.length];
+        final int[] bounds = new int[members.length];
+        Arrays.fill(bounds, Integer.MAX_VALUE);
+
+        // The gains of the next test cases only shrink, so old gains are upper bounds.
+        int position = 0;
+        int deferrals = 0;
+        int remaining = coverage.coverableLines();
+        while (remaining > 0) {
+            int picked = -1;
+            int bestGain = 0;
+            for (int c = 0; c < members.length; c++) {
+                while (heads[c] < members[c].length && bounds[c] > bestGain) {
+                    bounds[c] = coverage.countNew(members[c][heads[c]], covered);
+                    if (bounds[c] > 0) {
+                        break;
+                    }
+                    deferred[deferrals++] = members[c][heads[c]++];
+                    bounds[c] = Integer.MAX_VALUE;
+                }
+                if (heads[c] < members[c].length && bounds[c] > bestGain) {
+                    picked = c;
+                    bestGain = bounds[c];
+                }
+            }
+            if (picked < 0) {
+                break;
+            }
+            final int test = members[picked][heads[picked]++];
+            remaining -= coverage.cover(test, covered);
+            bounds[picked] = Integer.MAX_VALUE;
+            ordering[position++] = test;
+        }
+
+        // Full coverage is reached, so the order of the rest does not matter.
+        for (int c = 0; c < members.length; c++) {
+            while (heads[c] < members[c].length) {
+                ordering[position++] = members[c][heads[c]++];
+            }
+        }
+        System.arraycopy(deferred, 0, ordering, position, deferrals);
+        position += deferrals;
+        for (int test = 0; test < n; test++) {
+            if (coverage.lineCount(test) == 0) {
+                ordering[position++] = test;
+            }
+        }
+        return ordering;
+    }
+
+    /**
+     * Tells whether the overall budget is exhausted, which may be called concurrently.
+     *
+     * @return {@code true} if the search must stop
+     */
+    private boolean budgetExhausted() {
+        return shared.searchMustStop();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+
+    /**
+     * The stopping condition of the search within a cluster.
+     */
+    private final class Share implements StoppingCondition {
+
+        /**
+         * The share of the overall progress the search may use.
+         */
+        private final double share;
+
+        /**
+         * The overall progress when the search started.
+         */
+        private double start;
+
+        private Share(final double share) {
+            this.share = share;
+        }
+
+        @Override
+        public void notifySearchStarted() {
+            start = shared.getProgress();
+        }
+
+        @Override
+        public void notifyFitnessEvaluation() {
+            shared.notifyFitnessEvaluation();
+        }
+
+        @Override
+        public void notifyFitnessEvaluations(final int evaluations) {
+            shared.notifyFitnessEvaluations(evaluations);
+        }
+
+        @Override
+        public boolean searchMustStop() {
+            return shared.searchMustStop() || shared.getProgress() - start >= share;
+        }
+
+        @Override
+        public double getProgress() {
+            return Math.min(1, Math.max(0, (shared.getProgress() - start) / share));
+        }
+    }
+
+    /**
+     * A view of a stopping condition that is not thread-safe, which serializes all calls to it.
+     */
+    private static final class Serialized implements StoppingCondition {
+
+        private final StoppingCondition condition;
+
+        private Serialized(final StoppingCondition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public synchronized void notifySearchStarted() {
+            condition.notifySearchStarted();
+        }
+
+        @Override
+        public synchronized void notifyFitnessEvaluation() {
+            condition.notifyFitnessEvaluation();
+        }
+
+        @Override
+        public synchronized void notifyFitnessEvaluations(final int evaluations) {
+            condition.notifyFitnessEvaluations(evaluations);
+        }
+
+        @Override
+        public synchronized boolean searchMustStop() {
+            return condition.searchMustStop();
+        }
+
+        @Override
+        public synchronized double getProgress() {
+            return condition.getProgress();
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Steepest-ascent hill climbing with random restarts. In every step, the whole swap or insert
+ * neighbourhood of the current ordering is evaluated, and the move that improves the APLC value
+ * the most is applied. Once no move improves the current ordering (a local optimum has been
+ * reached), the search restarts from a new random ordering.
+ * <p>
+ * Moves are evaluated with {@link IncrementalAPLC}, which only looks at the lines of the moved
+ * test cases. The neighbourhood is scanned in blocks of consecutive source positions, and the
+ * positions of a block are distributed across the threads of a fork-join pool. Every thread
+ * determines the best move per source position, and the results are reduced sequentially, so
+ * the chosen move does not depend on the number of threads.
+ * <p>
+ * Since evaluating a move costs a small fraction of a full fitness evaluation, the stopping
+ * condition is charged one fitness evaluation for every {@code n} evaluated moves, where
+ * {@code n} is the number of test cases. It is queried after every block, so a step may be cut
+ * short, in which case the best improving move found so far is still applied.
+ */
+public final class HillClimbing implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The approximate number of moves evaluated per block.
+     */
+    private static final int MOVES_PER_BLOCK = 1 << 16;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The problem instance, from which the solution is derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * The kind of moves that defines the neighbourhood.
+     */
+    private final PermutationMutation neighbourhood;
+
+    /**
+     * The pool on which the neighbourhood is scanned.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The bit-packed coverage matrix of the problem.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * The number of evaluated moves not yet charged to the stopping condition.
+     */
+    private long unchargedMoves;
+
+    /**
+     * Instantiates a new hill climber that scans the neighbourhood on the common fork-join pool.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param neighbourhood     the kind of moves that defines the neighbourhood, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public HillClimbing(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition,
+            final PermutationMutation neighbourhood)
+            throws NullPointerException {
+        this(problem, stoppingCondition, neighbourhood, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new hill climber.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param neighbourhood     the kind of moves that defines the neighbourhood, not {@code null}
+     * @param pool              the pool on which to scan the neighbourhood, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public HillClimbing(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition,
+            final PermutationMutation neighbourhood,
+            final ForkJoinPool pool)
+            throws NullPointerException {
+        this.problem = requireNonNull(problem);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.neighbourhood = requireNonNull(neighbourhood);
+        this.pool = requireNonNull(pool);
+        this.coverage = PackedCoverage.of(problem.coverageMatrix);
+    }
+
+    /**
+     * Climbs from random orderings until the search budget is exhausted, and returns the best
+     * ordering encountered.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+        unchargedMoves = 0;
+
+        final IncrementalAPLC current = new IncrementalAPLC(coverage);
+        restart(current);
+        int[] best = current.ordering();
+        long bestSum = current.sum();
+        notifyImprovement(problem.withOrdering(best));
+
+        while (searchCanContinue()) {
+            if (!climb(current)) {
+                restart(current);
+            }
+
+            if (current.sum() < bestSum) {
+                best = current.ordering();
+                bestSum = current.sum();
+                notifyImprovement(problem.withOrdering(best));
+            }
+        }
+
+        return problem.withOrdering(best);
+    }
+
+    /**
+     * Resets the given evaluator to a new random ordering.
+     *
+     * @param current the evaluator holding the current ordering
+     */
+    private void restart(final IncrementalAPLC current) {
+        current.reset(TestCaseOrdering.randomOrdering(coverage.tests(), Randomness.random()));
+        notifyFitnessEvaluation();
+    }
+
+    /**
+     * Scans the neighbourhood of the current ordering and applies the best improving move.
+     *
+     * @param current the evaluator holding the current ordering
+     * @return {@code true} if an improving move was applied, {@code false} if the current
+     * ordering is a local optimum
+     */
+    private boolean climb(final IncrementalAPLC current) {
+        final int n = coverage.tests();
+        final long[] bestDeltas = new long[n];
+        final int[] bestTargets = new int[n];
+        final int rowsPerBlock = Math.max(1, MOVES_PER_BLOCK / Math.max(1, n));
+
+        long bestDelta = 0;
+        int bestFrom = -1;
+        int bestTo = -1;
+
+        for (int start = 0; start < n; start += rowsPerBlock) {
+            final int from = start;
+            final int to = Math.min(n, start + rowsPerBlock);
+            pool.submit(() -> IntStream.range(from, to).parallel().forEach(i ->
+                    scan(current, i, bestDeltas, bestTargets))).join();
+
+            long moves = 0;
+            for (int i = from; i < to; i++) {
+                moves += neighbourhood == PermutationMutation.SWAP ? n - 1 - i : n - 1;
+                if (bestDeltas[i] < bestDelta) {
+                    bestDelta = bestDeltas[i];
+                    bestFrom = i;
+                    bestTo = bestTargets[i];
+                }
+            }
+            charge(moves);
+
+            if (searchMustStop()) {
+                break;
+            }
+        }
+
+        if (bestFrom < 0) {
+            return false;
+        }
+
+        current.apply(neighbourhood, bestFrom, bestTo);
+        return true;
+    }
+
+    /**
+     * Finds the best improving move from the given source position, and stores its delta and
+     * target position at index {@code from} of the given arrays. If there is no improving move,
+     * the stored delta is 0.
+     *
+     * @param current     the evaluator holding the current ordering
+     * @param from        the source position
+     * @param bestDeltas  the best deltas per source position
+     * @param bestTargets the target positions of the best moves per source position
+     */
+    private void scan(
+            final IncrementalAPLC current,
+            final int from,
+            final long[] bestDeltas,
+            final int[] bestTargets) {
+        final int n = coverage.tests();
+        long bestDelta = 0;
+        int bestTo = -1;
+
+        for (int to = neighbourhood == PermutationMutation.SWAP ? from + 1 : 0; to < n; to++) {
+            if (to != from) {
+                final long delta = current.delta(neighbourhood, from, to);
+                if (delta < bestDelta) {
+                    bestDelta = delta;
+                    bestTo = to;
+                }
+            }
+        }
+
+        bestDeltas[from] = bestDelta;
+        bestTargets[from] = bestTo;
+    }
+
+    /**
+     * Charges the given number of evaluated moves to the stopping condition, at the rate of one
+     * fitness evaluation per {@code n} moves.
+     *
+     * @param moves the number of evaluated moves
+     */
+    private void charge(final long moves) {
+        final int n = Math.max(1, coverage.tests());
+        unchargedMoves += moves;
+        getStoppingCondition().notifyFitnessEvaluations((int) (unchargedMoves / n));
+        unchargedMoves %= n;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
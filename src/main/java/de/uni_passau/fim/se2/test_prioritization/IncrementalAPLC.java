@@ -0,0 +1,309 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates moves in the swap and insert neighbourhoods of an ordering without recomputing its
+ * APLC value from scratch. For the current ordering, it records for every line the positions of
+ * the first and the second test case covering it, and how many lines are first covered before
+ * every position. A move only changes the first-coverage position of lines that are covered by a
+ * moved test case, or whose first coverage lies between the two positions of the move, so its
+ * effect on the first-coverage sum (see {@link PackedCoverage#firstCoverageSum(int[])}) can be
+ * computed from the lines of the moved test cases alone. (Reversing a block moves every test case
+ * in the block, so its cost grows with the length of the block.)
+ * <p>
+ * The delta methods do not modify any state and may be called concurrently. {@link #reset(int[])}
+ * must not run concurrently with any other method.
+ */
+public final class IncrementalAPLC {
+
+    private final PackedCoverage coverage;
+
+    /**
+     * The current ordering.
+     */
+    private final int[] ordering;
+
+    /**
+     * For every line, the position of the first test case covering it, or {@code n} if none does.
+     */
+    private final int[] first;
+
+    /**
+     * For every line, the position of the second test case covering it, or {@code n} if there is
+     * none.
+     */
+    private final int[] second;
+
+    /**
+     * For every position {@code p}, the number of lines whose first covering test case is at a
+     * position less than {@code p}.
+     */
+    private final int[] firstBefore;
+
+    /**
+     * The first-coverage sum of the current ordering.
+     */
+    private long sum;
+
+    /**
+     * Creates a new evaluator for the given coverage matrix. The evaluator must be
+     * {@linkplain #reset(int[]) reset} to an ordering before moves can be evaluated.
+     *
+     * @param coverage the coverage matrix, not {@code null}
+     * @throws NullPointerException if the coverage matrix is {@code null}
+     */
+    public IncrementalAPLC(final PackedCoverage coverage) throws NullPointerException {
+        this.coverage = requireNonNull(coverage);
+        this.ordering = new int[coverage.tests()];
+        this.first = new int[coverage.lines()];
+        this.second = new int[coverage.lines()];
+        this.firstBefore = new int[coverage.tests() + 1];
+    }
+
+    /**
+     * Makes the given ordering the current one.
+     *
+     * @param ordering the new current ordering, copied
+     */
+    public void reset(final int[] ordering) {
+        final int n = this.ordering.length;
+        System.arraycopy(ordering, 0, this.ordering, 0, n);
+        Arrays.fill(first, n);
+        Arrays.fill(second, n);
+
+        final int[] firstAt = new int[n];
+        sum = 0;
+        for (int p = 0; p < n; p++) {
+            final int test = ordering[p];
+            for (int w = coverage.firstWord(test), end = coverage.endWord(test); w < end; w++) {
+                long word = coverage.word(test, w);
+                while (word != 0) {
+                    final int line = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                    if (first[line] == n) {
+                        first[line] = p;
+                        firstAt[p]++;
+                        sum += p + 1;
+                    } else if (second[line] == n) {
+                        second[line] = p;
+                    }
+                    word &= word - 1;
+                }
+            }
+        }
+
+        for (int p = 0; p < n; p++) {
+            firstBefore[p + 1] = firstBefore[p] + firstAt[p];
+        }
+    }
+
+    /**
+     * Returns the first-coverage sum of the current ordering. Smaller sums mean higher APLC
+     * values.
+     *
+     * @return the first-coverage sum
+     */
+    public long sum() {
+        return sum;
+    }
+
+    /**
+     * Returns the APLC value of the current ordering.
+     *
+     * @return the APLC value
+     */
+    public double aplc() {
+        return coverage.aplc(sum);
+    }
+
+    /**
+     * Returns a copy of the current ordering.
+     *
+     * @return the current ordering
+     */
+    public int[] ordering() {
+        return ordering.clone();
+    }
+
+    /**
+     * Returns the test case at the given position of the current ordering.
+     *
+     * @param position the position
+     * @return the test case
+     */
+    public int testAt(final int position) {
+        return ordering[position];
+    }
+
+    /**
+     * Computes by how much the first-coverage sum changes when the given move is applied to the
+     * current ordering.
+     *
+     * @param move the kind of move
+     * @param from the first position of the move
+     * @param to   the second position of the move
+     * @return the change of the first-coverage sum
+     * @see PermutationMutation#move(int[], int, int)
+     */
+    public long delta(final PermutationMutation move, final int from, final int to) {
+        return switch (move) {
+            case SWAP -> swapDelta(from, to);
+            case INSERT -> insertDelta(from, to);
+            case REVERSE -> reverseDelta(from, to);
+        };
+    }
+
+    /**
+     * Applies the given move to the current ordering.
+     *
+     * @param move the kind of move
+     * @param from the first position of the move
+     * @param to   the second position of the move
+     * @see PermutationMutation#move(int[], int, int)
+     */
+    public void apply(final PermutationMutation move, final int from, final int to) {
+        move.move(ordering, from, to);
+        reset(ordering);
+    }
+
+    /**
+     * Computes by how much the first-coverage sum changes when the test cases at the given two
+     * positions are exchanged.
+     *
+     * @param i a position
+     * @param j another position
+     * @return the change of the first-coverage sum
+     */
+    public long swapDelta(final int i, final int j) {
+        if (i == j) {
+            return 0;
+        }
+
+        final int lo = Math.min(i, j);
+        final int hi = Math.max(i, j);
+        final int a = ordering[lo];
+        final int b = ordering[hi];
+        long delta = 0;
+
+        // Lines first covered by a and not covered by b are now first covered by the next test
+        // case in between, or by a at its new position.
+        for (int w = coverage.firstWord(a), end = coverage.endWord(a); w < end; w++) {
+            long word = coverage.word(a, w) & ~coverage.word(b, w);
+            while (word != 0) {
+                final int line = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                if (first[line] == lo) {
+                    delta += Math.min(second[line], hi) - lo;
+                }
+                word &= word - 1;
+            }
+        }
+
+        // Lines covered by b and not yet covered before lo are now first covered at lo.
+        for (int w = coverage.firstWord(b), end = coverage.endWord(b); w < end; w++) {
+            long word = coverage.word(b, w);
+            while (word != 0) {
+                final int line = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                if (first[line] > lo) {
+                    delta += lo - first[line];
+                }
+                word &= word - 1;
+            }
+        }
+
+        return delta;
+    }
+
+    /**
+     * Computes by how much the first-coverage sum changes when the test case at position
+     * {@code from} is removed and reinserted at position {@code to}, shifting the test cases in
+     * between by one.
+     *
+     * @param from the current position of the test case to move
+     * @param to   the position of the test case after the move
+     * @return the change of the first-coverage sum
+     */
+    public long insertDelta(final int from, final int to) {
+        if (from == to) {
+            return 0;
+        }
+
+        final int moved = ordering[from];
+        long delta;
+
+        if (from < to) {
+            // Lines first covered by the test cases in between move one position forward.
+            delta = -(firstBefore[to + 1] - firstBefore[from + 1]);
+            for (int w = coverage.firstWord(moved), end = coverage.endWord(moved); w < end; w++) {
+                long word = coverage.word(moved, w);
+                while (word != 0) {
+                    final int line = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                    if (first[line] == from) {
+                        delta += Math.min(second[line] - 1, to) - from;
+                    }
+                    word &= word - 1;
+                }
+            }
+        } else {
+            // Lines first covered by the test cases in between move one position backward,
+            // unless the moved test case covers them now.
+            delta = firstBefore[from] - firstBefore[to];
+            for (int w = coverage.firstWord(moved), end = coverage.endWord(moved); w < end; w++) {
+                long word = coverage.word(moved, w);
+                while (word != 0) {
+                    final int line = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                    final int position = first[line];
+                    if (position >= to) {
+                        delta += to - position - (position < from ? 1 : 0);
+                    }
+                    word &= word - 1;
+                }
+            }
+        }
+
+        return delta;
+    }
+
+    /**
+     * Computes by how much the first-coverage sum changes when the block of test cases between
+     * the given two positions (inclusive) is reversed. This takes time proportional to the length
+     * of the block.
+     *
+     * @param i a position
+     * @param j another position
+     * @return the change of the first-coverage sum
+     */
+    public long reverseDelta(final int i, final int j) {
+        final int lo = Math.min(i, j);
+        final int hi = Math.max(i, j);
+
+        int firstWord = coverage.words();
+        int endWord = 0;
+        for (int p = lo; p <= hi; p++) {
+            firstWord = Math.min(firstWord, coverage.firstWord(ordering[p]));
+            endWord = Math.max(endWord, coverage.endWord(ordering[p]));
+        }
+
+        // Walk through the reversed block, and move every line not covered before the block to
+        // the position of the first test case in the reversed block that covers it.
+        final long[] seen = new long[Math.max(0, endWord - firstWord)];
+        long delta = 0;
+        for (int q = lo; q <= hi; q++) {
+            final int test = ordering[lo + hi - q];
+            for (int w = coverage.firstWord(test), end = coverage.endWord(test); w < end; w++) {
+                long word = coverage.word(test, w) & ~seen[w - firstWord];
+                seen[w - firstWord] |= word;
+                while (word != 0) {
+                    final int line = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                    if (first[line] >= lo) {
+                        delta += q - first[line];
+                    }
+                    word &= word - 1;
+                }
+            }
+        }
+
+        return delta;
+    }
+}
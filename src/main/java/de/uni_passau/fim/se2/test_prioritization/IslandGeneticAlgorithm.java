@@ -0,0 +1,544 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Randomness;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An island-model genetic algorithm. The population is split into several sub-populations
+ * ("islands"), each of which is evolved by its own thread with its own source of randomness. The
+ * initial populations are generated up front by the thread that starts the search, so a fixed
+ * seed determines them. The islands do not share any state while breeding a generation. Every
+ * few generations, each island publishes copies of its best individuals into a mailbox slot, and
+ * integrates the migrants found in the slots of its neighbours (as defined by the
+ * {@link Topology}) by replacing its worst individuals. The mailboxes are an
+ * {@link AtomicReferenceArray}, so migration is lock-free and an island never waits for another
+ * one.
+ * <p>
+ * Individuals are plain {@code int[]} orderings evaluated with
+ * {@link TestCaseOrdering#getFitnessFor(int[])}, so no configuration objects are created during
+ * the search. The stopping condition is notified once per island and generation. Since stopping
+ * conditions are not required to be thread-safe, these notifications are serialized, which is
+ * the only point of synchronization between islands.
+ */
+public class IslandGeneticAlgorithm implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * Defines from which islands an island receives migrants.
+     */
+    public enum Topology {
+
+        /**
+         * Every island receives migrants from its predecessor in a unidirectional ring.
+         */
+        RING {
+            @Override
+            int[] sources(final int island, final int islands, final Random random) {
+                return islands > 1 ? new int[]{(island + islands - 1) % islands} : new int[0];
+            }
+        },
+
+        /**
+         * Every island receives migrants from one randomly chosen other island.
+         */
+        RANDOM {
+            @Override
+            int[] sources(final int island, final int islands, final Random random) {
+                if (islands < 2) {
+                    return new int[0];
+                }
+                final int source = random.nextInt(islands - 1);
+                return new int[]{source >= island ? source + 1 : source};
+            }
+        },
+
+        /**
+         * Every island receives migrants from all other islands.
+         */
+        FULLY_CONNECTED {
+            @Override
+            int[] sources(final int island, final int islands, final Random random) {
+                final int[] sources = new int[Math.max(0, islands - 1)];
+                for (int i = 0, k = 0; i < islands; i++) {
+                    if (i != island) {
+                        sources[k++] = i;
+                    }
+                }
+                return sources;
+            }
+        };
+
+        /**
+         * Returns the islands from which the given island receives migrants.
+         *
+         * @param island  the receiving island
+         * @param islands the total number of islands
+         * @param random  the source of randomness of the receiving island
+         * @return the source islands
+         */
+        abstract int[] sources(final int island, final int islands, final Random random);
+    }
+
+    /**
+     * The default number of individuals per island.
+     */
+    public static final int DEFAULT_POPULATION_SIZE = 32;
+
+    /**
+     * The default number of generations between two migrations.
+     */
+    public static final int DEFAULT_MIGRATION_INTERVAL = 10;
+
+    /**
+     * The default number of individuals an island sends per migration.
+     */
+    public static final int DEFAULT_MIGRANTS = 2;
+
+    /**
+     * The number of individuals competing in a tournament.
+     */
+    private static final int tournamentSize = 3;
+
+    /**
+     * The number of elite individuals that survive every generation on every island.
+     */
+    private static final int elites = 1;
+
+    /**
+     * The probability of recombining two parents.
+     */
+    private static final double crossoverRate = 0.8;
+
+    /**
+     * The probability of mutating an offspring.
+     */
+    private static final double mutationRate = 0.5;
+
+    /**
+     * The problem instance, used to evaluate orderings and to wrap the final solution.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * Guards all interaction with the stopping condition.
+     */
+    private final Object budgetLock = new Object();
+
+    /**
+     * The fitness of the best individual reported by any island in the current run, guarded by
+     * {@link #budgetLock}.
+     */
+    private double bestFitness;
+    private boolean hasBest;
+
+    /**
+     * The number of islands, i.e., threads.
+     */
+    private final int islands;
+
+    /**
+     * The number of individuals per island.
+     */
+    private final int populationSize;
+
+    /**
+     * The number of generations between two migrations.
+     */
+    private final int migrationInterval;
+
+    /**
+     * The number of individuals an island sends per migration.
+     */
+    private final int migrants;
+
+    /**
+     * The migration topology.
+     */
+    private final Topology topology;
+
+    /**
+     * Generator for the initial populations.
+     */
+    private final ConfigurationGenerator<TestCaseOrdering> initializer;
+
+    /**
+     * The crossover operator.
+     */
+    private final PermutationCrossover crossover;
+
+    /**
+     * The mutation operator.
+     */
+    private final PermutationMutation mutation;
+
+    /**
+     * Instantiates a new island-model genetic algorithm with one island per available processor,
+     * a ring topology, order crossover and swap mutation, whose initial populations are uniformly
+     * random.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public IslandGeneticAlgorithm(
+            final TestCaseOrdering problem,
+            final StoppingCondition stoppingCondition)
+            throws NullPointerException {
+        this(problem, problem, stoppingCondition);
+    }
+
+    /**
+     * Instantiates a new island-model genetic algorithm with one island per available processor,
+     * a ring topology, order crossover and swap mutation.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param initializer       generator for the initial populations, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public IslandGeneticAlgorithm(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> initializer,
+            final StoppingCondition stoppingCondition)
+            throws NullPointerException {
+        this(problem, initializer, stoppingCondition, Runtime.getRuntime().availableProcessors(),
+                DEFAULT_POPULATION_SIZE, DEFAULT_MIGRATION_INTERVAL, DEFAULT_MIGRANTS,
+                Topology.RING, PermutationCrossover.OX, PermutationMutation.SWAP);
+    }
+
+    /**
+     * Instantiates a new island-model genetic algorithm.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param initializer       generator for the initial populations, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param islands           the number of islands (threads), positive
+     * @param populationSize    the number of individuals per island, greater than one
+     * @param migrationInterval the number of generations between two migrations, positive
+     * @param migrants          the number of individuals sent per migration, in
+     *                          [0, populationSize)
+     * @param topology          the migration topology, not {@code null}
+     * @param crossover         the crossover operator, not {@code null}
+     * @param mutation          the mutation operator, not {@code null}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if a numeric parameter is out of range
+     */
+    public IslandGeneticAlgorithm(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> initializer,
+            final StoppingCondition stoppingCondition,
+            final int islands,
+            final int populationSize,
+            final int migrationInterval,
+            final int migrants,
+            final Topology topology,
+            final PermutationCrossover crossover,
+            final PermutationMutation mutation)
+            throws NullPointerException, IllegalArgumentException {
+        if (islands <= 0) {
+            throw new IllegalArgumentException("Number of islands must be positive: " + islands);
+        }
+        if (populationSize <= elites) {
+            throw new IllegalArgumentException("Population too small: " + populationSize);
+        }
+        if (migrationInterval <= 0) {
+            throw new IllegalArgumentException("Invalid migration interval: " + migrationInterval);
+        }
+        if (migrants < 0 || migrants >= populationSize) {
+            throw new IllegalArgumentException("Invalid number of migrants: " + migrants);
+        }
+
+        this.problem = requireNonNull(problem);
+        this.initializer = requireNonNull(initializer);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.islands = islands;
+        this.populationSize = populationSize;
+        this.migrationInterval = migrationInterval;
+        this.migrants = migrants;
+        this.topology = requireNonNull(topology);
+        this.crossover = requireNonNull(crossover);
+        this.mutation = requireNonNull(mutation);
+    }
+
+    /**
+     * Evolves all islands concurrently until the search budget is exhausted, and returns the best
+     * ordering found on any island.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+        initializer.reset();
+        hasBest = false;
+
+        // The initial populations and the seeds of the islands' RNGs are drawn on this thread, in
+        // island order, so that a fixed seed determines them regardless of thread timing. Only the
+        // evaluation of the initial populations is left to the islands.
+        final Random random = Randomness.random();
+        final AtomicReferenceArray<Migrants> mailboxes = new AtomicReferenceArray<>(islands);
+        final List<Callable<Island>> tasks = new ArrayList<>(islands);
+        for (int i = 0; i < islands; i++) {
+            final int[][] population = new int[populationSize][];
+            for (int j = 0; j < populationSize; j++) {
+                population[j] = initializer.get().toArray();
+            }
+            final Island island =
+                    new Island(i, new Random(random.nextLong()), mailboxes, population);
+            tasks.add(() -> {
+                island.evolve();
+                return island;
+            });
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(islands);
+        try {
+            int[] best = null;
+            double bestFitness = 0;
+            for (final Future<Island> future : executor.invokeAll(tasks)) {
+                final Island island = future.get();
+                if (best == null || isBetter(island.fitness[0], bestFitness)) {
+                    best = island.population[0];
+                    bestFitness = island.fitness[0];
+                }
+            }
+            return problem.withOrdering(best);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for islands", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Island failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Notifies the stopping condition about the given number of fitness evaluations and, if the
+     * given individual is better than those of all islands so far, about the improvement. Tells
+     * whether the search can continue.
+     *
+     * @param evaluations the number of evaluations
+     * @param best        the best individual of the calling island
+     * @param fitness     the fitness of the individual
+     * @return {@code true} if the search can continue, {@code false} otherwise
+     */
+    private boolean consumeBudget(final int evaluations, final int[] best, final double fitness) {
+        synchronized (budgetLock) {
+            stoppingCondition.notifyFitnessEvaluations(evaluations);
+            if (!hasBest || isBetter(fitness, bestFitness)) {
+                hasBest = true;
+                bestFitness = fitness;
+                stoppingCondition.notifyImprovement(problem.withOrdering(best));
+            }
+            return stoppingCondition.searchCanContinue();
+        }
+    }
+
+    /**
+     * Tells whether the first fitness value is strictly better than the second one.
+     *
+     * @param f1 a fitness value
+     * @param f2 another fitness value
+     * @return {@code true} if {@code f1} is better than {@code f2}
+     */
+    private boolean isBetter(final double f1, final double f2) {
+        return problem.isMinimizing() ? f1 < f2 : f1 > f2;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+
+    /**
+     * An immutable batch of migrants published by an island.
+     *
+     * @param epoch     the generation of the sending island at the time of publishing
+     * @param orderings the migrating orderings, never modified after publishing
+     * @param fitness   the fitness of the migrating orderings
+     */
+    private record Migrants(long epoch, int[][] orderings, double[] fitness) {
+    }
+
+    /**
+     * A sub-population evolved by a single thread. The population is always kept sorted such that
+     * the fittest individual comes first.
+     */
+    private final class Island {
+
+        private final int index;
+
+        private final Random random;
+
+        private final AtomicReferenceArray<Migrants> mailboxes;
+
+        /**
+         * The generation of the latest migrants received from every island.
+         */
+        private final long[] lastReceived;
+
+        private int[][] population;
+
+        private double[] fitness;
+
+        private Island(
+                final int index,
+                final Random random,
+                final AtomicReferenceArray<Migrants> mailboxes,
+                final int[][] population) {
+            this.index = index;
+            this.random = random;
+            this.mailboxes = mailboxes;
+            this.population = population;
+            this.lastReceived = new long[islands];
+            Arrays.fill(lastReceived, -1);
+        }
+
+        /**
+         * Evolves this island until the search budget is exhausted.
+         */
+        private void evolve() {
+            fitness = new double[populationSize];
+            for (int i = 0; i < populationSize; i++) {
+                fitness[i] = problem.getFitnessFor(population[i]);
+            }
+            sortFittestFirst();
+
+            long generation = 0;
+            boolean canContinue = consumeBudget(populationSize, population[0], fitness[0]);
+            while (canContinue) {
+                breed();
+                canContinue = consumeBudget(populationSize - elites, population[0], fitness[0]);
+
+                generation++;
+                if (canContinue && migrants > 0 && generation % migrationInterval == 0) {
+                    migrate(generation);
+                }
+            }
+        }
+
+        /**
+         * Replaces all but the elite individuals with offspring.
+         */
+        private void breed() {
+            final int[][] next = new int[populationSize][];
+            final double[] nextFitness = new double[populationSize];
+            System.arraycopy(population, 0, next, 0, elites);
+            System.arraycopy(fitness, 0, nextFitness, 0, elites);
+
+            for (int i = elites; i < populationSize; i++) {
+                final int[] parent1 = population[tournament()];
+                int[] child;
+                if (random.nextDouble() < crossoverRate) {
+                    child = crossover.crossover(parent1, population[tournament()], random);
+                } else {
+                    child = parent1.clone();
+                }
+
+                if (random.nextDouble() < mutationRate) {
+                    mutation.mutate(child, random);
+                }
+
+                next[i] = child;
+                nextFitness[i] = problem.getFitnessFor(child);
+            }
+
+            population = next;
+            fitness = nextFitness;
+            sortFittestFirst();
+        }
+
+        /**
+         * Selects an individual by tournament selection and returns its index.
+         *
+         * @return the index of the winner
+         */
+        private int tournament() {
+            // The population is sorted, so the smallest index wins.
+            int winner = random.nextInt(populationSize);
+            for (int i = 1; i < tournamentSize; i++) {
+                winner = Math.min(winner, random.nextInt(populationSize));
+            }
+            return winner;
+        }
+
+        /**
+         * Publishes this island's best individuals and integrates the migrants of its sources.
+         *
+         * @param generation the current generation
+         */
+        private void migrate(final long generation) {
+            final int[][] outgoing = new int[migrants][];
+            for (int i = 0; i < migrants; i++) {
+                outgoing[i] = population[i].clone();
+            }
+            mailboxes.set(index, new Migrants(generation, outgoing,
+                    Arrays.copyOf(fitness, migrants)));
+
+            int replaced = 0;
+            for (final int source : topology.sources(index, islands, random)) {
+                final Migrants incoming = mailboxes.get(source);
+                if (incoming == null || incoming.epoch() <= lastReceived[source]) {
+                    continue;
+                }
+                lastReceived[source] = incoming.epoch();
+
+                for (int i = 0; i < incoming.orderings().length; i++) {
+                    final int worst = populationSize - 1 - replaced;
+                    if (worst < elites || !isBetter(incoming.fitness()[i], fitness[worst])) {
+                        break;
+                    }
+                    population[worst] = incoming.orderings()[i].clone();
+                    fitness[worst] = incoming.fitness()[i];
+                    replaced++;
+                }
+            }
+
+            if (replaced > 0) {
+                sortFittestFirst();
+            }
+        }
+
+        /**
+         * Sorts the population such that the fittest individual comes first (insertion sort, as
+         * populations are small and mostly sorted already).
+         */
+        private void sortFittestFirst() {
+            for (int i = 1; i < populationSize; i++) {
+                final int[] individual = population[i];
+                final double f = fitness[i];
+                int j = i - 1;
+                while (j >= 0 && isBetter(f, fitness[j])) {
+                    population[j + 1] = population[j];
+                    fitness[j + 1] = fitness[j];
+                    j--;
+                }
+                population[j + 1] = individual;
+                fitness[j + 1] = f;
+            }
+        }
+    }
+}
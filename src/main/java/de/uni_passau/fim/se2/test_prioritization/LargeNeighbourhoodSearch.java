@@ -0,0 +1,479 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Large neighbourhood search for test case orderings. Every step destroys part of the current
+ * ordering, either a contiguous block or a random subset of test cases, and repairs it with the
+ * additional greedy heuristic: starting at the first removed position, it repeatedly places the
+ * test case that adds the most coverage, choosing among the removed test cases and the next
+ * remaining one of the current ordering. The remaining test cases thus keep their relative order,
+ * and the removed ones are reinserted where they pay off most. Whether the repaired ordering
+ * replaces the current one is decided as in {@link SimulatedAnnealing}, with a temperature that
+ * is calibrated on the first steps and cools down with the progress of the search.
+ * <p>
+ * The repair is incremental against the prefix that the destroy step leaves untouched. The sets
+ * of covered lines are checkpointed every {@code sqrt(n)} positions of the current ordering,
+ * where {@code n} is the number of test cases, so the coverage of the prefix is restored from the
+ * nearest checkpoint in at most {@code sqrt(n)} steps. The repair stops as soon as all coverable
+ * lines are covered, because the order of the rest does not affect the APLC value. For the same
+ * reason, destroy steps always remove at least one test case from before the position at which
+ * the current ordering reaches full coverage. As removed test cases can only lose additional
+ * coverage as more test cases are placed, their gains from earlier steps are upper bounds, and
+ * only those that might beat the current candidate are recomputed.
+ * <p>
+ * As in {@link HillClimbing}, the stopping condition is charged one fitness evaluation for every
+ * {@code n} test cases whose coverage is scanned, which is what a full evaluation of an ordering
+ * costs at most.
+ */
+public final class LargeNeighbourhoodSearch implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The default maximum number of test cases removed in a destroy step.
+     */
+    public static final int DEFAULT_MAX_DESTROY = 32;
+
+    /**
+     * Number of steps used to calibrate the initial temperature.
+     */
+    private static final int calibrationSamples = 20;
+
+    /**
+     * The probability with which an average worsening step is accepted at the initial
+     * temperature.
+     */
+    private static final double initialAcceptance = 0.8;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The problem instance, from which the solution is derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * Generator for the initial ordering.
+     */
+    private final ConfigurationGenerator<TestCaseOrdering> initializer;
+
+    /**
+     * The cooling schedule, driven by the progress of the stopping condition.
+     */
+    private final CoolingSchedule coolingSchedule;
+
+    /**
+     * The bit-packed coverage matrix of the problem.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * The number of test cases.
+     */
+    private final int n;
+
+    /**
+     * The maximum number of test cases removed in a destroy step.
+     */
+    private final int maxDestroy;
+
+    /**
+     * The distance between two checkpoints.
+     */
+    private final int stride;
+
+    /**
+     * The current ordering, and the repaired ordering of the current step.
+     */
+    private int[] current;
+    private int[] candidate;
+
+    /**
+     * The sum of first-coverage positions of the current ordering.
+     */
+    private long currentSum;
+
+    /**
+     * For every position {@code i} of the current ordering up to {@link #saturation}, the part of
+     * the first-coverage sum contributed by the positions before {@code i}, and the number of
+     * coverable lines not covered by them.
+     */
+    private long[] prefixSums;
+    private int[] uncovered;
+
+    /**
+     * For every multiple {@code c * stride} up to {@link #saturation}, the lines covered by the
+     * test cases before that position of the current ordering.
+     */
+    private long[][] checkpoints;
+
+    /**
+     * The first position of the current ordering at which all coverable lines are covered.
+     */
+    private int saturation;
+
+    /**
+     * Per test case, an upper bound of its additional coverage during a repair.
+     */
+    private int[] bounds;
+
+    /**
+     * Per position of the current ordering, whether it was removed by the destroy step.
+     */
+    private boolean[] removed;
+
+    /**
+     * The number of scanned test cases not yet charged to the stopping condition.
+     */
+    private long unchargedScans;
+
+    /**
+     * Instantiates a new large neighbourhood search with geometric cooling.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param initializer       generator for the initial ordering, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public LargeNeighbourhoodSearch(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> initializer,
+            final StoppingCondition stoppingCondition)
+            throws NullPointerException {
+        this(problem, initializer, stoppingCondition,
+                CoolingSchedule.geometric(CoolingSchedule.DEFAULT_FINAL_RATIO),
+                DEFAULT_MAX_DESTROY);
+    }
+
+    /**
+     * Instantiates a new large neighbourhood search.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param initializer       generator for the initial ordering, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param coolingSchedule   the cooling schedule to use, not {@code null}
+     * @param maxDestroy        the maximum number of test cases removed in a destroy step, at
+     *                          least 2
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if the maximum number of removed test cases is below 2
+     */
+    public LargeNeighbourhoodSearch(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> initializer,
+            final StoppingCondition stoppingCondition,
+            final CoolingSchedule coolingSchedule,
+            final int maxDestroy)
+            throws NullPointerException, IllegalArgumentException {
+        if (maxDestroy < 2) {
+            throw new IllegalArgumentException("Must remove at least 2 test cases: "
+                    + maxDestroy);
+        }
+
+        this.problem = requireNonNull(problem);
+        this.initializer = requireNonNull(initializer);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.coolingSchedule = requireNonNull(coolingSchedule);
+        this.coverage = PackedCoverage.of(problem.coverageMatrix);
+        this.n = coverage.tests();
+        this.maxDestroy = maxDestroy;
+        this.stride = Math.max(1, (int) Math.sqrt(n));
+    }
+
+    /**
+     * Destroys and repairs the current ordering until the search budget is exhausted, and
+     * returns the best ordering encountered.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+        initializer.reset();
+        coolingSchedule.reset();
+        unchargedScans = 0;
+
+        final Random random = Randomness.random();
+        current = initializer.get().toArray();
+        candidate = new int[n];
+        prefixSums = new long[n + 1];
+        uncovered = new int[n + 1];
+        checkpoints = new long[n / stride + 1][];
+        bounds = new int[n];
+        removed = new boolean[n];
+        uncovered[0] = coverage.coverableLines();
+        checkpoints[0] = coverage.emptySet();
+        rebuild(0);
+        notifyFitnessEvaluation();
+
+        int[] best = current.clone();
+        long bestSum = currentSum;
+        notifyImprovement(problem.withOrdering(best));
+
+        final double[] sampledGains = new double[calibrationSamples];
+        int samples = 0;
+        double initialTemperature = Double.NaN;
+        while (searchCanContinue() && saturation > 0 && n > 1) {
+            final int from = destroy(random);
+            final long gain = currentSum - repair(from);
+
+            final boolean accept;
+            if (samples < calibrationSamples) {
+                // Only descend until the temperature is calibrated.
+                sampledGains[samples++] = gain;
+                accept = gain >= 0;
+                if (samples == calibrationSamples) {
+                    initialTemperature = calibrateTemperature(sampledGains);
+                }
+            } else {
+                final double temperature =
+                        initialTemperature * coolingSchedule.relativeTemperature(getProgress());
+                accept = gain >= 0 || random.nextDouble() < Math.exp(gain / temperature);
+            }
+
+            if (accept) {
+                final int[] previous = current;
+                current = candidate;
+                candidate = previous;
+                rebuild(from);
+            }
+            Arrays.fill(removed, from, n, false);
+
+            final boolean improved = currentSum < bestSum;
+            if (improved) {
+                best = current.clone();
+                bestSum = currentSum;
+                notifyImprovement(problem.withOrdering(best));
+            }
+            coolingSchedule.notifyStep(improved, getProgress());
+        }
+
+        return problem.withOrdering(best);
+    }
+
+    /**
+     * Marks the positions of a contiguous block or of a random subset of test cases of the
+     * current ordering as removed, such that at least one of them comes before full coverage.
+     *
+     * @param random the source of randomness
+     * @return the first removed position
+     */
+    private int destroy(final Random random) {
+        final int size = 2 + random.nextInt(Math.min(maxDestroy, n) - 1);
+        final int from = random.nextInt(Math.min(saturation, n - size + 1));
+        if (random.nextBoolean()) {
+            Arrays.fill(removed, from, from + size, true);
+        } else {
+            removed[from] = true;
+            for (int count = 1; count < size; ) {
+                final int position = from + random.nextInt(n - from);
+                if (!removed[position]) {
+                    removed[position] = true;
+                    count++;
+                }
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Repairs the current ordering from the given position on, with the removed test cases
+     * reinserted greedily, and stores the result in the candidate.
+     *
+     * @param from the first removed position
+     * @return the sum of first-coverage positions of the candidate
+     */
+    private long repair(final int from) {
+        final long[] covered = prefixCoverage(from);
+        long sum = prefixSums[from];
+        int remaining = uncovered[from];
+        System.arraycopy(current, 0, candidate, 0, from);
+
+        final int[] pending = new int[n - from];
+        int pendingCount = 0;
+        for (int position = from; position < n; position++) {
+            if (removed[position]) {
+                pending[pendingCount++] = current[position];
+                bounds[current[position]] = Integer.MAX_VALUE;
+            }
+        }
+
+        int next = from;
+        int position = from;
+        long scans = 0;
+        while (remaining > 0 && position < n) {
+            while (next < n && removed[next]) {
+                next++;
+            }
+
+            int picked = -1;
+            if (pendingCount == 0) {
+                // Only the rest of the current ordering is left, so there is nothing to choose.
+                candidate[position] = current[next++];
+            } else {
+                int bestGain = -1;
+                if (next < n) {
+                    bestGain = coverage.countNew(current[next], covered);
+                    scans++;
+                }
+                for (int i = 0; i < pendingCount; i++) {
+                    final int test = pending[i];
+                    if (bounds[test] > bestGain) {
+                        bounds[test] = coverage.countNew(test, covered);
+                        scans++;
+                        if (bounds[test] > bestGain) {
+                            bestGain = bounds[test];
+                            picked = i;
+                        }
+                    }
+                }
+                if (picked < 0) {
+                    candidate[position] = current[next++];
+                } else {
+                    candidate[position] = pending[picked];
+                    pending[picked] = pending[--pendingCount];
+                }
+            }
+
+            final int added = coverage.cover(candidate[position], covered);
+            scans++;
+            sum += (long) added * (position + 1);
+            remaining -= added;
+            position++;
+        }
+
+        // Full coverage is reached, so the order of the rest does not matter.
+        for (; next < n; next++) {
+            if (!removed[next]) {
+                candidate[position++] = current[next];
+            }
+        }
+        System.arraycopy(pending, 0, candidate, position, pendingCount);
+
+        charge(scans);
+        return sum;
+    }
+
+    /**
+     * Recomputes the prefix sums and checkpoints of the current ordering from the given position
+     * on, up to the position at which it reaches full coverage.
+     *
+     * @param from the first position whose test case has changed
+     */
+    private void rebuild(final int from) {
+        final long[] covered = prefixCoverage(from);
+        long sum = prefixSums[from];
+        int remaining = uncovered[from];
+        long scans = 0;
+
+        int position = from;
+        for (; position < n && remaining > 0; position++) {
+            if (position % stride == 0 && position > from) {
+                checkpoint(position, covered);
+            }
+            prefixSums[position] = sum;
+            uncovered[position] = remaining;
+            final int added = coverage.cover(current[position], covered);
+            scans++;
+            sum += (long) added * (position + 1);
+            remaining -= added;
+        }
+        prefixSums[position] = sum;
+        uncovered[position] = remaining;
+        if (position % stride == 0 && position > from) {
+            checkpoint(position, covered);
+        }
+
+        saturation = position;
+        currentSum = sum;
+        charge(scans);
+    }
+
+    /**
+     * Stores the given set of covered lines as the checkpoint at the given position, reusing the
+     * previous checkpoint there if any.
+     *
+     * @param position the position, a multiple of the stride
+     * @param covered  the lines covered by the test cases before the position
+     */
+    private void checkpoint(final int position, final long[] covered) {
+        final int index = position / stride;
+        if (checkpoints[index] == null) {
+            checkpoints[index] = covered.clone();
+        } else {
+            System.arraycopy(covered, 0, checkpoints[index], 0, covered.length);
+        }
+    }
+
+    /**
+     * Returns the lines covered by the test cases before the given position of the current
+     * ordering, restored from the nearest checkpoint.
+     *
+     * @param position the position, at most {@link #saturation}
+     * @return a fresh set of covered lines
+     */
+    private long[] prefixCoverage(final int position) {
+        final int checkpoint = position / stride;
+        final long[] covered = checkpoints[checkpoint].clone();
+        for (int i = checkpoint * stride; i < position; i++) {
+            coverage.cover(current[i], covered);
+        }
+        charge(position - checkpoint * stride);
+        return covered;
+    }
+
+    /**
+     * Computes an initial temperature from the given sample of step gains, such that an average
+     * worsening step is accepted with probability {@code initialAcceptance}. If none of the sampled
+     * steps was worsening, a tiny temperature is returned, which makes the search accept
+     * improving and neutral steps only.
+     *
+     * @param gains the sampled gains
+     * @return the initial temperature
+     */
+    private static double calibrateTemperature(final double[] gains) {
+        double sum = 0;
+        int worsening = 0;
+        for (final double gain : gains) {
+            if (gain < 0) {
+                sum -= gain;
+                worsening++;
+            }
+        }
+
+        if (worsening == 0) {
+            return Double.MIN_NORMAL;
+        }
+
+        return -(sum / worsening) / Math.log(initialAcceptance);
+    }
+
+    /**
+     * Charges the given number of scanned test cases to the stopping condition, at the rate of
+     * one fitness evaluation per {@code n} test cases.
+     *
+     * @param scans the number of scanned test cases
+     */
+    private void charge(final long scans) {
+        final int tests = Math.max(1, n);
+        unchargedScans += scans;
+        getStoppingCondition().notifyFitnessEvaluations((int) (unchargedScans / tests));
+        unchargedScans %= tests;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
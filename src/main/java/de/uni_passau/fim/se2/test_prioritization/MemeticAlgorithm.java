@@ -0,0 +1,369 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A memetic algorithm: a generational genetic algorithm whose elite individuals are refined by a
+ * short first-improvement local search in every generation. The genetic operators explore the
+ * space of orderings, while the local search quickly climbs to the nearest local optimum around
+ * the most promising ones.
+ * <p>
+ * The local search samples random moves of the configured neighbourhood, evaluates them with
+ * {@link IncrementalAPLC}, and applies the first one that improves the ordering. Its depth, i.e.,
+ * the number of moves it evaluates per elite individual, grows linearly with the consumed
+ * budget as reported by {@link StoppingCondition#getProgress()}: early on, the search relies on
+ * recombination to explore, and towards the end it spends most of its budget on intensification.
+ * The elites are refined in parallel on a fork-join pool, each with its own evaluator and its own
+ * source of randomness seeded from the global one. Offspring are bred sequentially but evaluated
+ * in parallel, as in the {@link de.uni_passau.fim.se2.metaheuristics.algorithms.GeneticAlgorithm
+ * genetic algorithm}.
+ * <p>
+ * As in {@link HillClimbing}, the stopping condition is charged one fitness evaluation for every
+ * {@code n} evaluated moves, where {@code n} is the number of test cases.
+ */
+public final class MemeticAlgorithm implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The default number of individuals in the population.
+     */
+    public static final int DEFAULT_POPULATION_SIZE = 50;
+
+    /**
+     * The default number of elite individuals that survive every generation and are refined by
+     * local search.
+     */
+    public static final int DEFAULT_ELITES = 4;
+
+    /**
+     * The default maximum depth of the local search, in multiples of the number of test cases.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 16;
+
+    /**
+     * The number of individuals competing in a tournament.
+     */
+    private static final int tournamentSize = 3;
+
+    /**
+     * The probability of recombining two parents.
+     */
+    private static final double crossoverRate = 0.8;
+
+    /**
+     * The probability of mutating an offspring.
+     */
+    private static final double mutationRate = 0.5;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The problem instance, from which the solution is derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * Generator for the orderings of the initial population.
+     */
+    private final ConfigurationGenerator<TestCaseOrdering> initializer;
+
+    /**
+     * The bit-packed coverage matrix of the problem.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * The number of individuals in the population.
+     */
+    private final int populationSize;
+
+    /**
+     * The number of elite individuals.
+     */
+    private final int elites;
+
+    /**
+     * The maximum depth of the local search, in multiples of the number of test cases.
+     */
+    private final int maxDepth;
+
+    /**
+     * The crossover operator.
+     */
+    private final PermutationCrossover crossover;
+
+    /**
+     * The mutation operator.
+     */
+    private final PermutationMutation mutation;
+
+    /**
+     * The kind of moves the local search applies.
+     */
+    private final PermutationMutation neighbourhood;
+
+    /**
+     * The pool on which offspring are evaluated and elites are refined.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The current population, sorted such that the fittest ordering comes first, and the
+     * first-coverage sums of its orderings.
+     */
+    private int[][] population;
+    private long[] sums;
+
+    /**
+     * The number of evaluated moves not yet charged to the stopping condition.
+     */
+    private long unchargedMoves;
+
+    /**
+     * Instantiates a new memetic algorithm with default parameters, order crossover, swap
+     * mutation and insert moves, running on the common fork-join pool.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param initializer       generator for the initial population, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public MemeticAlgorithm(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> initializer,
+            final StoppingCondition stoppingCondition)
+            throws NullPointerException {
+        this(problem, initializer, stoppingCondition, DEFAULT_POPULATION_SIZE, DEFAULT_ELITES,
+                DEFAULT_MAX_DEPTH, PermutationCrossover.OX, PermutationMutation.SWAP,
+                PermutationMutation.INSERT, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new memetic algorithm.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param initializer       generator for the initial population, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param populationSize    the number of individuals in the population, positive
+     * @param elites            the number of elite individuals, in [1, populationSize)
+     * @param maxDepth          the maximum depth of the local search, in multiples of the number
+     *                          of test cases, positive
+     * @param crossover         the crossover operator, not {@code null}
+     * @param mutation          the mutation operator, not {@code null}
+     * @param neighbourhood     the kind of moves the local search applies, not {@code null}
+     * @param pool              the pool on which to evaluate and refine, not {@code null}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if a numeric parameter is out of range
+     */
+    public MemeticAlgorithm(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> initializer,
+            final StoppingCondition stoppingCondition,
+            final int populationSize,
+            final int elites,
+            final int maxDepth,
+            final PermutationCrossover crossover,
+            final PermutationMutation mutation,
+            final PermutationMutation neighbourhood,
+            final ForkJoinPool pool)
+            throws NullPointerException, IllegalArgumentException {
+        if (populationSize <= 0) {
+            throw new IllegalArgumentException("Population size must be positive: "
+                    + populationSize);
+        }
+        if (elites < 1 || elites >= populationSize) {
+            throw new IllegalArgumentException("Invalid number of elites: " + elites);
+        }
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Maximum depth must be positive: " + maxDepth);
+        }
+
+        this.problem = requireNonNull(problem);
+        this.initializer = requireNonNull(initializer);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.coverage = PackedCoverage.of(problem.coverageMatrix);
+        this.populationSize = populationSize;
+        this.elites = elites;
+        this.maxDepth = maxDepth;
+        this.crossover = requireNonNull(crossover);
+        this.mutation = requireNonNull(mutation);
+        this.neighbourhood = requireNonNull(neighbourhood);
+        this.pool = requireNonNull(pool);
+    }
+
+    /**
+     * Evolves and refines the population until the search budget is exhausted, and returns the
+     * best ordering encountered.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+        initializer.reset();
+        unchargedMoves = 0;
+
+        final Random random = Randomness.random();
+        population = new int[populationSize][];
+        sums = new long[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            population[i] = initializer.get().toArray();
+        }
+        evaluate(0, random);
+
+        long bestSum = sums[0];
+        notifyImprovement(problem.withOrdering(population[0]));
+
+        while (searchCanContinue()) {
+            final int[][] next = new int[populationSize][];
+            System.arraycopy(population, 0, next, 0, elites);
+            for (int i = elites; i < populationSize; i++) {
+                final int[] parent = population[tournament(random)];
+                final int[] child = random.nextDouble() < crossoverRate
+                        ? crossover.crossover(parent, population[tournament(random)], random)
+                        : parent.clone();
+                if (random.nextDouble() < mutationRate) {
+                    mutation.mutate(child, random);
+                }
+                next[i] = child;
+            }
+            population = next;
+            evaluate(elites, random);
+
+            if (sums[0] < bestSum) {
+                bestSum = sums[0];
+                notifyImprovement(problem.withOrdering(population[0]));
+            }
+        }
+
+        return problem.withOrdering(population[0]);
+    }
+
+    /**
+     * Computes the first-coverage sums of the orderings from the given index on in parallel,
+     * refines the elites by local search in parallel, and sorts the population.
+     *
+     * @param from   the index of the first ordering to evaluate
+     * @param random the source of randomness
+     */
+    private void evaluate(final int from, final Random random) {
+        pool.submit(() -> IntStream.range(from, populationSize).parallel().forEach(i ->
+                sums[i] = coverage.firstCoverageSum(population[i]))).join();
+        getStoppingCondition().notifyFitnessEvaluations(populationSize - from);
+        sort();
+
+        if (searchMustStop()) {
+            return;
+        }
+
+        final int n = coverage.tests();
+        final int depth = (int) Math.max(n, Math.round(maxDepth * n * getProgress()));
+        final long[] seeds = new long[elites];
+        for (int e = 0; e < elites; e++) {
+            seeds[e] = random.nextLong();
+        }
+        pool.submit(() -> IntStream.range(0, elites).parallel().forEach(e ->
+                refine(e, depth, new Random(seeds[e])))).join();
+        charge((long) elites * depth);
+        sort();
+    }
+
+    /**
+     * Applies first-improvement local search to the given member of the population.
+     *
+     * @param member the index of the member
+     * @param depth  the number of moves to evaluate
+     * @param random the source of randomness
+     */
+    private void refine(final int member, final int depth, final Random random) {
+        final int n = coverage.tests();
+        if (n < 2) {
+            return;
+        }
+
+        final IncrementalAPLC current = new IncrementalAPLC(coverage);
+        current.reset(population[member]);
+        boolean improved = false;
+        for (int move = 0; move < depth; move++) {
+            final int from = random.nextInt(n);
+            int to = random.nextInt(n - 1);
+            if (to >= from) {
+                to++;
+            }
+            if (current.delta(neighbourhood, from, to) < 0) {
+                current.apply(neighbourhood, from, to);
+                improved = true;
+            }
+        }
+
+        if (improved) {
+            population[member] = current.ordering();
+            sums[member] = current.sum();
+        }
+    }
+
+    /**
+     * Selects an individual by tournament selection and returns its index.
+     *
+     * @param random the source of randomness
+     * @return the index of the winner
+     */
+    private int tournament(final Random random) {
+        // The population is sorted, so the smallest index wins.
+        int winner = random.nextInt(populationSize);
+        for (int i = 1; i < tournamentSize; i++) {
+            winner = Math.min(winner, random.nextInt(populationSize));
+        }
+        return winner;
+    }
+
+    /**
+     * Sorts the population such that the fittest ordering comes first (insertion sort, as the
+     * population is small and partially sorted already).
+     */
+    private void sort() {
+        for (int i = 1; i < populationSize; i++) {
+            final int[] ordering = population[i];
+            final long sum = sums[i];
+            int j = i - 1;
+            while (j >= 0 && sum < sums[j]) {
+                population[j + 1] = population[j];
+                sums[j + 1] = sums[j];
+                j--;
+            }
+            population[j + 1] = ordering;
+            sums[j + 1] = sum;
+        }
+    }
+
+    /**
+     * Charges the given number of evaluated moves to the stopping condition, at the rate of one
+     * fitness evaluation per {@code n} moves.
+     *
+     * @param moves the number of evaluated moves
+     */
+    private void charge(final long moves) {
+        final int n = Math.max(1, coverage.tests());
+        unchargedMoves += moves;
+        getStoppingCondition().notifyFitnessEvaluations((int) (unchargedMoves / n));
+        unchargedMoves %= n;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
@@ -0,0 +1,176 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * MinHash signatures of the rows of a coverage matrix, which estimate the Jaccard similarity of
+ * the sets of lines covered by two test cases as the share of positions at which their signatures
+ * agree.
+ * <p>
+ * The signatures are computed by one-permutation hashing: every covered line is hashed once, the
+ * hash selects one of the {@code k} positions of the signature, and every position keeps the
+ * smallest hash it receives. Positions that receive no hash borrow the value of the next non-empty
+ * position to their right (wrapping around), combined with the distance to it, so that signatures
+ * of similar rows still agree at such positions. This costs one hash per covered line instead of
+ * {@code k}, and the rows are hashed in parallel, so that signatures of matrices with hundreds of
+ * thousands of test cases are computed in seconds.
+ * <p>
+ * Signatures of test cases that cover nothing consist of zeros. Instances are immutable and can be
+ * shared between threads.
+ */
+public final class MinHashSignatures {
+
+    /**
+     * The default length of a signature.
+     */
+    public static final int DEFAULT_LENGTH = 64;
+
+    /**
+     * The seed of the hash function. It is fixed, so the signatures of a matrix never change.
+     */
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    /**
+     * The number of test cases.
+     */
+    private final int tests;
+
+    /**
+     * The length of a signature.
+     */
+    private final int length;
+
+    /**
+     * The signatures, stored back to back.
+     */
+    private final int[] values;
+
+    private MinHashSignatures(final PackedCoverage coverage, final int length) {
+        this.tests = coverage.tests();
+        this.length = length;
+        this.values = new int[tests * length];
+        IntStream.range(0, tests).parallel().forEach(test -> sign(coverage, test));
+    }
+
+    /**
+     * Computes the signatures of the rows of the given coverage matrix.
+     *
+     * @param coverage the coverage matrix, not {@code null}
+     * @param length   the length of a signature, positive
+     * @return the signatures
+     * @throws NullPointerException     if the coverage matrix is {@code null}
+     * @throws IllegalArgumentException if the length is not positive
+     */
+    public static MinHashSignatures of(final PackedCoverage coverage, final int length)
+            throws NullPointerException, IllegalArgumentException {
+        requireNonNull(coverage);
+        if (length <= 0) {
+            throw new IllegalArgumentException("Signature length must be positive: " + length);
+        }
+        return new MinHashSignatures(coverage, length);
+    }
+
+    /**
+     * Returns the number of test cases.
+     *
+     * @return the number of test cases
+     */
+    public int tests() {
+        return tests;
+    }
+
+    /**
+     * Returns the length of a signature.
+     *
+     * @return the length of a signature
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the value at the given position of the signature of the given test case.
+     *
+     * @param test     the test case
+     * @param position the position in the signature
+     * @return the value
+     */
+    public int value(final int test, final int position) {
+        return values[test * length + position];
+    }
+
+    /**
+     * Estimates the Jaccard similarity of the sets of lines covered by the given test cases.
+     *
+     * @param a the first test case
+     * @param b the second test case
+     * @return the estimated similarity, in [0, 1]
+     */
+    public double similarity(final int a, final int b) {
+        final int offsetA = a * length;
+        final int offsetB = b * length;
+        int equal = 0;
+        for (int i = 0; i < length; i++) {
+            if (values[offsetA + i] == values[offsetB + i]) {
+                equal++;
+            }
+        }
+        return equal / (double) length;
+    }
+
+    /**
+     * Computes the signature of the given test case.
+     *
+     * @param coverage the coverage matrix
+     * @param test     the test case
+     */
+    private void sign(final PackedCoverage coverage, final int test) {
+        final int offset = test * length;
+        final long[] minima = new long[length];
+        Arrays.fill(minima, Long.MAX_VALUE);
+        boolean empty = true;
+        for (int w = coverage.firstWord(test), end = coverage.endWord(test); w < end; w++) {
+            for (long word = coverage.word(test, w); word != 0; word &= word - 1) {
+                final long line = (long) w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                final long hash = mix(line ^ SEED);
+                final int position = (int) (((hash >>> 32) * length) >>> 32);
+                final long value = hash & 0xFFFF_FFFFL;
+                if (value < minima[position]) {
+                    minima[position] = value;
+                    empty = false;
+                }
+            }
+        }
+        if (empty) {
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            int source = i;
+            int distance = 0;
+            while (minima[source] == Long.MAX_VALUE) {
+                source = source + 1 == length ? 0 : source + 1;
+                distance++;
+            }
+            values[offset + i] = distance == 0
+                    ? (int) minima[source]
+                    : (int) mix(minima[source] * 31 + distance);
+        }
+    }
+
+    /**
+     * Scrambles the bits of the given value (the finalizer of SplitMix64).
+     *
+     * @param value the value
+     * @return the scrambled value
+     */
+    private static long mix(final long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
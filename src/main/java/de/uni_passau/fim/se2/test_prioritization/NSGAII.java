@@ -0,0 +1,559 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * NSGA-II for multi-objective test case prioritization. Every ordering is rated by a list of
+ * {@linkplain OrderingObjective objectives}, all of which are maximized. In every generation,
+ * parents are chosen by binary tournaments on non-domination rank and crowding distance, and the
+ * offspring are recombined and mutated. Parents and offspring are then ranked together by fast
+ * non-dominated sorting, and the next generation is filled front by front, breaking ties in the
+ * last front that fits only partially by crowding distance.
+ * <p>
+ * The objective values of the population are kept in one flat {@code double[]} with one row per
+ * ordering, and the sorting works on index arrays that are allocated once per search, so that
+ * ranking a generation does not allocate. Offspring are created sequentially, but evaluated in
+ * parallel on a fork-join pool; rating one ordering by all objectives counts as one fitness
+ * evaluation.
+ * <p>
+ * {@link #findSolution()} returns the ordering of the final Pareto front that is best in the
+ * first objective; the whole front is available through {@link #getParetoFront()} and
+ * {@link #getParetoValues()}.
+ */
+public final class NSGAII implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The default population size.
+     */
+    public static final int DEFAULT_POPULATION_SIZE = 100;
+
+    /**
+     * The default probability of recombining two parents rather than copying one.
+     */
+    public static final double DEFAULT_CROSSOVER_RATE = 0.9;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The problem instance, from which the solution is derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * Generator for the orderings of the initial population.
+     */
+    private final ConfigurationGenerator<TestCaseOrdering> initializer;
+
+    /**
+     * The objectives, all of which are maximized.
+     */
+    private final OrderingObjective[] objectives;
+
+    /**
+     * The number of orderings per generation.
+     */
+    private final int populationSize;
+
+    /**
+     * The crossover operator.
+     */
+    private final PermutationCrossover crossover;
+
+    /**
+     * The mutation operator.
+     */
+    private final PermutationMutation mutation;
+
+    /**
+     * The probability of recombining two parents rather than copying one.
+     */
+    private final double crossoverRate;
+
+    /**
+     * The pool on which offspring are evaluated.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The orderings of the current population (first half) and offspring (second half).
+     */
+    private int[][] orderings;
+
+    /**
+     * The objective values of {@link #orderings}, one row of {@code objectives.length} values
+     * per ordering.
+     */
+    private double[] values;
+
+    /**
+     * The best value of the first objective encountered in the current run.
+     */
+    private double bestFirstValue;
+
+    /**
+     * The non-domination rank of every ordering; {@code 0} is the Pareto front.
+     */
+    private int[] rank;
+
+    /**
+     * The crowding distance of every ordering within its front.
+     */
+    private double[] crowding;
+
+    /**
+     * The orderings sorted by front, filled by {@link #rankAndCrowd(int)}.
+     */
+    private int[] order;
+
+    /**
+     * For every ordering, how many other orderings dominate it.
+     */
+    private int[] dominationCount;
+
+    /**
+     * For every ordering {@code p}, the orderings dominated by {@code p}, stored in the row
+     * {@code p} of a square matrix.
+     */
+    private int[] dominated;
+
+    /**
+     * For every ordering, the number of orderings it dominates.
+     */
+    private int[] dominatedSize;
+
+    /**
+     * The final Pareto front of the last search.
+     */
+    private List<TestCaseOrdering> paretoFront = List.of();
+
+    /**
+     * The objective values of {@link #paretoFront}, one row per ordering.
+     */
+    private double[][] paretoValues = new double[0][];
+
+    /**
+     * Instantiates a new NSGA-II with default parameters, using order crossover and insert
+     * mutation, and evaluating offspring on the common fork-join pool.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param initializer       generator for the initial orderings, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param objectives        the objectives to maximize, not {@code null} and not empty
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if there are no objectives
+     */
+    public NSGAII(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> initializer,
+            final StoppingCondition stoppingCondition,
+            final List<? extends OrderingObjective> objectives)
+            throws NullPointerException, IllegalArgumentException {
+        this(problem, initializer, stoppingCondition, objectives, DEFAULT_POPULATION_SIZE,
+                PermutationCrossover.OX, PermutationMutation.INSERT, DEFAULT_CROSSOVER_RATE,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new NSGA-II.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param initializer       generator for the initial orderings, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param objectives        the objectives to maximize, not {@code null} and not empty
+     * @param populationSize    the number of orderings per generation, at least two
+     * @param crossover         the crossover operator, not {@code null}
+     * @param mutation          the mutation operator, not {@code null}
+     * @param crossoverRate     the probability of recombining two parents, in [0, 1]
+     * @param pool              the pool on which to evaluate offspring, not {@code null}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if there are no objectives or a numeric parameter is out
+     *                                  of range
+     */
+    public NSGAII(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> initializer,
+            final StoppingCondition stoppingCondition,
+            final List<? extends OrderingObjective> objectives,
+            final int populationSize,
+            final PermutationCrossover crossover,
+            final PermutationMutation mutation,
+            final double crossoverRate,
+            final ForkJoinPool pool)
+            throws NullPointerException, IllegalArgumentException {
+        if (objectives.isEmpty()) {
+            throw new IllegalArgumentException("No objectives given");
+        }
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("Population size must be at least 2: "
+                    + populationSize);
+        }
+        if (!(0 <= crossoverRate && crossoverRate <= 1)) {
+            throw new IllegalArgumentException("Invalid crossover rate: " + crossoverRate);
+        }
+
+        this.problem = requireNonNull(problem);
+        this.initializer = requireNonNull(initializer);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.objectives = objectives.toArray(new OrderingObjective[0]);
+        for (final OrderingObjective objective : this.objectives) {
+            requireNonNull(objective);
+        }
+        this.populationSize = populationSize;
+        this.crossover = requireNonNull(crossover);
+        this.mutation = requireNonNull(mutation);
+        this.crossoverRate = crossoverRate;
+        this.pool = requireNonNull(pool);
+    }
+
+    /**
+     * Evolves the population until the search budget is exhausted, and returns the ordering of
+     * the final Pareto front that is best in the first objective.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+        initializer.reset();
+
+        final int n = populationSize;
+        final int k = objectives.length;
+        orderings = new int[2 * n][];
+        values = new double[2 * n * k];
+        rank = new int[2 * n];
+        crowding = new double[2 * n];
+        order = new int[2 * n];
+        dominationCount = new int[2 * n];
+        dominated = new int[4 * n * n];
+        dominatedSize = new int[2 * n];
+        bestFirstValue = Double.NEGATIVE_INFINITY;
+
+        final Random random = Randomness.random();
+        for (int i = 0; i < n; i++) {
+            orderings[i] = initializer.get().toArray();
+        }
+        evaluate(0, n);
+        rankAndCrowd(n);
+
+        while (searchCanContinue()) {
+            for (int i = n; i < 2 * n; i++) {
+                final int[] parent = orderings[tournament(random)];
+                final int[] child = random.nextDouble() < crossoverRate
+                        ? crossover.crossover(parent, orderings[tournament(random)], random)
+                        : parent.clone();
+                mutation.mutate(child, random);
+                orderings[i] = child;
+            }
+            evaluate(n, 2 * n);
+            rankAndCrowd(2 * n);
+            survive(n);
+        }
+
+        collectParetoFront();
+        return paretoFront.get(0);
+    }
+
+    /**
+     * Rates the orderings in {@code [from, to)} by all objectives in parallel, and notifies the
+     * stopping condition about the evaluations as one batch, and about the ordering that is best
+     * in the first objective if it improves on all orderings before.
+     *
+     * @param from the first ordering to rate
+     * @param to   the index after the last ordering to rate
+     */
+    private void evaluate(final int from, final int to) {
+        final int k = objectives.length;
+        pool.submit(() -> IntStream.range(from, to).parallel().forEach(i -> {
+            for (int j = 0; j < k; j++) {
+                values[i * k + j] = objectives[j].evaluate(orderings[i]);
+            }
+        })).join();
+        getStoppingCondition().notifyFitnessEvaluations(to - from);
+
+        int best = -1;
+        for (int i = from; i < to; i++) {
+            if (values[i * k] > bestFirstValue) {
+                best = i;
+                bestFirstValue = values[i * k];
+            }
+        }
+        if (best >= 0) {
+            notifyImprovement(problem.withOrdering(orderings[best]));
+        }
+    }
+
+    /**
+     * Chooses the better of two random members of the population by rank, and then by crowding
+     * distance.
+     *
+     * @param random the source of randomness
+     * @return the index of the chosen member
+     */
+    private int tournament(final Random random) {
+        final int a = random.nextInt(populationSize);
+        final int b = random.nextInt(populationSize);
+        if (rank[a] != rank[b]) {
+            return rank[a] < rank[b] ? a : b;
+        }
+        return crowding[a] >= crowding[b] ? a : b;
+    }
+
+    /**
+     * Sorts the first {@code size} orderings into fronts by fast non-dominated sorting, storing
+     * their ranks in {@link #rank} and the orderings front by front in {@link #order}, and
+     * computes the crowding distance of every ordering within its front.
+     *
+     * @param size the number of orderings to sort
+     */
+    private void rankAndCrowd(final int size) {
+        final int stride = rank.length;
+        for (int p = 0; p < size; p++) {
+            dominationCount[p] = 0;
+            dominatedSize[p] = 0;
+        }
+        for (int p = 0; p < size; p++) {
+            for (int q = p + 1; q < size; q++) {
+                final int dominance = dominance(p, q);
+                if (dominance > 0) {
+                    dominated[p * stride + dominatedSize[p]++] = q;
+                    dominationCount[q]++;
+                } else if (dominance < 0) {
+                    dominated[q * stride + dominatedSize[q]++] = p;
+                    dominationCount[p]++;
+                }
+            }
+        }
+
+        int end = 0;
+        for (int p = 0; p < size; p++) {
+            if (dominationCount[p] == 0) {
+                rank[p] = 0;
+                order[end++] = p;
+            }
+        }
+
+        int start = 0;
+        for (int r = 1; start < end; r++) {
+            final int frontEnd = end;
+            crowd(start, frontEnd);
+            for (int i = start; i < frontEnd; i++) {
+                final int p = order[i];
+                for (int j = 0; j < dominatedSize[p]; j++) {
+                    final int q = dominated[p * stride + j];
+                    if (--dominationCount[q] == 0) {
+                        rank[q] = r;
+                        order[end++] = q;
+                    }
+                }
+            }
+            start = frontEnd;
+        }
+    }
+
+    /**
+     * Compares the objective values of two orderings.
+     *
+     * @param p an ordering
+     * @param q another ordering
+     * @return a positive number if {@code p} dominates {@code q}, a negative number if {@code q}
+     * dominates {@code p}, and zero otherwise
+     */
+    private int dominance(final int p, final int q) {
+        final int k = objectives.length;
+        boolean pBetter = false;
+        boolean qBetter = false;
+        for (int j = 0; j < k; j++) {
+            final double vp = values[p * k + j];
+            final double vq = values[q * k + j];
+            if (vp > vq) {
+                pBetter = true;
+            } else if (vq > vp) {
+                qBetter = true;
+            }
+        }
+        return pBetter == qBetter ? 0 : pBetter ? 1 : -1;
+    }
+
+    /**
+     * Computes the crowding distance of the orderings in {@code order[from..to)}, which form one
+     * front. Reorders that part of {@link #order}.
+     *
+     * @param from the first position of the front in {@link #order}
+     * @param to   the position after the front in {@link #order}
+     */
+    private void crowd(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            crowding[order[i]] = 0;
+        }
+
+        final int k = objectives.length;
+        for (int j = 0; j < k; j++) {
+            sortByObjective(from, to, j);
+            final double min = values[order[from] * k + j];
+            final double max = values[order[to - 1] * k + j];
+            crowding[order[from]] = Double.POSITIVE_INFINITY;
+            crowding[order[to - 1]] = Double.POSITIVE_INFINITY;
+            if (max > min) {
+                for (int i = from + 1; i < to - 1; i++) {
+                    crowding[order[i]] += (values[order[i + 1] * k + j]
+                            - values[order[i - 1] * k + j]) / (max - min);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts {@code order[from..to)} by ascending value of the given objective. Uses insertion
+     * sort, since fronts are at most twice the population size, and the order left by the previous
+     * objective is often nearly sorted again.
+     */
+    private void sortByObjective(final int from, final int to, final int objective) {
+        final int k = objectives.length;
+        for (int i = from + 1; i < to; i++) {
+            final int p = order[i];
+            final double v = values[p * k + objective];
+            int j = i - 1;
+            while (j >= from && values[order[j] * k + objective] > v) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = p;
+        }
+    }
+
+    /**
+     * Moves the best {@code n} orderings, by rank and then by crowding distance, to the first
+     * half of the arrays. Requires {@link #rankAndCrowd(int)} to have sorted all orderings.
+     *
+     * @param n the number of survivors
+     */
+    private void survive(final int n) {
+        // Sort the front that fits only partially by descending crowding distance.
+        int start = 0;
+        while (start < n) {
+            int end = start + 1;
+            while (end < order.length && rank[order[end]] == rank[order[start]]) {
+                end++;
+            }
+            if (end > n) {
+                for (int i = start + 1; i < end; i++) {
+                    final int p = order[i];
+                    int j = i - 1;
+                    while (j >= start && crowding[order[j]] < crowding[p]) {
+                        order[j + 1] = order[j];
+                        j--;
+                    }
+                    order[j + 1] = p;
+                }
+            }
+            start = end;
+        }
+
+        // Move the survivors to the first half.
+        final int k = objectives.length;
+        final int[][] keptOrderings = new int[n][];
+        final double[] keptValues = new double[n * k];
+        final int[] keptRank = new int[n];
+        final double[] keptCrowding = new double[n];
+        for (int i = 0; i < n; i++) {
+            final int p = order[i];
+            keptOrderings[i] = orderings[p];
+            System.arraycopy(values, p * k, keptValues, i * k, k);
+            keptRank[i] = rank[p];
+            keptCrowding[i] = crowding[p];
+        }
+        System.arraycopy(keptOrderings, 0, orderings, 0, n);
+        System.arraycopy(keptValues, 0, values, 0, n * k);
+        System.arraycopy(keptRank, 0, rank, 0, n);
+        System.arraycopy(keptCrowding, 0, crowding, 0, n);
+    }
+
+    /**
+     * Collects the distinct points of the Pareto front of the final population, sorted by
+     * descending value of the first objective.
+     */
+    private void collectParetoFront() {
+        final int k = objectives.length;
+        final List<Integer> front = new ArrayList<>();
+        for (int p = 0; p < populationSize; p++) {
+            if (rank[p] == 0) {
+                front.add(p);
+            }
+        }
+        front.sort((p, q) -> Double.compare(values[q * k], values[p * k]));
+
+        final List<TestCaseOrdering> members = new ArrayList<>();
+        final List<double[]> points = new ArrayList<>();
+        for (final int p : front) {
+            final double[] point = new double[k];
+            System.arraycopy(values, p * k, point, 0, k);
+            if (points.isEmpty() || !Arrays.equals(points.get(points.size() - 1), point)) {
+                members.add(problem.withOrdering(orderings[p]));
+                points.add(point);
+            }
+        }
+
+        paretoFront = List.copyOf(members);
+        paretoValues = points.toArray(new double[0][]);
+    }
+
+    /**
+     * Returns the names of the objectives, in the order of the columns of
+     * {@link #getParetoValues()}.
+     *
+     * @return the names of the objectives
+     */
+    public String[] getObjectiveNames() {
+        final String[] names = new String[objectives.length];
+        for (int j = 0; j < names.length; j++) {
+            names[j] = objectives[j].name();
+        }
+        return names;
+    }
+
+    /**
+     * Returns one ordering per distinct point of the Pareto front found by the last search,
+     * sorted by descending value of the first objective.
+     *
+     * @return the Pareto front, empty if no search was run
+     */
+    public List<TestCaseOrdering> getParetoFront() {
+        return paretoFront;
+    }
+
+    /**
+     * Returns the objective values of the orderings of {@link #getParetoFront()}, one row per
+     * ordering.
+     *
+     * @return the objective values of the Pareto front
+     */
+    public double[][] getParetoValues() {
+        final double[][] copy = new double[paretoValues.length][];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = paretoValues[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
@@ -0,0 +1,48 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * One objective of a multi-objective test case prioritization problem, rating orderings given as
+ * arrays of test case indices. Higher values are better. Implementations must be safe to use from
+ * multiple threads.
+ */
+public interface OrderingObjective {
+
+    /**
+     * Returns a short name of this objective, e.g., for column headers and axis titles.
+     *
+     * @return the name
+     */
+    String name();
+
+    /**
+     * Rates the given ordering.
+     *
+     * @param ordering the ordering, a permutation of the test case indices
+     * @return the value of this objective, higher is better
+     */
+    double evaluate(int[] ordering);
+
+    /**
+     * Returns the APLC objective of the given coverage matrix.
+     *
+     * @param coverage the bit-packed coverage matrix, not {@code null}
+     * @return the objective
+     * @throws NullPointerException if the coverage matrix is {@code null}
+     */
+    static OrderingObjective aplc(final PackedCoverage coverage) throws NullPointerException {
+        requireNonNull(coverage);
+        return new OrderingObjective() {
+            @Override
+            public String name() {
+                return "APLC";
+            }
+
+            @Override
+            public double evaluate(final int[] ordering) {
+                return coverage.aplc(ordering);
+            }
+        };
+    }
+}
@@ -0,0 +1,310 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import java.util.Arrays;
+
+/**
+ * A bit-packed, read-only representation of a coverage matrix. Every row (test case) is stored
+ * as a sequence of 64-bit words, where bit {@code j % 64} of word {@code j / 64} tells whether the
+ * test case covers line {@code j}. All rows are stored back to back in a single {@code long[]},
+ * so set operations on coverage (union, difference, counting) process 64 lines at once and touch
+ * contiguous memory.
+ * <p>
+ * Sets of covered lines are represented as {@code long[]} arrays of length {@link #words()}, as
+ * created by {@link #emptySet()}. Operations on a row only visit the words between its first and
+ * last non-zero word, which pays off for the typical, localized coverage of unit tests.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class PackedCoverage {
+
+    /**
+     * The number of test cases (rows).
+     */
+    private final int tests;
+
+    /**
+     * The number of lines (columns).
+     */
+    private final int lines;
+
+    /**
+     * The number of words per row.
+     */
+    private final int words;
+
+    /**
+     * The packed rows, stored back to back.
+     */
+    private final long[] bits;
+
+    /**
+     * For every test case, the index of the first non-zero word of its row.
+     */
+    private final int[] firstWords;
+
+    /**
+     * For every test case, the index after the last non-zero word of its row.
+     */
+    private final int[] endWords;
+
+    /**
+     * The number of lines covered by every test case.
+     */
+    private final int[] lineCounts;
+
+    /**
+     * The number of lines covered by at least one test case.
+     */
+    private final int coverableLines;
+
+    private PackedCoverage(final boolean[][] coverageMatrix) {
+        this.tests = coverageMatrix.length;
+        this.lines = tests == 0 ? 0 : coverageMatrix[0].length;
+        this.words = (lines + Long.SIZE - 1) / Long.SIZE;
+        this.bits = new long[tests * words];
+        this.lineCounts = new int[tests];
+        this.firstWords = new int[tests];
+        this.endWords = new int[tests];
+
+        final long[] union = new long[words];
+        for (int test = 0; test < tests; test++) {
+            final boolean[] row = coverageMatrix[test];
+            final int offset = test * words;
+            for (int line = 0; line < lines; line++) {
+                if (row[line]) {
+                    bits[offset + line / Long.SIZE] |= 1L << line;
+                }
+            }
+
+            int count = 0;
+            int first = words;
+            int end = 0;
+            for (int w = 0; w < words; w++) {
+                final long word = bits[offset + w];
+                if (word != 0) {
+                    count += Long.bitCount(word);
+                    union[w] |= word;
+                    first = Math.min(first, w);
+                    end = w + 1;
+                }
+            }
+            lineCounts[test] = count;
+            firstWords[test] = Math.min(first, end);
+            endWords[test] = end;
+        }
+
+        int coverable = 0;
+        for (final long word : union) {
+            coverable += Long.bitCount(word);
+        }
+        this.coverableLines = coverable;
+    }
+
+    /**
+     * Packs the given coverage matrix.
+     *
+     * @param coverageMatrix the coverage matrix, rectangular
+     * @return the packed coverage matrix
+     */
+    public static PackedCoverage of(final boolean[][] coverageMatrix) {
+        return new PackedCoverage(coverageMatrix);
+    }
+
+    /**
+     * Returns the number of test cases.
+     *
+     * @return the number of test cases
+     */
+    public int tests() {
+        return tests;
+    }
+
+    /**
+     * Returns the number of lines, including lines not covered by any test case.
+     *
+     * @return the number of lines
+     */
+    public int lines() {
+        return lines;
+    }
+
+    /**
+     * Returns the number of words needed to store a set of lines.
+     *
+     * @return the number of words per row
+     */
+    public int words() {
+        return words;
+    }
+
+    /**
+     * Returns the number of lines covered by at least one test case.
+     *
+     * @return the number of coverable lines
+     */
+    public int coverableLines() {
+        return coverableLines;
+    }
+
+    /**
+     * Returns the number of lines covered by the given test case.
+     *
+     * @param test the test case
+     * @return the number of lines it covers
+     */
+    public int lineCount(final int test) {
+        return lineCounts[test];
+    }
+
+    /**
+     * Creates a new, empty set of lines.
+     *
+     * @return the empty set
+     */
+    public long[] emptySet() {
+        return new long[words];
+    }
+
+    /**
+     * Returns the given word of the given test case's row.
+     *
+     * @param test the test case
+     * @param word the index of the word
+     * @return the word
+     */
+    public long word(final int test, final int word) {
+        return bits[test * words + word];
+    }
+
+    /**
+     * Returns the index of the first word of the given test case's row that may be non-zero.
+     *
+     * @param test the test case
+     * @return the index of the first non-zero word
+     */
+    public int firstWord(final int test) {
+        return firstWords[test];
+    }
+
+    /**
+     * Returns the index after the last word of the given test case's row that may be non-zero.
+     *
+     * @param test the test case
+     * @return the index after the last non-zero word
+     */
+    public int endWord(final int test) {
+        return endWords[test];
+    }
+
+    /**
+     * Counts the lines covered by the given test case that are not yet contained in the given
+     * set.
+     *
+     * @param test    the test case
+     * @param covered the set of already covered lines
+     * @return the number of additionally covered lines
+     */
+    public int countNew(final int test, final long[] covered) {
+        final int offset = test * words;
+        int count = 0;
+        for (int w = firstWords[test], end = endWords[test]; w < end; w++) {
+            count += Long.bitCount(bits[offset + w] & ~covered[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Adds the lines covered by the given test case to the given set, and returns how many lines
+     * were added.
+     *
+     * @param test    the test case
+     * @param covered the set of already covered lines, modified in place
+     * @return the number of additionally covered lines
+     */
+    public int cover(final int test, final long[] covered) {
+        final int offset = test * words;
+        int count = 0;
+        for (int w = firstWords[test], end = endWords[test]; w < end; w++) {
+            final long row = bits[offset + w];
+            count += Long.bitCount(row & ~covered[w]);
+            covered[w] |= row;
+        }
+        return count;
+    }
+
+    /**
+     * Computes the sum of the (1-based) positions at which every coverable line is covered for the
+     * first time when executing the test cases in the given order. The APLC value of the ordering
+     * is {@code 1 - sum / (n * coverableLines()) + 1 / (2 * n)}.
+     *
+     * @param ordering the ordering of test cases
+     * @return the sum of first-coverage positions
+     */
+    public long firstCoverageSum(final int[] ordering) {
+        final long[] covered = emptySet();
+        long sum = 0;
+        int remaining = coverableLines;
+        for (int i = 0; i < ordering.length && remaining > 0; i++) {
+            final int added = cover(ordering[i], covered);
+            sum += (long) added * (i + 1);
+            remaining -= added;
+        }
+        return sum;
+    }
+
+    /**
+     * Computes a lower bound of the sum of first-coverage positions of every ordering, that is,
+     * the sum of an idealized ordering whose test cases never overlap. The sum equals the number
+     * of lines that are still uncovered before every position. After {@code k} test cases, at
+     * most the sum of the {@code k} largest line counts can be covered, so the bound is the sum
+     * over all {@code k} of the coverable lines minus that many, as long as this is positive. The
+     * bound is attained exactly when the largest test cases cover disjoint lines, in which case
+     * an ordering that reaches it is optimal.
+     *
+     * @return the lower bound of the sum of first-coverage positions
+     * @see #firstCoverageSum(int[])
+     */
+    public long firstCoverageSumBound() {
+        final int[] counts = lineCounts.clone();
+        Arrays.sort(counts);
+        long sum = 0;
+        long uncovered = coverableLines;
+        for (int k = counts.length - 1; k >= 0 && uncovered > 0; k--) {
+            sum += uncovered;
+            uncovered -= counts[k];
+        }
+        return sum;
+    }
+
+    /**
+     * Computes an upper bound of the APLC value of every ordering, namely the value of the
+     * idealized ordering described in {@link #firstCoverageSumBound()}.
+     *
+     * @return the upper bound of the APLC value
+     */
+    public double aplcBound() {
+        return aplc(firstCoverageSumBound());
+    }
+
+    /**
+     * Computes the APLC value of the given ordering.
+     *
+     * @param ordering the ordering of test cases
+     * @return the APLC value
+     */
+    public double aplc(final int[] ordering) {
+        return aplc(firstCoverageSum(ordering));
+    }
+
+    /**
+     * Converts the given sum of first-coverage positions into an APLC value.
+     *
+     * @param firstCoverageSum the sum of first-coverage positions
+     * @return the APLC value
+     * @see #firstCoverageSum(int[])
+     */
+    public double aplc(final long firstCoverageSum) {
+        final double n = tests;
+        return 1 - firstCoverageSum / (n * coverableLines) + 1 / (2 * n);
+    }
+}
@@ -0,0 +1,157 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import de.uni_passau.fim.se2.metaheuristics.configurations.Crossover;
+import de.uni_passau.fim.se2.util.Randomness;
+
+import java.util.Random;
+
+/**
+ * Crossover operators for test case orderings. All of them are permutation-safe, i.e., the
+ * offspring of two orderings is again an ordering that contains every test case exactly once.
+ * <p>
+ * Besides operating on {@link TestCaseOrdering}s, every operator can also be applied to plain
+ * {@code int[]} permutations with an explicit source of randomness, which is what parallel
+ * algorithms use to avoid contention on the shared RNG.
+ */
+public enum PermutationCrossover implements Crossover<TestCaseOrdering> {
+
+    /**
+     * Partially mapped crossover: copies a random segment of the first parent, and fills the
+     * remaining positions with the genes of the second parent, resolving conflicts via the mapping
+     * defined by the segment.
+     */
+    PMX {
+        @Override
+        public int[] crossover(final int[] parent1, final int[] parent2, final Random random) {
+            final int n = parent1.length;
+            final int[] child = new int[n];
+            if (n == 0) {
+                return child;
+            }
+
+            final int[] positions1 = inverse(parent1);
+            final int a = random.nextInt(n);
+            final int b = a + random.nextInt(n - a);
+            System.arraycopy(parent1, a, child, a, b - a + 1);
+
+            for (int i = 0; i < n; i++) {
+                if (i >= a && i <= b) {
+                    continue;
+                }
+
+                int gene = parent2[i];
+                int position = positions1[gene];
+                while (position >= a && position <= b) {
+                    gene = parent2[position];
+                    position = positions1[gene];
+                }
+                child[i] = gene;
+            }
+
+            return child;
+        }
+    },
+
+    /**
+     * Order crossover: copies a random segment of the first parent, and fills the remaining
+     * positions with the missing genes in the relative order in which they appear in the second
+     * parent (starting after the segment and wrapping around).
+     */
+    OX {
+        @Override
+        public int[] crossover(final int[] parent1, final int[] parent2, final Random random) {
+            final int n = parent1.length;
+            final int[] child = new int[n];
+            if (n == 0) {
+                return child;
+            }
+
+            final int a = random.nextInt(n);
+            final int b = a + random.nextInt(n - a);
+            final boolean[] used = new boolean[n];
+            for (int i = a; i <= b; i++) {
+                child[i] = parent1[i];
+                used[parent1[i]] = true;
+            }
+
+            int target = (b + 1) % n;
+            for (int k = 0; k < n; k++) {
+                final int gene = parent2[(b + 1 + k) % n];
+                if (!used[gene]) {
+                    child[target] = gene;
+                    target = (target + 1) % n;
+                }
+            }
+
+            return child;
+        }
+    },
+
+    /**
+     * Cycle crossover: decomposes the parents into cycles of positions and copies alternating
+     * cycles from the first and second parent. Every gene keeps the absolute position it has in one
+     * of the parents. This operator is deterministic.
+     */
+    CX {
+        @Override
+        public int[] crossover(final int[] parent1, final int[] parent2, final Random random) {
+            final int n = parent1.length;
+            final int[] child = new int[n];
+            final int[] positions1 = inverse(parent1);
+            final boolean[] visited = new boolean[n];
+
+            boolean fromFirst = true;
+            for (int start = 0; start < n; start++) {
+                if (visited[start]) {
+                    continue;
+                }
+
+                int i = start;
+                do {
+                    visited[i] = true;
+                    child[i] = fromFirst ? parent1[i] : parent2[i];
+                    i = positions1[parent2[i]];
+                } while (i != start);
+
+                fromFirst = !fromFirst;
+            }
+
+            return child;
+        }
+    };
+
+    /**
+     * Recombines the given parent permutations into a new offspring permutation. The parents are
+     * not modified.
+     *
+     * @param parent1 the first parent
+     * @param parent2 the second parent
+     * @param random  the source of randomness to use
+     * @return the offspring
+     */
+    public abstract int[] crossover(final int[] parent1, final int[] parent2, final Random random);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TestCaseOrdering crossover(final TestCaseOrdering parent1,
+                                      final TestCaseOrdering parent2) {
+        final int[] child = crossover(parent1.toArray(), parent2.toArray(), Randomness.random());
+        return parent1.withOrdering(child);
+    }
+
+    /**
+     * Computes the inverse of the given permutation, i.e., maps every test case to its position.
+     *
+     * @param permutation the permutation
+     * @return the inverse permutation
+     */
+    static int[] inverse(final int[] permutation) {
+        final int[] inverse = new int[permutation.length];
+        for (int i = 0; i < permutation.length; i++) {
+            inverse[permutation[i]] = i;
+        }
+        return inverse;
+    }
+}
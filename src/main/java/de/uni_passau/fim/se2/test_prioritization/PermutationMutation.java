@@ -0,0 +1,101 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import de.uni_passau.fim.se2.metaheuristics.configurations.ElementaryTransformation;
+import de.uni_passau.fim.se2.util.Randomness;
+
+import java.util.Random;
+
+/**
+ * Mutation operators (elementary transformations) for test case orderings. None of them has fixed
+ * points for orderings of at least two test cases, and all of them are reversible.
+ * <p>
+ * Besides operating on {@link TestCaseOrdering}s, every operator can also be applied in place to
+ * plain {@code int[]} permutations with an explicit source of randomness.
+ */
+public enum PermutationMutation implements ElementaryTransformation<TestCaseOrdering> {
+
+    /**
+     * Exchanges the test cases at two distinct random positions.
+     */
+    SWAP {
+        @Override
+        public void move(final int[] ordering, final int from, final int to) {
+            final int tmp = ordering[from];
+            ordering[from] = ordering[to];
+            ordering[to] = tmp;
+        }
+    },
+
+    /**
+     * Removes the test case at a random position and reinserts it at another random position,
+     * shifting the test cases in between by one.
+     */
+    INSERT {
+        @Override
+        public void move(final int[] ordering, final int from, final int to) {
+            final int moved = ordering[from];
+            if (from < to) {
+                System.arraycopy(ordering, from + 1, ordering, from, to - from);
+            } else {
+                System.arraycopy(ordering, to, ordering, to + 1, from - to);
+            }
+            ordering[to] = moved;
+        }
+    },
+
+    /**
+     * Reverses the block of test cases between two distinct random positions (inclusive).
+     */
+    REVERSE {
+        @Override
+        public void move(final int[] ordering, final int from, final int to) {
+            for (int i = Math.min(from, to), j = Math.max(from, to); i < j; i++, j--) {
+                final int tmp = ordering[i];
+                ordering[i] = ordering[j];
+                ordering[j] = tmp;
+            }
+        }
+    };
+
+    /**
+     * Mutates the given permutation in place, by applying the move between two distinct random
+     * positions.
+     *
+     * @param ordering the permutation to mutate
+     * @param random   the source of randomness to use
+     */
+    public void mutate(final int[] ordering, final Random random) {
+        final int n = ordering.length;
+        if (n < 2) {
+            return;
+        }
+
+        final int from = random.nextInt(n);
+        int to = random.nextInt(n - 1);
+        if (to >= from) {
+            to++;
+        }
+
+        move(ordering, from, to);
+    }
+
+    /**
+     * Applies the move between the two given positions to the given permutation in place. For
+     * {@link #SWAP} and {@link #REVERSE}, the order of the positions does not matter.
+     *
+     * @param ordering the permutation to modify
+     * @param from     the first position
+     * @param to       the second position
+     */
+    public abstract void move(final int[] ordering, final int from, final int to);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TestCaseOrdering transform(final TestCaseOrdering configuration) {
+        final int[] ordering = configuration.toArray();
+        mutate(ordering, Randomness.random());
+        return configuration.withOrdering(ordering);
+    }
+}
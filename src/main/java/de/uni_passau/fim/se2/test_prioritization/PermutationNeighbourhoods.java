@@ -0,0 +1,204 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.configurations.MoveNeighbourhoods;
+
+/**
+ * The swap, insert and block-reverse neighbourhoods of a test case ordering, evaluated with
+ * {@link IncrementalAPLC}. Neighbourhood {@code 0} contains all swaps, neighbourhood {@code 1}
+ * all insertions, and neighbourhood {@code 2} all reversals of blocks of two up to a maximum
+ * number of consecutive test cases.
+ */
+public final class PermutationNeighbourhoods implements MoveNeighbourhoods<TestCaseOrdering> {
+
+    /**
+     * The default maximum length of a reversed block.
+     */
+    public static final int DEFAULT_MAX_BLOCK = 8;
+
+    /**
+     * The kinds of moves, indexed by neighbourhood.
+     */
+    private static final PermutationMutation[] KINDS = {
+            PermutationMutation.SWAP, PermutationMutation.INSERT, PermutationMutation.REVERSE
+    };
+
+    /**
+     * The problem instance, from which snapshots are derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * Evaluates moves on the current ordering.
+     */
+    private final IncrementalAPLC evaluator;
+
+    /**
+     * The number of test cases.
+     */
+    private final int n;
+
+    /**
+     * The number of lines covered by at least one test case.
+     */
+    private final int coverableLines;
+
+    /**
+     * The maximum length of a reversed block.
+     */
+    private final int maxBlock;
+
+    /**
+     * Creates the neighbourhoods of the given problem instance, with the default maximum block
+     * length.
+     *
+     * @param problem the problem instance, not {@code null}
+     * @throws NullPointerException if the problem instance is {@code null}
+     */
+    public PermutationNeighbourhoods(final TestCaseOrdering problem) throws NullPointerException {
+        this(problem, DEFAULT_MAX_BLOCK);
+    }
+
+    /**
+     * Creates the neighbourhoods of the given problem instance.
+     *
+     * @param problem  the problem instance, not {@code null}
+     * @param maxBlock the maximum length of a reversed block, at least two
+     * @throws NullPointerException     if the problem instance is {@code null}
+     * @throws IllegalArgumentException if the maximum block length is less than two
+     */
+    public PermutationNeighbourhoods(final TestCaseOrdering problem, final int maxBlock)
+            throws NullPointerException, IllegalArgumentException {
+        if (maxBlock < 2) {
+            throw new IllegalArgumentException("Maximum block length must be at least 2: "
+                    + maxBlock);
+        }
+
+        this.problem = requireNonNull(problem);
+        final PackedCoverage coverage = PackedCoverage.of(problem.coverageMatrix);
+        this.evaluator = new IncrementalAPLC(coverage);
+        this.n = coverage.tests();
+        this.coverableLines = coverage.coverableLines();
+        this.maxBlock = Math.min(maxBlock, n);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset(final TestCaseOrdering configuration) {
+        evaluator.reset(configuration.toArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TestCaseOrdering snapshot() {
+        return problem.withOrdering(evaluator.ordering());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double fitness() {
+        final double aplc = evaluator.aplc();
+        return isMinimizing() ? 1 - aplc + 1d / n : aplc;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMinimizing() {
+        return problem.isMinimizing();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int neighbourhoods() {
+        return KINDS.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long size(final int neighbourhood) {
+        if (n < 2) {
+            return 0;
+        }
+        return KINDS[neighbourhood] == PermutationMutation.REVERSE
+                ? (long) n * (maxBlock - 1)
+                : (long) n * (n - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double delta(final int neighbourhood, final long move) {
+        if (coverableLines == 0) {
+            return 0;
+        }
+
+        final long delta = evaluator.delta(
+                KINDS[neighbourhood], from(neighbourhood, move), to(neighbourhood, move));
+        final double scaled = (double) delta / ((double) n * coverableLines);
+        return isMinimizing() ? scaled : -scaled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final int neighbourhood, final long move) {
+        evaluator.apply(KINDS[neighbourhood], from(neighbourhood, move), to(neighbourhood, move));
+    }
+
+    /**
+     * Returns the number of test cases, as evaluating that many moves costs about as much as
+     * evaluating one ordering from scratch.
+     *
+     * @return the number of test cases
+     */
+    @Override
+    public int deltasPerEvaluation() {
+        return Math.max(1, n);
+    }
+
+    /**
+     * Decodes the first position of the given move.
+     */
+    private int from(final int neighbourhood, final long move) {
+        if (KINDS[neighbourhood] == PermutationMutation.REVERSE) {
+            final int from = (int) (move / (maxBlock - 1));
+            final int length = blockLength(move);
+            return Math.min(from, n - length);
+        }
+        return (int) (move / (n - 1));
+    }
+
+    /**
+     * Decodes the second position of the given move.
+     */
+    private int to(final int neighbourhood, final long move) {
+        if (KINDS[neighbourhood] == PermutationMutation.REVERSE) {
+            return from(neighbourhood, move) + blockLength(move) - 1;
+        }
+        final int from = (int) (move / (n - 1));
+        final int to = (int) (move % (n - 1));
+        return to >= from ? to + 1 : to;
+    }
+
+    /**
+     * Decodes the block length of the given block-reverse move.
+     */
+    private int blockLength(final long move) {
+        return 2 + (int) (move % (maxBlock - 1));
+    }
+}
@@ -0,0 +1,67 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.fitness_functions.FitnessFunction;
+
+/**
+ * Rates a {@link RandomKeyOrdering} by the APLC value of the ordering it decodes to, in the
+ * direction of the given problem instance. When the problem is minimizing, the fitness is
+ * {@code 1 - APLC + 1/n}, as for {@link TestCaseOrdering}.
+ * <p>
+ * Every thread decodes into its own index buffer, which is allocated once and reused by all later
+ * evaluations on that thread. Hence, the function can be used from multiple threads.
+ */
+public final class RandomKeyFitness implements FitnessFunction<RandomKeyOrdering> {
+
+    /**
+     * The problem instance.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * The bit-packed coverage matrix of the problem.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * The index buffer of every thread.
+     */
+    private final ThreadLocal<int[]> buffer;
+
+    /**
+     * Creates the fitness function of the given problem instance.
+     *
+     * @param problem the problem instance, not {@code null}
+     * @throws NullPointerException if the problem instance is {@code null}
+     */
+    public RandomKeyFitness(final TestCaseOrdering problem) throws NullPointerException {
+        this.problem = requireNonNull(problem);
+        this.coverage = PackedCoverage.of(problem.coverageMatrix);
+        final int n = coverage.tests();
+        this.buffer = ThreadLocal.withInitial(() -> new int[n]);
+    }
+
+    /**
+     * Computes the fitness of the ordering the given configuration decodes to.
+     *
+     * @param configuration the configuration to rate
+     * @return the fitness value
+     * @throws NullPointerException     if {@code null} is given
+     * @throws IllegalArgumentException if the configuration has the wrong number of keys
+     */
+    @Override
+    public double getFitnessFor(final RandomKeyOrdering configuration)
+            throws NullPointerException, IllegalArgumentException {
+        final double aplc = coverage.aplc(configuration.decode(buffer.get()));
+        return isMinimizing() ? 1 - aplc + 1d / coverage.tests() : aplc;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMinimizing() {
+        return problem.isMinimizing();
+    }
+}
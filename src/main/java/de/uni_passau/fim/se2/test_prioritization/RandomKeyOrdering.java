@@ -0,0 +1,303 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.configurations.Configuration;
+import de.uni_passau.fim.se2.metaheuristics.configurations.ElementaryTransformation;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A test case ordering in random-key encoding: a vector of one real-valued key per test case,
+ * which decodes to the ordering that sorts the test cases by ascending key (ties are broken by
+ * test case index). Every key vector decodes to a valid ordering, so continuous optimizers such as
+ * differential evolution, particle swarm optimization or CMA-ES can search the space of orderings
+ * without repair operators.
+ * <p>
+ * Decoding sorts an index buffer supplied by the caller in place with a primitive introsort, so
+ * that repeated decoding does not allocate. Instances are immutable.
+ */
+public final class RandomKeyOrdering extends Configuration<RandomKeyOrdering> {
+
+    /**
+     * Redraws the key of one random test case uniformly from {@code [0, 1)}.
+     */
+    public static final ElementaryTransformation<RandomKeyOrdering> REDRAW_ONE_KEY =
+            configuration -> {
+                final Random random = Randomness.random();
+                final double[] keys = configuration.keys();
+                keys[random.nextInt(keys.length)] = random.nextDouble();
+                return new RandomKeyOrdering(keys);
+            };
+
+    /**
+     * Partitions of at most this size are sorted by insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    /**
+     * The key of every test case.
+     */
+    private final double[] keys;
+
+    /**
+     * Creates a configuration with the given keys. The array is copied.
+     *
+     * @param keys the key of every test case, not {@code null} and not empty
+     * @throws NullPointerException     if the keys are {@code null}
+     * @throws IllegalArgumentException if there are no keys
+     */
+    public RandomKeyOrdering(final double[] keys)
+            throws NullPointerException, IllegalArgumentException {
+        super(REDRAW_ONE_KEY);
+        if (requireNonNull(keys).length == 0) {
+            throw new IllegalArgumentException("Keys must not be empty");
+        }
+        this.keys = keys.clone();
+    }
+
+    /**
+     * Creates a configuration of {@code n} test cases whose keys are drawn uniformly from
+     * {@code [0, 1)}, which decodes to a uniformly random ordering.
+     *
+     * @param n      the number of test cases, positive
+     * @param random the source of randomness
+     * @return the configuration
+     */
+    public static RandomKeyOrdering random(final int n, final Random random) {
+        final double[] keys = new double[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextDouble();
+        }
+        return new RandomKeyOrdering(keys);
+    }
+
+    /**
+     * Encodes the given ordering, spreading the keys evenly over {@code [0, 1)}: the test case at
+     * position {@code p} gets the key {@code (p + 0.5) / n}.
+     *
+     * @param ordering the ordering, a permutation of the test case indices
+     * @return a configuration that decodes to {@code ordering}
+     */
+    public static RandomKeyOrdering encode(final int[] ordering) {
+        final int n = ordering.length;
+        final double[] keys = new double[n];
+        for (int p = 0; p < n; p++) {
+            keys[ordering[p]] = (p + 0.5) / n;
+        }
+        return new RandomKeyOrdering(keys);
+    }
+
+    /**
+     * Returns the number of test cases.
+     *
+     * @return the number of test cases
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the key of the given test case.
+     *
+     * @param test the test case
+     * @return its key
+     */
+    public double key(final int test) {
+        return keys[test];
+    }
+
+    /**
+     * Returns a copy of the keys.
+     *
+     * @return the key of every test case
+     */
+    public double[] keys() {
+        return keys.clone();
+    }
+
+    /**
+     * Decodes the ordering into the given buffer, overwriting its contents, and returns it.
+     *
+     * @param buffer an array of length {@link #size()}
+     * @return {@code buffer}, holding the test cases by ascending key
+     * @throws IllegalArgumentException if the buffer has the wrong length
+     */
+    public int[] decode(final int[] buffer) throws IllegalArgumentException {
+        if (buffer.length != keys.length) {
+            throw new IllegalArgumentException("Buffer of length " + buffer.length
+                    + " for " + keys.length + " keys");
+        }
+        for (int i = 0; i < buffer.length; i++) {
+            buffer[i] = i;
+        }
+        introsort(buffer, 0, buffer.length - 1, 2 * (31 - Integer.numberOfLeadingZeros(
+                buffer.length)));
+        return buffer;
+    }
+
+    /**
+     * Decodes the ordering into a new array.
+     *
+     * @return the test cases by ascending key
+     */
+    public int[] toOrdering() {
+        return decode(new int[keys.length]);
+    }
+
+    /**
+     * Tells whether test case {@code a} comes before test case {@code b}.
+     */
+    private boolean less(final int a, final int b) {
+        final int c = Double.compare(keys[a], keys[b]);
+        return c < 0 || (c == 0 && a < b);
+    }
+
+    /**
+     * Sorts {@code index[lo..hi]} by quicksort with median-of-three pivots, switching to heapsort
+     * once the recursion depth exceeds {@code depth} and to insertion sort for small partitions.
+     * Recurses into the smaller partition only, so the stack depth stays logarithmic.
+     */
+    private void introsort(final int[] index, int lo, int hi, int depth) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapsort(index, lo, hi);
+                return;
+            }
+
+            final int mid = (lo + hi) >>> 1;
+            if (less(index[mid], index[lo])) {
+                swap(index, lo, mid);
+            }
+            if (less(index[hi], index[lo])) {
+                swap(index, lo, hi);
+            }
+            if (less(index[hi], index[mid])) {
+                swap(index, mid, hi);
+            }
+            // Now index[lo] <= index[mid] <= index[hi]; park the pivot next to the upper end.
+            swap(index, mid, hi - 1);
+            final int pivot = index[hi - 1];
+
+            int i = lo;
+            int j = hi - 1;
+            while (true) {
+                while (less(index[++i], pivot)) {
+                    // index[hi - 1] stops the scan
+                }
+                while (less(pivot, index[--j])) {
+                    // index[lo] stops the scan
+                }
+                if (i >= j) {
+                    break;
+                }
+                swap(index, i, j);
+            }
+            swap(index, i, hi - 1);
+
+            if (i - lo < hi - i) {
+                introsort(index, lo, i - 1, depth);
+                lo = i + 1;
+            } else {
+                introsort(index, i + 1, hi, depth);
+                hi = i - 1;
+            }
+        }
+
+        for (int i = lo + 1; i <= hi; i++) {
+            final int test = index[i];
+            int j = i - 1;
+            while (j >= lo && less(test, index[j])) {
+                index[j + 1] = index[j];
+                j--;
+            }
+            index[j + 1] = test;
+        }
+    }
+
+    /**
+     * Sorts {@code index[lo..hi]} by heapsort.
+     */
+    private void heapsort(final int[] index, final int lo, final int hi) {
+        final int size = hi - lo + 1;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(index, lo, i, size);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(index, lo, lo + end);
+            siftDown(index, lo, 0, end);
+        }
+    }
+
+    /**
+     * Restores the max-heap property of the heap {@code index[lo..lo+size-1]} below node
+     * {@code i}.
+     */
+    private void siftDown(final int[] index, final int lo, int i, final int size) {
+        final int test = index[lo + i];
+        int child;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size && less(index[lo + child], index[lo + child + 1])) {
+                child++;
+            }
+            if (!less(test, index[lo + child])) {
+                break;
+            }
+            index[lo + i] = index[lo + child];
+            i = child;
+        }
+        index[lo + i] = test;
+    }
+
+    private static void swap(final int[] index, final int i, final int j) {
+        final int tmp = index[i];
+        index[i] = index[j];
+        index[j] = tmp;
+    }
+
+    /**
+     * Returns this configuration, as instances are immutable.
+     *
+     * @return this configuration
+     */
+    @Override
+    public RandomKeyOrdering copy() {
+        return this;
+    }
+
+    /**
+     * Returns the number of keys.
+     *
+     * @return the number of test cases
+     */
+    @Override
+    public int degreesOfFreedom() {
+        return keys.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other
+                || other instanceof RandomKeyOrdering that && Arrays.equals(keys, that.keys);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(keys);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RandomKeyOrdering self() {
+        return this;
+    }
+}
@@ -69,8 +69,10 @@ public class RandomSearch<C extends Configuration<C>> implements SearchAlgorithm
      */
     private Pair<C, Double> randomSearch() {
         notifySearchStarted();
+        generator.reset();
 
         Pair<C,Double> bestCandidate = generateSolution();
+        notifyImprovement(bestCandidate.fst());
 
         while (searchCanContinue()){
 
@@ -79,6 +81,7 @@ public class RandomSearch<C extends Configuration<C>> implements SearchAlgorithm
             if (candidate.snd() > bestCandidate.snd())
             {
                 bestCandidate=candidate;
+                notifyImprovement(bestCandidate.fst());
             }
         }
 
@@ -0,0 +1,135 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.configurations.Configuration;
+import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A generator that decorates another generator with seeds, i.e., configurations known to be good
+ * that a search should start from rather than from a random configuration. This lets a search
+ * spend its budget on refining a good solution rather than on climbing out of a random one.
+ * <p>
+ * The first calls hand out every seed once, so that a search calling {@link #get()} only once
+ * starts from the first seed, and a population contains every seed exactly once. Afterwards, every
+ * call returns a copy of a randomly chosen seed with probability {@code ratio}, and delegates to
+ * the decorated generator otherwise. The seeds are handed out atomically, so that the generator
+ * can be shared by workers that initialize their populations in parallel.
+ *
+ * @param <C> the type of configuration generated
+ */
+public final class SeededGenerator<C extends Configuration<C>>
+        implements ConfigurationGenerator<C> {
+
+    /**
+     * The default probability of generating a seed once every seed has been handed out.
+     */
+    public static final double DEFAULT_RATIO = 0.1;
+
+    /**
+     * The generator of configurations other than the seeds.
+     */
+    private final ConfigurationGenerator<C> delegate;
+
+    /**
+     * The seeds, which are never handed out themselves, but only copies of them.
+     */
+    private final List<C> seeds;
+
+    /**
+     * The probability of generating a seed once every seed has been handed out.
+     */
+    private final double ratio;
+
+    /**
+     * The number of seeds handed out so far, which may exceed the number of seeds once all of
+     * them have been handed out.
+     */
+    private final AtomicInteger handedOut = new AtomicInteger();
+
+    /**
+     * Instantiates a new seeded generator.
+     *
+     * @param delegate the generator of configurations other than the seeds, not {@code null}
+     * @param seeds    the seeds, in the order in which to hand them out, not {@code null}
+     * @param ratio    the probability of generating a seed once every seed has been handed out
+     * @throws NullPointerException     if the delegate or a seed is {@code null}
+     * @throws IllegalArgumentException if the ratio is not in [0, 1]
+     */
+    public SeededGenerator(
+            final ConfigurationGenerator<C> delegate,
+            final List<C> seeds,
+            final double ratio)
+            throws NullPointerException, IllegalArgumentException {
+        if (!(ratio >= 0 && ratio <= 1)) {
+            throw new IllegalArgumentException("Invalid ratio: " + ratio);
+        }
+
+        this.delegate = requireNonNull(delegate);
+        this.seeds = List.copyOf(seeds);
+        this.ratio = ratio;
+    }
+
+    /**
+     * Instantiates a new generator seeded with the orderings constructed by the
+     * {@linkplain GreedyStrategy greedy strategies}, additional-greedy first, which decorates the
+     * random orderings generated by the given problem instance. The coverage-descending
+     * (total-greedy) ordering is only a seed if it differs from the additional-greedy one.
+     *
+     * @param problem the problem instance, not {@code null}
+     * @param ratio   the probability of generating a seed once every seed has been handed out
+     * @return the generator
+     * @throws NullPointerException     if the problem instance is {@code null}
+     * @throws IllegalArgumentException if the ratio is not in [0, 1]
+     */
+    public static SeededGenerator<TestCaseOrdering> greedy(
+            final TestCaseOrdering problem,
+            final double ratio)
+            throws NullPointerException, IllegalArgumentException {
+        final PackedCoverage coverage = PackedCoverage.of(problem.coverageMatrix);
+        final int[] additional = GreedyStrategy.ADDITIONAL.order(coverage);
+        final int[] total = GreedyStrategy.TOTAL.order(coverage);
+
+        final List<TestCaseOrdering> seeds = new ArrayList<>(2);
+        seeds.add(problem.withOrdering(additional));
+        if (!Arrays.equals(additional, total)) {
+            seeds.add(problem.withOrdering(total));
+        }
+        return new SeededGenerator<>(problem, seeds, ratio);
+    }
+
+    /**
+     * Returns the next seed that has not been handed out yet, or otherwise a seed or a
+     * configuration of the decorated generator, according to the configured ratio.
+     *
+     * @return the generated configuration
+     */
+    @Override
+    public C get() {
+        if (handedOut.get() < seeds.size()) {
+            final int next = handedOut.getAndIncrement();
+            if (next < seeds.size()) {
+                return seeds.get(next).copy();
+            }
+        }
+
+        if (!seeds.isEmpty() && Randomness.random().nextDouble() < ratio) {
+            return seeds.get(Randomness.random().nextInt(seeds.size())).copy();
+        }
+        return delegate.get();
+    }
+
+    /**
+     * Hands out every seed once more, and resets the decorated generator.
+     */
+    @Override
+    public void reset() {
+        handedOut.set(0);
+        delegate.reset();
+    }
+}
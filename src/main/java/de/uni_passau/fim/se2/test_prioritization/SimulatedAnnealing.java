@@ -1,12 +1,15 @@
 package de.uni_passau.fim.se2.test_prioritization;
 
 import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.configurations.AdaptiveOperatorSelection;
 import de.uni_passau.fim.se2.metaheuristics.configurations.Configuration;
 import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
 import de.uni_passau.fim.se2.metaheuristics.fitness_functions.FitnessFunction;
 import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
 import de.uni_passau.fim.se2.util.Pair;
+import de.uni_passau.fim.se2.util.Randomness;
 
+import java.util.Random;
 import java.util.function.UnaryOperator;
 
 import static java.util.Objects.requireNonNull;
@@ -32,10 +35,25 @@ public class SimulatedAnnealing <C extends Configuration<C>> implements SearchAl
      * Stepping function to perform the simulated annealing.
      */
     private final UnaryOperator<C> stepper;
-    private double p0;
 
     /**
-     * Instantiates a new random walk.
+     * The cooling schedule, driven by the progress of the stopping condition.
+     */
+    private final CoolingSchedule coolingSchedule;
+
+    /**
+     * Number of neighbours of the starting point sampled to calibrate the initial temperature.
+     */
+    private static final int calibrationSamples = 20;
+
+    /**
+     * The probability with which an average worsening move is accepted at the initial
+     * temperature.
+     */
+    private static final double initialAcceptance = 0.8;
+
+    /**
+     * Instantiates a new simulated annealing using a geometric cooling schedule.
      *
      * @param generator         generator for random configurations, not {@code null}
      * @param fitnessFunction   function with which to compute the fitness, not {@code null}
@@ -47,7 +65,26 @@ public class SimulatedAnnealing <C extends Configuration<C>> implements SearchAl
             final FitnessFunction<C> fitnessFunction,
             final StoppingCondition stoppingCondition)
             throws NullPointerException {
-        this(generator, fitnessFunction, stoppingCondition, C::transform);
+        this(generator, fitnessFunction, stoppingCondition,
+                CoolingSchedule.geometric(CoolingSchedule.DEFAULT_FINAL_RATIO));
+    }
+
+    /**
+     * Instantiates a new simulated annealing using the given cooling schedule.
+     *
+     * @param generator         generator for random configurations, not {@code null}
+     * @param fitnessFunction   function with which to compute the fitness, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param coolingSchedule   the cooling schedule to use, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public SimulatedAnnealing(
+            final ConfigurationGenerator<C> generator,
+            final FitnessFunction<C> fitnessFunction,
+            final StoppingCondition stoppingCondition,
+            final CoolingSchedule coolingSchedule)
+            throws NullPointerException {
+        this(generator, fitnessFunction, stoppingCondition, C::transform, coolingSchedule);
     }
 
     public SimulatedAnnealing(
@@ -56,72 +93,119 @@ public class SimulatedAnnealing <C extends Configuration<C>> implements SearchAl
             final StoppingCondition stoppingCondition,
             final UnaryOperator<C> stepper)
             throws NullPointerException, IllegalArgumentException {
+        this(generator, fitnessFunction, stoppingCondition, stepper,
+                CoolingSchedule.geometric(CoolingSchedule.DEFAULT_FINAL_RATIO));
+    }
+
+    public SimulatedAnnealing(
+            final ConfigurationGenerator<C> generator,
+            final FitnessFunction<C> fitnessFunction,
+            final StoppingCondition stoppingCondition,
+            final UnaryOperator<C> stepper,
+            final CoolingSchedule coolingSchedule)
+            throws NullPointerException, IllegalArgumentException {
         this.generator = requireNonNull(generator);
         this.fitnessFunction = requireNonNull(fitnessFunction);
         this.stoppingCondition = requireNonNull(stoppingCondition);
         this.stepper = requireNonNull(stepper);
+        this.coolingSchedule = requireNonNull(coolingSchedule);
     }
 
     /**
-     * Performs a random walk and returns a stream of encountered configurations along with their
-     * fitness values (as pairs).
+     * Performs simulated annealing until the search budget is exhausted and returns the best
+     * encountered configuration along with its fitness value.
      *
-     * @return encountered configurations and their fitness values
+     * @return the best configuration and its fitness value
      */
     private Pair<C, Double> simulatedAnnealing() {
         notifySearchStarted();
+        generator.reset();
+        coolingSchedule.reset();
+        if (stepper instanceof AdaptiveOperatorSelection<C> adaptive) {
+            adaptive.reset();
+        }
 
-        Pair<C,Double> current = generateSolution();
-        Pair<C,Double> bestCandidate =current;
-
-        int step=1;
-        float maxStep=500;
-
-        double fraction, actualTemperature,initialTemperature=0.1f;
-
-        Pair<C,Double> neighbour;
-
-        double p0=0.2;
-
-        while (searchCanContinue() && step<maxStep){
-
-            fraction=step/maxStep;
-            actualTemperature= getTemperature(fraction);
+        Pair<C, Double> current = generateSolution();
+        Pair<C, Double> bestCandidate = current;
+        notifyImprovement(bestCandidate.getFst());
+
+        // Sampling the neighbourhood of the starting point also yields candidate solutions, so we
+        // do not throw them away.
+        final double[] sampledDeltas = new double[calibrationSamples];
+        int samples = 0;
+        while (samples < calibrationSamples && searchCanContinue()) {
+            final Pair<C, Double> neighbour = pickRandomNeighbor(current);
+            sampledDeltas[samples++] = gain(current, neighbour);
+            if (gain(bestCandidate, neighbour) > 0) {
+                bestCandidate = neighbour;
+                notifyImprovement(bestCandidate.getFst());
+            }
+        }
+        final double initialTemperature = calibrateTemperature(sampledDeltas, samples);
 
-            neighbour = pickRandomNeighbor(current);
-            step++;
+        final Random random = Randomness.random();
+        while (searchCanContinue()) {
+            final double temperature =
+                    initialTemperature * coolingSchedule.relativeTemperature(getProgress());
 
-            if(acceptanceProbability(current.snd(),neighbour.snd(),actualTemperature)> p0) {
+            final Pair<C, Double> neighbour = pickRandomNeighbor(current);
+            final double gain = gain(current, neighbour);
+            if (gain >= 0 || random.nextDouble() < Math.exp(gain / temperature)) {
                 current = neighbour;
+            }
 
-                if (current.snd() > bestCandidate.snd()) {
-
-                    bestCandidate = neighbour;
-
-                }
+            final boolean improved = gain(bestCandidate, current) > 0;
+            if (improved) {
+                bestCandidate = current;
+                notifyImprovement(bestCandidate.getFst());
             }
+            coolingSchedule.notifyStep(improved, getProgress());
         }
 
         return bestCandidate;
-
     }
 
-    private double acceptanceProbability(Double fitness, Double newFitness, double temperature) {
-        if(newFitness> fitness){
-            return 1;
-        }
-        else {
-            return Math.exp(-(newFitness-fitness)/temperature);
-        }
+    /**
+     * Tells how much better the second configuration is compared to the first one, taking into
+     * account whether the fitness function is minimizing or maximizing. A negative value means the
+     * second configuration is worse.
+     *
+     * @param from the pair of the reference configuration and its fitness
+     * @param to   the pair of the other configuration and its fitness
+     * @return the fitness gain of going from {@code from} to {@code to}
+     */
+    private double gain(final Pair<C, Double> from, final Pair<C, Double> to) {
+        final double delta = to.snd() - from.snd();
+        return fitnessFunction.isMinimizing() ? -delta : delta;
     }
 
-    private double getTemperature(double fraction) {
+    /**
+     * Computes an initial temperature from the given sample of move gains, such that an average
+     * worsening move is accepted with probability {@code initialAcceptance}. If none of the sampled
+     * moves was worsening, the landscape around the starting point is flat and a tiny temperature
+     * is returned, which makes the search accept improving and neutral moves only.
+     *
+     * @param gains   the sampled gains
+     * @param samples the number of valid entries in {@code gains}
+     * @return the initial temperature
+     */
+    private static double calibrateTemperature(final double[] gains, final int samples) {
+        double sum = 0;
+        int worsening = 0;
+        for (int i = 0; i < samples; i++) {
+            if (gains[i] < 0) {
+                sum -= gains[i];
+                worsening++;
+            }
+        }
 
-        return Math.max(0.01, Math.min(1,1-fraction));
+        if (worsening == 0 || sum == 0) {
+            return Double.MIN_NORMAL;
+        }
 
+        return -(sum / worsening) / Math.log(initialAcceptance);
     }
 
-
     /**
      * Picks a random starting point for a random walk, and returns it as a pair of a configuration
      * along with its fitness value.
@@ -135,15 +219,20 @@ public class SimulatedAnnealing <C extends Configuration<C>> implements SearchAl
     }
 
     /**
-     * Picks a random neighbor for the given configuration using the stepper function.
+     * Picks a random neighbor for the given configuration using the stepper function. If the
+     * stepper selects operators adaptively, it is credited with the fitness gain of the neighbor.
      *
      * @param configFitnessPair the pair of configuration and its fitness
      * @return a random neighbor
      */
     private Pair<C, Double> pickRandomNeighbor(final Pair<C, Double> configFitnessPair) {
-        final C config = configFitnessPair.getFst();
-        final Configuration neighbor = ((TestCaseOrdering) config).apply(config);
-        return makeConfigFitnessPairFor((C) neighbor);
+        final C neighbor = stepper.apply(configFitnessPair.getFst());
+        final Pair<C, Double> pair = makeConfigFitnessPairFor(neighbor);
+        if (stepper instanceof AdaptiveOperatorSelection<C> adaptive) {
+            final double delta = pair.getSnd() - configFitnessPair.getSnd();
+            adaptive.feedback(fitnessFunction.isMinimizing() ? -delta : delta);
+        }
+        return pair;
     }
     /**
      * Creates a pair of the given configuration along with its fitness value. When computing the
@@ -194,6 +283,15 @@ public class SimulatedAnnealing <C extends Configuration<C>> implements SearchAl
         return simulatedAnnealing().fst();
     }
 
+    /**
+     * Returns the stepping function used to go from one configuration to the next.
+     *
+     * @return the stepping function
+     */
+    public UnaryOperator<C> getStepper() {
+        return stepper;
+    }
+
     /**
      * Returns the stopping condition this algorithm uses.
      *
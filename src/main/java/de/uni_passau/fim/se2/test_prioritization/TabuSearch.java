@@ -0,0 +1,221 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static java.util.Objects.requireNonNull;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.util.Randomness;
+import java.util.Random;
+
+/**
+ * Tabu search over the swap and insert neighbourhoods. In every iteration, a candidate list of
+ * random swap and insert moves is sampled and evaluated with {@link IncrementalAPLC}, and the best
+ * admissible candidate is applied, even if it worsens the current ordering. A move is admissible
+ * if none of the test cases it moves is tabu, or if it leads to an ordering better than the best
+ * one found so far (aspiration by objective). After a move, the moved test cases stay tabu for
+ * the given tenure (number of iterations).
+ * <p>
+ * The tabu memory is attribute-based: it stores for every test case the iteration until which it
+ * is tabu, so a lookup takes constant time.
+ * <p>
+ * Applying a move is charged as one fitness evaluation, and evaluating {@code n} candidate moves
+ * is charged as another, where {@code n} is the number of test cases.
+ */
+public final class TabuSearch implements SearchAlgorithm<TestCaseOrdering> {
+
+    /**
+     * The default number of candidate moves sampled per iteration.
+     */
+    public static final int DEFAULT_CANDIDATES = 64;
+
+    /**
+     * The stopping condition.
+     */
+    private final StoppingCondition stoppingCondition;
+
+    /**
+     * The problem instance, from which the solution is derived.
+     */
+    private final TestCaseOrdering problem;
+
+    /**
+     * Generator for the initial ordering.
+     */
+    private final ConfigurationGenerator<TestCaseOrdering> generator;
+
+    /**
+     * The number of candidate moves sampled per iteration.
+     */
+    private final int candidates;
+
+    /**
+     * The number of iterations a moved test case stays tabu.
+     */
+    private final int tenure;
+
+    /**
+     * The bit-packed coverage matrix of the problem.
+     */
+    private final PackedCoverage coverage;
+
+    /**
+     * The number of evaluated candidate moves not yet charged to the stopping condition.
+     */
+    private long unchargedMoves;
+
+    /**
+     * Instantiates a new tabu search with the default number of candidates and a tenure of about
+     * the square root of the number of test cases.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param generator         generator for the initial ordering, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @throws NullPointerException if an argument is {@code null}
+     */
+    public TabuSearch(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> generator,
+            final StoppingCondition stoppingCondition)
+            throws NullPointerException {
+        this(problem, generator, stoppingCondition, DEFAULT_CANDIDATES,
+                Math.max(1, Math.min((int) Math.sqrt(problem.size()), problem.size() / 4)));
+    }
+
+    /**
+     * Instantiates a new tabu search.
+     *
+     * @param problem           the problem instance, not {@code null}
+     * @param generator         generator for the initial ordering, not {@code null}
+     * @param stoppingCondition the stopping condition to use, not {@code null}
+     * @param candidates        the number of candidate moves sampled per iteration, positive
+     * @param tenure            the number of iterations a moved test case stays tabu, positive
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if a numeric parameter is out of range
+     */
+    public TabuSearch(
+            final TestCaseOrdering problem,
+            final ConfigurationGenerator<TestCaseOrdering> generator,
+            final StoppingCondition stoppingCondition,
+            final int candidates,
+            final int tenure)
+            throws NullPointerException, IllegalArgumentException {
+        if (candidates <= 0) {
+            throw new IllegalArgumentException("Number of candidates must be positive: "
+                    + candidates);
+        }
+        if (tenure <= 0) {
+            throw new IllegalArgumentException("Tenure must be positive: " + tenure);
+        }
+
+        this.problem = requireNonNull(problem);
+        this.generator = requireNonNull(generator);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+        this.candidates = candidates;
+        this.tenure = tenure;
+        this.coverage = PackedCoverage.of(problem.coverageMatrix);
+    }
+
+    /**
+     * Performs tabu search until the search budget is exhausted, and returns the best ordering
+     * encountered.
+     *
+     * @return the solution
+     */
+    @Override
+    public TestCaseOrdering findSolution() {
+        notifySearchStarted();
+        generator.reset();
+        unchargedMoves = 0;
+
+        final int n = coverage.tests();
+        final Random random = Randomness.random();
+        final IncrementalAPLC current = new IncrementalAPLC(coverage);
+        current.reset(generator.get().toArray());
+        notifyFitnessEvaluation();
+
+        int[] best = current.ordering();
+        long bestSum = current.sum();
+        notifyImprovement(problem.withOrdering(best));
+
+        // tabuUntil[t] is the first iteration in which test case t may be moved again.
+        final long[] tabuUntil = new long[n];
+        long iteration = 0;
+
+        while (searchCanContinue() && n >= 2) {
+            iteration++;
+
+            PermutationMutation bestMove = null;
+            int bestFrom = -1;
+            int bestTo = -1;
+            long bestDelta = Long.MAX_VALUE;
+
+            for (int c = 0; c < candidates; c++) {
+                final PermutationMutation move = random.nextBoolean()
+                        ? PermutationMutation.SWAP
+                        : PermutationMutation.INSERT;
+                final int from = random.nextInt(n);
+                int to = random.nextInt(n - 1);
+                if (to >= from) {
+                    to++;
+                }
+
+                final long delta = current.delta(move, from, to);
+                if (delta >= bestDelta) {
+                    continue;
+                }
+
+                final boolean tabu = tabuUntil[current.testAt(from)] > iteration
+                        || move == PermutationMutation.SWAP
+                        && tabuUntil[current.testAt(to)] > iteration;
+                if (!tabu || current.sum() + delta < bestSum) {
+                    bestMove = move;
+                    bestFrom = from;
+                    bestTo = to;
+                    bestDelta = delta;
+                }
+            }
+            charge(candidates);
+
+            if (bestMove == null) {
+                continue;
+            }
+
+            tabuUntil[current.testAt(bestFrom)] = iteration + tenure + 1;
+            if (bestMove == PermutationMutation.SWAP) {
+                tabuUntil[current.testAt(bestTo)] = iteration + tenure + 1;
+            }
+            current.apply(bestMove, bestFrom, bestTo);
+            notifyFitnessEvaluation();
+
+            if (current.sum() < bestSum) {
+                best = current.ordering();
+                bestSum = current.sum();
+                notifyImprovement(problem.withOrdering(best));
+            }
+        }
+
+        return problem.withOrdering(best);
+    }
+
+    /**
+     * Charges the given number of evaluated moves to the stopping condition, at the rate of one
+     * fitness evaluation per {@code n} moves.
+     *
+     * @param moves the number of evaluated moves
+     */
+    private void charge(final long moves) {
+        final int n = Math.max(1, coverage.tests());
+        unchargedMoves += moves;
+        getStoppingCondition().notifyFitnessEvaluations((int) (unchargedMoves / n));
+        unchargedMoves %= n;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
@@ -4,14 +4,15 @@ import de.uni_passau.fim.se2.metaheuristics.configurations.Configuration;
 import de.uni_passau.fim.se2.metaheuristics.configurations.ConfigurationGenerator;
 import de.uni_passau.fim.se2.metaheuristics.configurations.ElementaryTransformation;
 import de.uni_passau.fim.se2.metaheuristics.fitness_functions.FitnessFunction;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.MaxFitnessEvaluations;
 import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
 import de.uni_passau.fim.se2.util.Randomness;
-import de.uni_passau.fim.se2.util.SelfTyped;
 
 
 import java.util.*;
 
-public class TestCaseOrdering extends Configuration implements ElementaryTransformation, FitnessFunction, StoppingCondition, ConfigurationGenerator {
+public class TestCaseOrdering extends Configuration<TestCaseOrdering> implements ElementaryTransformation<TestCaseOrdering>,
+        FitnessFunction<TestCaseOrdering>, StoppingCondition, ConfigurationGenerator<TestCaseOrdering> {
 
     final boolean[][] coverageMatrix;
 
@@ -22,6 +23,7 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
     private static boolean isMinimizing = false;
 
     public TestCaseOrdering(boolean[][] coverageMatrix, String algorithm) {
+        super(PermutationMutation.SWAP);
         this.coverageMatrix = coverageMatrix;
         chosenAlgorithm = algorithm;
         isMinimizing = this.isMinimizing();
@@ -29,13 +31,27 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
 
 
     public TestCaseOrdering() {
+        super(PermutationMutation.SWAP);
         coverageMatrix = new boolean[0][];
         chosenAlgorithm = null;
     }
 
-    private int evalCounter = 0;
+    /**
+     * Counts the fitness evaluations of the current search, also when they are reported by
+     * several threads at once. Created when a search starts, as {@code maxEvals} may change, and
+     * since most instances never serve as stopping condition.
+     */
+    private MaxFitnessEvaluations evaluations;
+
+    private volatile boolean isMaxFitnessReached = false;
 
-    private boolean isMaxFitnessReached = false;
+    /**
+     * The coverage matrix of the solutions this stopping condition was last notified about, its
+     * packed form, and the lower bound of its sum of first-coverage positions.
+     */
+    private boolean[][] boundMatrix;
+    private PackedCoverage boundCoverage;
+    private long firstCoverageSumBound;
 
     public Set<Integer> randomSolution;
 
@@ -82,18 +98,13 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
      * @return a new configuration derived from the current one
      */
     @Override
-    public Configuration transform(Configuration configuration) {
-        TestCaseOrdering neighbour = new TestCaseOrdering(this.coverageMatrix, this.chosenAlgorithm);
-        TestCaseOrdering solution = (TestCaseOrdering) configuration;
-
-        Random randomness = Randomness.random();
-        Set<Integer> ordersGenerated = new LinkedHashSet<Integer>();
-        while (ordersGenerated.size() < solution.randomSolution.size()) {
-            Integer nextRandom = randomness.nextInt(solution.randomSolution.size());
-            ordersGenerated.add(nextRandom);
-        }
-        neighbour.randomSolution = ordersGenerated;
-        return neighbour;
+    public TestCaseOrdering transform(TestCaseOrdering configuration) {
+        // Swap two distinct test cases. Unlike drawing a fresh permutation, this keeps the
+        // neighbour close to the original ordering, which local search algorithms rely on.
+        int[] ordering = configuration.toArray();
+        PermutationMutation.SWAP.mutate(ordering, Randomness.random());
+
+        return withOrdering(ordering);
 
     }
 
@@ -104,10 +115,8 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
      * @return the function result
      */
     @Override
-    public Object apply(Object o) {
-        TestCaseOrdering o1 = (TestCaseOrdering) o;
-
-        return this.transform(o1);
+    public TestCaseOrdering apply(TestCaseOrdering o) {
+        return this.transform(o);
     }
 
     /**
@@ -117,7 +126,7 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
      * @return a copy of this configuration
      */
     @Override
-    public Configuration copy() {
+    public TestCaseOrdering copy() {
         return this;
     }
 
@@ -173,7 +182,7 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
      * @return a reference to the self-type
      */
     @Override
-    public SelfTyped self() {
+    public TestCaseOrdering self() {
         return this;
     }
 
@@ -196,14 +205,15 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
      * @throws NullPointerException if {@code null} is given
      */
     @Override
-    public double getFitnessFor(Object o) {
-        TestCaseOrdering testCase = (TestCaseOrdering) o;
+    public double getFitnessFor(TestCaseOrdering o) {
+        TestCaseOrdering testCase = o;
         Set<Integer> randomSolution = testCase.randomSolution;
         boolean[][] coverageMatrix = testCase.coverageMatrix;
         double m = coverageMatrix[0].length;
         double n = coverageMatrix.length;
 
-        return Fitness.getFitness(m, n, coverageMatrix, randomSolution.stream().mapToInt(Integer::intValue).toArray());
+        return Fitness.getFitness(m, n, coverageMatrix, randomSolution.stream().mapToInt(Integer::intValue).toArray(),
+                isMinimizing());
 
 
     }
@@ -233,7 +243,8 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
      */
     @Override
     public void notifySearchStarted() {
-        evalCounter = 0;
+        evaluations = new MaxFitnessEvaluations(Math.max(0, maxEvals));
+        evaluations.notifySearchStarted();
         isMaxFitnessReached = false;
     }
 
@@ -243,19 +254,55 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
      */
     @Override
     public void notifyFitnessEvaluation() {
-        evalCounter++;
+        evaluations().notifyFitnessEvaluation();
     }
 
     /**
-     * Tells whether the search algorithm must stop, i.e., the search budget has been exhausted. The
-     * inverse of {@code searchCanContinue()}.
+     * Notifies this stopping condition that a number of fitness evaluations took place. Intended
+     * to be called by the search algorithm the stopping condition is subscribed to.
+     *
+     * @param evaluations the number of evaluations, must not be negative
+     * @throws IllegalArgumentException if the given number of evaluations is negative
+     */
+    @Override
+    public void notifyFitnessEvaluations(final int evaluations) throws IllegalArgumentException {
+        evaluations().notifyFitnessEvaluations(evaluations);
+    }
+
+    /**
+     * Notifies this stopping condition that the search has found a better solution. If the
+     * solution attains the upper bound of the APLC value from
+     * {@link PackedCoverage#firstCoverageSumBound()}, it is optimal and the search must stop.
+     * The bound of a coverage matrix is computed once.
+     *
+     * @param solution the new best solution
+     */
+    @Override
+    public void notifyImprovement(final Object solution) {
+        if (!(solution instanceof TestCaseOrdering ordering)
+                || ordering.coverageMatrix.length == 0) {
+            return;
+        }
+
+        if (ordering.coverageMatrix != boundMatrix) {
+            boundMatrix = ordering.coverageMatrix;
+            boundCoverage = PackedCoverage.of(boundMatrix);
+            firstCoverageSumBound = boundCoverage.firstCoverageSumBound();
+        }
+        isMaxFitnessReached =
+                boundCoverage.firstCoverageSum(ordering.toArray()) <= firstCoverageSumBound;
+    }
+
+    /**
+     * Tells whether the search algorithm must stop, i.e., the search budget has been exhausted or
+     * an optimal solution has been found. The inverse of {@code searchCanContinue()}.
      *
      * @return {@code true} if the search must stop, {@code false} otherwise
      */
     @Override
     public boolean searchMustStop() {
 
-        return (isMaxFitnessReached || evalCounter > maxEvals);
+        return (isMaxFitnessReached || evaluations().searchMustStop());
     }
 
     /**
@@ -268,7 +315,31 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
      */
     @Override
     public double getProgress() {
-        return evalCounter/maxEvals;
+        return evaluations().getProgress();
+    }
+
+    /**
+     * Tells that this stopping condition is thread-safe, as it counts the fitness evaluations with
+     * a {@link MaxFitnessEvaluations}.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    /**
+     * Returns the evaluation counter of the current search, creating it if no search has been
+     * started yet.
+     *
+     * @return the evaluation counter
+     */
+    private MaxFitnessEvaluations evaluations() {
+        if (evaluations == null) {
+            evaluations = new MaxFitnessEvaluations(Math.max(0, maxEvals));
+        }
+        return evaluations;
     }
 
 
@@ -279,7 +350,7 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
      * @return a random configuration
      */
     @Override
-    public Configuration get() {
+    public TestCaseOrdering get() {
 
         TestCaseOrdering c = new TestCaseOrdering(this.coverageMatrix, chosenAlgorithm);
         if (this.coverageMatrix.length > 0) {
@@ -297,4 +368,74 @@ public class TestCaseOrdering extends Configuration implements ElementaryTransfo
         }
     }
 
+    /**
+     * Returns the ordering encoded by this configuration as an array of test case indices.
+     *
+     * @return the ordering
+     */
+    public int[] toArray() {
+        return randomSolution.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Computes the fitness of the given ordering directly, without wrapping it in a configuration
+     * first. Returns the same value as {@link #getFitnessFor(TestCaseOrdering)} for a configuration
+     * that encodes {@code ordering}.
+     *
+     * @param ordering the ordering of test case indices
+     * @return the fitness of the ordering
+     */
+    public double getFitnessFor(int[] ordering) {
+        double m = coverageMatrix[0].length;
+        double n = coverageMatrix.length;
+        return Fitness.getFitness(m, n, coverageMatrix, ordering, isMinimizing());
+    }
+
+    /**
+     * Returns the number of test cases in the coverage matrix of this configuration.
+     *
+     * @return the number of test cases
+     */
+    public int size() {
+        return coverageMatrix.length;
+    }
+
+    /**
+     * Creates a uniformly random ordering of {@code n} test cases using the Fisher-Yates shuffle.
+     *
+     * @param n      the number of test cases
+     * @param random the source of randomness to use
+     * @return the random ordering
+     */
+    public static int[] randomOrdering(int n, Random random) {
+        int[] ordering = new int[n];
+        for (int i = 0; i < n; i++) {
+            ordering[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = ordering[i];
+            ordering[i] = ordering[j];
+            ordering[j] = tmp;
+        }
+        return ordering;
+    }
+
+    /**
+     * Creates a new configuration for the same coverage matrix and algorithm that encodes the given
+     * ordering. The caller is responsible for passing a valid permutation of the test cases.
+     *
+     * @param ordering the ordering of test case indices
+     * @return the new configuration
+     */
+    public TestCaseOrdering withOrdering(int[] ordering) {
+        TestCaseOrdering c = new TestCaseOrdering(this.coverageMatrix, chosenAlgorithm);
+        Set<Integer> orders = new LinkedHashSet<Integer>();
+        for (int testCase : ordering) {
+            orders.add(testCase);
+        }
+        c.randomSolution = orders;
+        return c;
+    }
+
 }
@@ -16,6 +16,7 @@ import org.knowm.xchart.BoxChartBuilder;
 import org.knowm.xchart.SwingWrapper;
 import org.knowm.xchart.XYChart;
 import org.knowm.xchart.XYChartBuilder;
+import org.knowm.xchart.XYSeries.XYSeriesRenderStyle;
 
 public abstract class Plotter {
 
@@ -60,6 +61,28 @@ public abstract class Plotter {
         return chart;
     }
 
+    private static XYChart scatter(
+            final String xAxisTitle,
+            final String yAxisTitle,
+            final String[] series,
+            final double[][] xValues,
+            final double[][] yValues) {
+        assert xValues.length == series.length && yValues.length == series.length;
+
+        final XYChart chart = new XYChartBuilder()
+                .title("Pareto Front")
+                .xAxisTitle(xAxisTitle)
+                .yAxisTitle(yAxisTitle)
+                .build();
+        chart.getStyler().setDefaultSeriesRenderStyle(XYSeriesRenderStyle.Scatter);
+
+        for (int i = 0; i < series.length; i++) {
+            chart.addSeries(series[i], xValues[i], yValues[i]);
+        }
+
+        return chart;
+    }
+
     private static BoxChart boxplot(final String[] algorithms, final double[][] fitnessValues) {
         assert fitnessValues.length == algorithms.length;
 
@@ -92,6 +115,18 @@ public abstract class Plotter {
      */
     public abstract void fitnessBoxplot(final String[] algorithms, final double[][] values);
 
+    /**
+     * Plots the points of one or more Pareto fronts of a bi-objective problem as a scatter chart.
+     *
+     * @param xAxisTitle the name of the objective on the x-axis
+     * @param yAxisTitle the name of the objective on the y-axis
+     * @param series     the names of the fronts, e.g., one per algorithm
+     * @param xValues    the values of the first objective, per front
+     * @param yValues    the values of the second objective, per front
+     */
+    public abstract void paretoFront(final String xAxisTitle, final String yAxisTitle,
+            final String[] series, final double[][] xValues, final double[][] yValues);
+
     /**
      * Headless plotter that writes its charts to PNG files.
      */
@@ -149,6 +184,18 @@ public abstract class Plotter {
                 e.printStackTrace();
             }
         }
+
+        @Override
+        public void paretoFront(final String xAxisTitle, final String yAxisTitle,
+                final String[] series, final double[][] xValues, final double[][] yValues) {
+            final var scatter = scatter(xAxisTitle, yAxisTitle, series, xValues, yValues);
+            final String filename = outDirName + "/paretoFront-" + now() + ".png";
+            try {
+                BitmapEncoder.saveBitmapWithDPI(scatter, filename, BitmapFormat.PNG, 72);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
     }
 
     /**
@@ -169,5 +216,12 @@ public abstract class Plotter {
         public void fitnessBoxplot(final String[] algorithms, final double[][] values) {
             new SwingWrapper<>(boxplot(algorithms, values)).displayChart();
         }
+
+        @Override
+        public void paretoFront(final String xAxisTitle, final String yAxisTitle,
+                final String[] series, final double[][] xValues, final double[][] yValues) {
+            new SwingWrapper<>(scatter(xAxisTitle, yAxisTitle, series, xValues, yValues))
+                    .displayChart();
+        }
     }
 }
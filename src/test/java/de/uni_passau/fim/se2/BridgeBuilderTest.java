@@ -0,0 +1,26 @@
+package de.uni_passau.fim.se2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import de.uni_passau.fim.se2.Main.Algorithm;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the algorithms can be built for suites of any size.
+ */
+class BridgeBuilderTest {
+
+    @Test
+    void test_buildSimulatedAnnealing_largeSuite() {
+        // The square of the number of test cases exceeds the range of int.
+        final boolean[][] matrix = new boolean[50_000][1];
+        matrix[0][0] = true;
+
+        assertNotNull(Bridge.buildAlgorithm(Algorithm.SA, new Random(1),
+                Bridge.buildMaxFitnessEvalsCondition(10), matrix));
+        assertEquals(Integer.MAX_VALUE, Bridge.reheatingPatience(50_000));
+        assertEquals(1, Bridge.reheatingPatience(0));
+    }
+}
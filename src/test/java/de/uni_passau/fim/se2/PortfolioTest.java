@@ -0,0 +1,44 @@
+package de.uni_passau.fim.se2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.uni_passau.fim.se2.Main.Algorithm;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that every racer of a portfolio, including the default ones, reports its improvements
+ * and respects the shared deadline.
+ */
+class PortfolioTest {
+
+    @Test
+    void test_race_defaultAlgorithmsReportAndStopInTime() {
+        final Random random = new Random(11);
+        final boolean[][] matrix = new boolean[100][300];
+        for (final boolean[] row : matrix) {
+            for (int line = 0; line < row.length; line++) {
+                row[line] = random.nextInt(10) == 0;
+            }
+        }
+        final Portfolio portfolio = new Portfolio(List.of(Algorithm.SA, Algorithm.RS),
+                (algorithm, condition) -> Bridge.buildAlgorithm(algorithm, random, condition,
+                        matrix),
+                () -> null, matrix, 1000);
+
+        final long start = System.nanoTime();
+        final List<Portfolio.Result> results = portfolio.race();
+        final long elapsed = System.nanoTime() - start;
+
+        assertEquals(2, results.size());
+        for (final Portfolio.Result result : results) {
+            // Every racer reports its first solution right away, long before the race ends.
+            assertTrue(result.curve().length > 0 && result.curve()[0][0] < 0.5,
+                    result.algorithm() + " reported nothing during the race");
+        }
+        // Generous, as the racers share a single core in some environments.
+        assertTrue(elapsed < 5_000_000_000L);
+    }
+}
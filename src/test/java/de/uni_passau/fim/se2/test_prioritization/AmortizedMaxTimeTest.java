@@ -0,0 +1,36 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.AmortizedMaxTime;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the amortized time budget reads the clock rarely for fast searches, and still
+ * notices the end of the budget in time.
+ */
+class AmortizedMaxTimeTest {
+
+    @Test
+    void test_searchMustStop_readsClockRarely() {
+        final AmortizedMaxTime condition =
+                AmortizedMaxTime.of(Duration.ofMillis(200), Duration.ofMillis(1));
+
+        final long start = System.nanoTime();
+        condition.notifySearchStarted();
+        while (condition.searchCanContinue()) {
+            Thread.onSpinWait();
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        final AmortizedMaxTime.Statistics statistics = condition.getStatistics();
+        assertEquals(1, statistics.expirations());
+        assertTrue(elapsed >= 200_000_000L);
+        // The bound is loose, because the test thread may be descheduled.
+        assertTrue(statistics.lastOvershoot() < 50_000_000L);
+        assertTrue(statistics.readings() * 10 < statistics.queries());
+        assertEquals(1.0, condition.getProgress());
+    }
+}
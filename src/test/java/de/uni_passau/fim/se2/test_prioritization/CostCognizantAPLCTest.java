@@ -0,0 +1,57 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the cost-cognizant APLC objective against hand-computed values and the plain APLC value.
+ */
+class CostCognizantAPLCTest {
+
+    private static final boolean[][] MATRIX = {
+            {true, false, false},
+            {false, true, true},
+            {true, true, false},
+    };
+
+    @Test
+    void test_evaluate_equalTimes_equalsAPLC() {
+        final Random random = new Random(3);
+        final PackedCoverage coverage = PackedCoverage.of(MATRIX);
+        final double[] times = new double[MATRIX.length];
+        Arrays.fill(times, 2.5);
+        final OrderingObjective costCognizant = new CostCognizantAPLC(coverage, times);
+
+        for (int trial = 0; trial < 10; trial++) {
+            final int[] ordering = TestCaseOrdering.randomOrdering(MATRIX.length, random);
+            assertEquals(coverage.aplc(ordering), costCognizant.evaluate(ordering), 1e-12);
+        }
+    }
+
+    @Test
+    void test_evaluate_weightsByExecutionTime() {
+        final PackedCoverage coverage = PackedCoverage.of(MATRIX);
+        final OrderingObjective costCognizant =
+                new CostCognizantAPLC(coverage, new double[]{1, 6, 3});
+
+        // Test 0 covers line 0 (10 - 1/2), test 1 covers lines 1 and 2 (2 * (9 - 6/2)).
+        assertEquals((9.5 + 2 * 6) / (10 * 3), costCognizant.evaluate(new int[]{0, 1, 2}), 1e-12);
+        // Test 2 covers lines 0 and 1 (2 * (10 - 3/2)), test 1 covers line 2 (7 - 6/2).
+        assertEquals((17 + 4) / 30d, costCognizant.evaluate(new int[]{2, 1, 0}), 1e-12);
+    }
+
+    @Test
+    void test_constructor_rejectsInvalidTimes() {
+        final PackedCoverage coverage = PackedCoverage.of(MATRIX);
+        assertThrows(IllegalArgumentException.class,
+                () -> new CostCognizantAPLC(coverage, new double[]{1, 2}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CostCognizantAPLC(coverage, new double[]{1, -1, 2}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CostCognizantAPLC(coverage, new double[3]));
+    }
+}
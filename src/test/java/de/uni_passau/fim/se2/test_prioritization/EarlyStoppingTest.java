@@ -0,0 +1,94 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.MaxTime;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.OneOf;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.Stagnation;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.TargetFitness;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that searches stop once they stagnate or reach the upper bound of the APLC value.
+ */
+class EarlyStoppingTest {
+
+    /**
+     * Creates a matrix whose test cases cover disjoint lines, of different sizes.
+     */
+    private static boolean[][] disjointMatrix(final int tests) {
+        final boolean[][] matrix = new boolean[tests][tests * (tests + 1) / 2];
+        for (int test = 0, line = 0; test < tests; test++) {
+            for (int i = 0; i <= test; i++) {
+                matrix[test][line++] = true;
+            }
+        }
+        return matrix;
+    }
+
+    @Test
+    void test_firstCoverageSumBound_boundsEveryOrdering() {
+        final Random random = new Random(3);
+        final boolean[][] matrix = new boolean[8][40];
+        for (final boolean[] row : matrix) {
+            for (int line = 0; line < row.length; line++) {
+                row[line] = random.nextInt(4) == 0;
+            }
+        }
+        final PackedCoverage coverage = PackedCoverage.of(matrix);
+        final long bound = coverage.firstCoverageSumBound();
+
+        final int[] ordering = {0, 1, 2, 3, 4, 5, 6, 7};
+        for (int i = 0; i < 200; i++) {
+            PermutationMutation.SWAP.mutate(ordering, random);
+            assertTrue(coverage.firstCoverageSum(ordering) >= bound);
+        }
+    }
+
+    @Test
+    void test_firstCoverageSumBound_attainedByDisjointTestCases() {
+        final PackedCoverage coverage = PackedCoverage.of(disjointMatrix(4));
+
+        assertEquals(coverage.firstCoverageSum(new int[]{3, 2, 1, 0}),
+                coverage.firstCoverageSumBound());
+        assertEquals(coverage.aplc(new int[]{3, 2, 1, 0}), coverage.aplcBound());
+    }
+
+    @Test
+    void test_targetFitness_stopsAtOptimum() {
+        final boolean[][] matrix = disjointMatrix(6);
+        final PackedCoverage coverage = PackedCoverage.of(matrix);
+        final TestCaseOrdering problem = new TestCaseOrdering(matrix, "HC");
+        final StoppingCondition condition = new OneOf(MaxTime.seconds(60),
+                TargetFitness.<TestCaseOrdering>atMost(
+                        o -> coverage.firstCoverageSum(o.toArray()),
+                        coverage.firstCoverageSumBound()));
+
+        final long start = System.nanoTime();
+        final TestCaseOrdering solution =
+                new HillClimbing(problem, condition, PermutationMutation.SWAP).findSolution();
+
+        assertEquals(coverage.aplcBound(), coverage.aplc(solution.toArray()));
+        assertTrue(System.nanoTime() - start < 30_000_000_000L);
+    }
+
+    @Test
+    void test_stagnation_stopsWithoutImprovement() {
+        final Stagnation condition = Stagnation.evaluations(3);
+        condition.notifySearchStarted();
+        condition.notifyFitnessEvaluations(3);
+        assertFalse(condition.searchMustStop());
+
+        condition.notifyImprovement(null);
+        condition.notifyFitnessEvaluations(3);
+        assertFalse(condition.searchMustStop());
+
+        condition.notifyFitnessEvaluation();
+        assertTrue(condition.searchMustStop());
+        assertEquals(1.0, condition.getProgress());
+    }
+}
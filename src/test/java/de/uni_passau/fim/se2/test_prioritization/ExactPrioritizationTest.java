@@ -0,0 +1,92 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.MaxTime;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the exact prioritization against exhaustive enumeration of all orderings.
+ */
+class ExactPrioritizationTest {
+
+    @Test
+    void test_findSolution_matchesBruteForce() {
+        final Random random = new Random(7);
+        for (int trial = 0; trial < 20; trial++) {
+            final boolean[][] matrix = new boolean[7][12];
+            for (final boolean[] row : matrix) {
+                for (int line = 0; line < row.length; line++) {
+                    row[line] = random.nextInt(4) == 0;
+                }
+            }
+            // Include a duplicate and an empty test case, which the search sets aside.
+            matrix[5] = matrix[2].clone();
+            matrix[6] = new boolean[12];
+
+            assertOptimal(matrix);
+        }
+    }
+
+    @Test
+    void test_findSolution_smallSuiteWithWideRows() {
+        final Random random = new Random(11);
+        final boolean[][] matrix = new boolean[8][150];
+        for (final boolean[] row : matrix) {
+            for (int line = 0; line < row.length; line++) {
+                row[line] = random.nextInt(3) == 0;
+            }
+        }
+        assertOptimal(matrix);
+    }
+
+    @Test
+    void test_constructor_rejectsLargeSuites() {
+        final boolean[][] matrix = new boolean[ExactPrioritization.MAX_TESTS + 1][];
+        for (int test = 0; test < matrix.length; test++) {
+            matrix[test] = new boolean[matrix.length];
+            matrix[test][test] = true;
+        }
+        final TestCaseOrdering problem = new TestCaseOrdering(matrix, "EXACT");
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExactPrioritization(problem, MaxTime.seconds(60)));
+    }
+
+    private static void assertOptimal(final boolean[][] matrix) {
+        final PackedCoverage coverage = PackedCoverage.of(matrix);
+        final TestCaseOrdering problem = new TestCaseOrdering(matrix, "EXACT");
+        final int[] ordering =
+                new ExactPrioritization(problem, MaxTime.seconds(60), 1 << 4).findSolution()
+                        .toArray();
+        assertEquals(bruteForce(coverage), coverage.firstCoverageSum(ordering));
+    }
+
+    private static long bruteForce(final PackedCoverage coverage) {
+        final int[] ordering = new int[coverage.tests()];
+        for (int i = 0; i < ordering.length; i++) {
+            ordering[i] = i;
+        }
+        return permute(coverage, ordering, 0);
+    }
+
+    private static long permute(final PackedCoverage coverage, final int[] ordering, final int k) {
+        if (k == ordering.length) {
+            return coverage.firstCoverageSum(ordering);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = k; i < ordering.length; i++) {
+            swap(ordering, k, i);
+            best = Math.min(best, permute(coverage, ordering, k + 1));
+            swap(ordering, k, i);
+        }
+        return best;
+    }
+
+    private static void swap(final int[] ordering, final int i, final int j) {
+        final int tmp = ordering[i];
+        ordering[i] = ordering[j];
+        ordering[j] = tmp;
+    }
+}
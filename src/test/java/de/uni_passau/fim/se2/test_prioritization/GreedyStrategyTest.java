@@ -0,0 +1,34 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the orderings constructed by the greedy strategies on a small coverage matrix.
+ */
+class GreedyStrategyTest {
+
+    private static final boolean T = true;
+    private static final boolean F = false;
+
+    private static final boolean[][] COVERAGE = {
+            {T, T, F, F, F},
+            {T, T, T, T, F},
+            {F, F, F, F, F},
+            {F, F, F, F, T},
+            {F, F, T, T, F},
+    };
+
+    @Test
+    void test_total_ordersByLineCount() {
+        assertArrayEquals(new int[]{1, 0, 4, 3, 2},
+                GreedyStrategy.TOTAL.order(PackedCoverage.of(COVERAGE)));
+    }
+
+    @Test
+    void test_additional_resetsOnSaturation() {
+        assertArrayEquals(new int[]{1, 3, 0, 4, 2},
+                GreedyStrategy.ADDITIONAL.order(PackedCoverage.of(COVERAGE)));
+    }
+}
@@ -0,0 +1,190 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.uni_passau.fim.se2.metaheuristics.algorithms.SearchAlgorithm;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.ImprovementPublisher;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.ImprovementPublisher.Improvement;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.MaxFitnessEvaluations;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.MaxTime;
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.StoppingCondition;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that searches publish their strict improvements and can be cancelled by subscribers.
+ */
+class ImprovementPublisherTest {
+
+    private static boolean[][] randomMatrix(final int tests, final int lines, final long seed) {
+        final Random random = new Random(seed);
+        final boolean[][] matrix = new boolean[tests][lines];
+        for (final boolean[] row : matrix) {
+            for (int line = 0; line < lines; line++) {
+                row[line] = random.nextInt(5) == 0;
+            }
+        }
+        return matrix;
+    }
+
+    @Test
+    void test_run_publishesStrictImprovements() throws InterruptedException {
+        final boolean[][] matrix = randomMatrix(40, 100, 5);
+        final PackedCoverage coverage = PackedCoverage.of(matrix);
+        final TestCaseOrdering problem = new TestCaseOrdering(matrix, "HC");
+        final ImprovementPublisher<TestCaseOrdering> publisher =
+                new ImprovementPublisher<>(MaxTime.seconds(1));
+        final HillClimbing search = new HillClimbing(problem, publisher, PermutationMutation.SWAP);
+
+        final List<Improvement<TestCaseOrdering>> improvements = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final Improvement<TestCaseOrdering> improvement) {
+                improvements.add(improvement);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        final TestCaseOrdering solution = publisher.run(search);
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+
+        assertFalse(improvements.isEmpty());
+        for (int i = 1; i < improvements.size(); i++) {
+            final Improvement<TestCaseOrdering> previous = improvements.get(i - 1);
+            final Improvement<TestCaseOrdering> next = improvements.get(i);
+            assertTrue(coverage.aplc(next.solution().toArray())
+                    > coverage.aplc(previous.solution().toArray()));
+            assertTrue(next.evaluations() >= previous.evaluations());
+            assertTrue(next.nanos() >= previous.nanos());
+        }
+        final Improvement<TestCaseOrdering> last = improvements.get(improvements.size() - 1);
+        assertEquals(coverage.aplc(solution.toArray()), coverage.aplc(last.solution().toArray()));
+    }
+
+    @Test
+    void test_run_resendsFinalImprovementOnlyToSubscribersThatMissedIt()
+            throws InterruptedException {
+        final ImprovementPublisher<Integer> publisher =
+                new ImprovementPublisher<>(new MaxFitnessEvaluations(0));
+        final CountDownLatch published = new CountDownLatch(1);
+        final SearchAlgorithm<Integer> search = new SearchAlgorithm<>() {
+            @Override
+            public Integer findSolution() {
+                notifySearchStarted();
+                // Far more improvements than a blocked subscriber can buffer.
+                for (int i = 0; i < 4 * Flow.defaultBufferSize(); i++) {
+                    notifyImprovement(i);
+                }
+                published.countDown();
+                return 4 * Flow.defaultBufferSize() - 1;
+            }
+
+            @Override
+            public StoppingCondition getStoppingCondition() {
+                return publisher;
+            }
+        };
+
+        final List<List<Integer>> received = List.of(new CopyOnWriteArrayList<>(),
+                new CopyOnWriteArrayList<>());
+        final CountDownLatch completed = new CountDownLatch(received.size());
+        for (final List<Integer> solutions : received) {
+            // The first subscriber falls behind until all improvements have been published.
+            final boolean slow = solutions == received.get(0);
+            publisher.subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(final Flow.Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(final Improvement<Integer> improvement) {
+                    if (slow) {
+                        try {
+                            published.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    solutions.add(improvement.solution());
+                }
+
+                @Override
+                public void onError(final Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.countDown();
+                }
+            });
+        }
+
+        final Integer solution = publisher.run(search);
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+
+        for (final List<Integer> solutions : received) {
+            for (int i = 1; i < solutions.size(); i++) {
+                assertTrue(solutions.get(i) > solutions.get(i - 1));
+            }
+            assertEquals(solution, solutions.get(solutions.size() - 1));
+        }
+    }
+
+    @Test
+    void test_cancel_stopsSearch() {
+        final boolean[][] matrix = randomMatrix(40, 100, 6);
+        final TestCaseOrdering problem = new TestCaseOrdering(matrix, "HC");
+        final ImprovementPublisher<TestCaseOrdering> publisher =
+                new ImprovementPublisher<>(MaxTime.seconds(60));
+        final HillClimbing search = new HillClimbing(problem, publisher, PermutationMutation.SWAP);
+
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(final Improvement<TestCaseOrdering> improvement) {
+                subscription.cancel();
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        final long start = System.nanoTime();
+        publisher.run(search);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+    }
+}
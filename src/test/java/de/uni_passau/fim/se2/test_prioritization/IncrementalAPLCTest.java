@@ -0,0 +1,53 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Checks that the delta of every move equals the difference of the first-coverage sums computed
+ * from scratch.
+ */
+class IncrementalAPLCTest {
+
+    private static final int TRIALS = 50;
+
+    private final Random random = new Random(7);
+
+    @ParameterizedTest
+    @EnumSource(PermutationMutation.class)
+    void test_delta_matchesRecomputation(final PermutationMutation move) {
+        for (int trial = 0; trial < TRIALS; trial++) {
+            final int n = 1 + random.nextInt(20);
+            final int lines = 1 + random.nextInt(100);
+            final PackedCoverage coverage = PackedCoverage.of(randomMatrix(n, lines));
+            final int[] ordering = TestCaseOrdering.randomOrdering(n, random);
+            final IncrementalAPLC evaluator = new IncrementalAPLC(coverage);
+            evaluator.reset(ordering);
+
+            assertEquals(coverage.firstCoverageSum(ordering), evaluator.sum());
+            for (int from = 0; from < n; from++) {
+                for (int to = 0; to < n; to++) {
+                    final int[] moved = ordering.clone();
+                    move.move(moved, from, to);
+                    final long expected = coverage.firstCoverageSum(moved) - evaluator.sum();
+                    assertEquals(expected, evaluator.delta(move, from, to),
+                            move + " from " + from + " to " + to);
+                }
+            }
+        }
+    }
+
+    private boolean[][] randomMatrix(final int tests, final int lines) {
+        final double density = 0.3 * random.nextDouble();
+        final boolean[][] matrix = new boolean[tests][lines];
+        for (final boolean[] row : matrix) {
+            for (int line = 0; line < lines; line++) {
+                row[line] = random.nextDouble() < density;
+            }
+        }
+        return matrix;
+    }
+}
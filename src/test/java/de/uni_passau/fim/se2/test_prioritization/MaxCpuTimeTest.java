@@ -0,0 +1,99 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.MaxCpuTime;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the CPU-time budget adds up the CPU time of all threads taking part in a search.
+ */
+class MaxCpuTimeTest {
+
+    private static long processCpuTime() {
+        return ((com.sun.management.OperatingSystemMXBean)
+                ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+
+    @Test
+    void test_aggregateSeconds_countsWorkersOfParallelSearch() {
+        final Random random = new Random(5);
+        final boolean[][] matrix = new boolean[200][1000];
+        for (final boolean[] row : matrix) {
+            for (int line = 0; line < row.length; line++) {
+                row[line] = random.nextInt(10) == 0;
+            }
+        }
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final List<Thread> workers = new CopyOnWriteArrayList<>();
+        final ForkJoinPool pool = new ForkJoinPool(4, p -> {
+            final ForkJoinWorkerThread worker =
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            workers.add(worker);
+            return worker;
+        }, null, false);
+        try {
+            // The ants evaluate on the workers of the pool, which never contact the condition.
+            final AntColonyOptimization search = new AntColonyOptimization(
+                    new TestCaseOrdering(matrix, "ACO"), MaxCpuTime.aggregateSeconds(1),
+                    AntColonyOptimization.DEFAULT_ANTS, AntColonyOptimization.DEFAULT_EVAPORATION,
+                    AntColonyOptimization.DEFAULT_ALPHA, AntColonyOptimization.DEFAULT_BETA, pool);
+
+            final long start = processCpuTime();
+            final long searchStart = threads.getCurrentThreadCpuTime();
+            search.findSolution();
+            long searched = threads.getCurrentThreadCpuTime() - searchStart;
+            for (final Thread worker : workers) {
+                searched += Math.max(0, threads.getThreadCpuTime(worker.getId()));
+            }
+            final long consumed = processCpuTime() - start;
+
+            // The process used up the budget. The threads of the search did not exceed it by more
+            // than an iteration of the colony; unlike the process, they exclude GC and JIT threads.
+            assertTrue(consumed >= 1_000_000_000L);
+            assertTrue(searched < 1_500_000_000L, "Searched " + searched / 1e9 + "s");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void test_aggregateSeconds_countsAllWorkers() throws InterruptedException {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final MaxCpuTime condition = MaxCpuTime.aggregateSeconds(1);
+        final AtomicLong consumed = new AtomicLong();
+        final Runnable worker = () -> {
+            final long start = threads.getCurrentThreadCpuTime();
+            while (condition.searchCanContinue()) {
+                Thread.onSpinWait();
+            }
+            consumed.addAndGet(threads.getCurrentThreadCpuTime() - start);
+        };
+
+        final long start = processCpuTime();
+        condition.notifySearchStarted();
+        final Thread first = new Thread(worker);
+        final Thread second = new Thread(worker);
+        first.start();
+        second.start();
+        first.join();
+        second.join();
+
+        // The process used up the budget, and the workers together did not exceed it, so neither
+        // of them used up a budget on its own. Their CPU time is bounded instead of that of the
+        // process, which also includes GC and JIT threads.
+        assertTrue(processCpuTime() - start >= 1_000_000_000L);
+        assertTrue(consumed.get() < 1_500_000_000L);
+        assertEquals(1.0, condition.getProgress());
+        assertEquals(1, condition.getStatistics().expirations());
+    }
+}
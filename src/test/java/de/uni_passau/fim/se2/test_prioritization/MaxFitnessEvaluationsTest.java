@@ -0,0 +1,60 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.uni_passau.fim.se2.metaheuristics.stopping_conditions.MaxFitnessEvaluations;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that parallel workers sharing an evaluation budget use it exactly.
+ */
+class MaxFitnessEvaluationsTest {
+
+    @Test
+    void test_searchMustStop_exactBudgetForParallelWorkers() throws Exception {
+        final MaxFitnessEvaluations condition = new MaxFitnessEvaluations(100_003, 64);
+        final AtomicLong evaluated = new AtomicLong();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int search = 0; search < 2; search++) {
+                condition.notifySearchStarted();
+                evaluated.set(0);
+                final Future<?>[] workers = new Future<?>[4];
+                for (int i = 0; i < workers.length; i++) {
+                    workers[i] = executor.submit(() -> {
+                        while (condition.searchCanContinue()) {
+                            evaluated.incrementAndGet();
+                            condition.notifyFitnessEvaluation();
+                        }
+                    });
+                }
+                for (final Future<?> worker : workers) {
+                    worker.get();
+                }
+
+                assertEquals(100_003, evaluated.get());
+                assertEquals(100_003, condition.getEvaluations());
+                assertEquals(1.0, condition.getProgress());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void test_notifyFitnessEvaluations_chargesEvaluationsWithoutTickets() {
+        final MaxFitnessEvaluations condition = new MaxFitnessEvaluations(10, 4);
+        condition.notifySearchStarted();
+
+        condition.notifyFitnessEvaluations(7);
+        assertTrue(condition.searchCanContinue());
+        condition.notifyFitnessEvaluations(3);
+        assertTrue(condition.searchMustStop());
+        assertEquals(10, condition.getEvaluations());
+    }
+}
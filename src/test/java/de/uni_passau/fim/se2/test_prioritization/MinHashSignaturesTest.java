@@ -0,0 +1,55 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the signatures estimate the Jaccard similarity of the rows.
+ */
+class MinHashSignaturesTest {
+
+    private static final int LENGTH = 256;
+
+    @Test
+    void test_similarity_identicalAndDisjointRows() {
+        final boolean[][] matrix = new boolean[3][200];
+        for (int line = 0; line < 100; line++) {
+            matrix[0][line] = line % 3 == 0;
+            matrix[1][line] = line % 3 == 0;
+            matrix[2][line + 100] = true;
+        }
+        final MinHashSignatures signatures =
+                MinHashSignatures.of(PackedCoverage.of(matrix), LENGTH);
+
+        assertEquals(1.0, signatures.similarity(0, 1));
+        assertEquals(0.0, signatures.similarity(0, 2));
+    }
+
+    @Test
+    void test_similarity_estimatesJaccard() {
+        final Random random = new Random(7);
+        final boolean[][] matrix = new boolean[20][1000];
+        for (final boolean[] row : matrix) {
+            for (int line = 0; line < row.length; line++) {
+                row[line] = random.nextInt(3) == 0;
+            }
+        }
+        final MinHashSignatures signatures =
+                MinHashSignatures.of(PackedCoverage.of(matrix), LENGTH);
+
+        for (int a = 0; a < matrix.length; a++) {
+            for (int b = a + 1; b < matrix.length; b++) {
+                int intersection = 0;
+                int union = 0;
+                for (int line = 0; line < matrix[a].length; line++) {
+                    intersection += matrix[a][line] && matrix[b][line] ? 1 : 0;
+                    union += matrix[a][line] || matrix[b][line] ? 1 : 0;
+                }
+                // The standard error of the estimate is below 0.03 for this length.
+                assertEquals(intersection / (double) union, signatures.similarity(a, b), 0.1);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that crossover and mutation operators always produce valid permutations.
+ */
+class PermutationOperatorsTest {
+
+    private static final int TRIALS = 200;
+
+    private final Random random = new Random(42);
+
+    @ParameterizedTest
+    @EnumSource(PermutationCrossover.class)
+    void test_crossover_yieldsPermutation(final PermutationCrossover crossover) {
+        for (final int n : new int[]{1, 2, 3, 10, 57}) {
+            for (int trial = 0; trial < TRIALS; trial++) {
+                final int[] parent1 = randomPermutation(n);
+                final int[] parent2 = randomPermutation(n);
+                final int[] p1 = parent1.clone();
+                final int[] p2 = parent2.clone();
+
+                final int[] child = crossover.crossover(parent1, parent2, random);
+
+                assertPermutation(n, child);
+                assertArrayEquals(p1, parent1, "first parent was modified");
+                assertArrayEquals(p2, parent2, "second parent was modified");
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PermutationMutation.class)
+    void test_mutation_yieldsPermutationWithoutFixedPoint(final PermutationMutation mutation) {
+        for (final int n : new int[]{2, 3, 10, 57}) {
+            for (int trial = 0; trial < TRIALS; trial++) {
+                final int[] ordering = randomPermutation(n);
+                final int[] mutated = ordering.clone();
+
+                mutation.mutate(mutated, random);
+
+                assertPermutation(n, mutated);
+                assertFalse(Arrays.equals(ordering, mutated), "mutation has a fixed point");
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20})
+    void test_cycleCrossover_ofIdenticalParents_isIdentity(final int n) {
+        final int[] parent = randomPermutation(n);
+        assertArrayEquals(parent, PermutationCrossover.CX.crossover(parent, parent, random));
+    }
+
+    private int[] randomPermutation(final int n) {
+        final int[] permutation = IntStream.range(0, n).toArray();
+        for (int i = n - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+        return permutation;
+    }
+
+    private static void assertPermutation(final int n, final int[] actual) {
+        final int[] sorted = actual.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(IntStream.range(0, n).toArray(), sorted,
+                "not a permutation: " + Arrays.toString(actual));
+    }
+}
@@ -0,0 +1,52 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that random keys decode to the stable argsort of the key vector.
+ */
+class RandomKeyOrderingTest {
+
+    private final Random random = new Random(11);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 24, 25, 100, 5000})
+    void test_decode_matchesStableArgsort(final int n) {
+        final int[] buffer = new int[n];
+        for (int distinct : new int[]{2, n, Integer.MAX_VALUE}) {
+            final double[] keys = new double[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = distinct == Integer.MAX_VALUE
+                        ? random.nextGaussian()
+                        : random.nextInt(distinct);
+            }
+            final int[] expected = IntStream.range(0, n).boxed()
+                    .sorted(Comparator.comparingDouble(i -> keys[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            assertArrayEquals(expected, new RandomKeyOrdering(keys).decode(buffer),
+                    n + " keys, " + distinct + " distinct");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30, 1000})
+    void test_encode_decodesToOrdering(final int n) {
+        final int[] ordering = TestCaseOrdering.randomOrdering(n, random);
+        assertArrayEquals(ordering, RandomKeyOrdering.encode(ordering).toOrdering());
+    }
+
+    @Test
+    void test_decode_rejectsWrongBuffer() {
+        final RandomKeyOrdering keys = RandomKeyOrdering.random(5, random);
+        assertThrows(IllegalArgumentException.class, () -> keys.decode(new int[4]));
+    }
+}
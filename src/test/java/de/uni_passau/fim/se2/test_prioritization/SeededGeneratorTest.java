@@ -0,0 +1,53 @@
+package de.uni_passau.fim.se2.test_prioritization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the seeded generator hands out every seed once per search before using its ratio.
+ */
+class SeededGeneratorTest {
+
+    private static final boolean T = true;
+    private static final boolean F = false;
+
+    private static final boolean[][] COVERAGE = {
+            {T, T, F, F, F},
+            {T, T, T, T, F},
+            {F, F, F, F, F},
+            {F, F, F, F, T},
+            {F, F, T, T, F},
+    };
+
+    private static final int[] ADDITIONAL = {1, 3, 0, 4, 2};
+
+    private static final int[] TOTAL = {1, 0, 4, 3, 2};
+
+    @Test
+    void test_get_handsOutEverySeedOncePerSearch() {
+        final SeededGenerator<TestCaseOrdering> generator =
+                SeededGenerator.greedy(new TestCaseOrdering(COVERAGE, "SA"), 0);
+
+        for (int search = 0; search < 2; search++) {
+            generator.reset();
+            assertArrayEquals(ADDITIONAL, generator.get().toArray());
+            assertArrayEquals(TOTAL, generator.get().toArray());
+        }
+    }
+
+    @Test
+    void test_get_generatesSeedsWithRatioAfterwards() {
+        final SeededGenerator<TestCaseOrdering> generator =
+                SeededGenerator.greedy(new TestCaseOrdering(COVERAGE, "SA"), 1);
+        generator.get();
+        generator.get();
+
+        for (int i = 0; i < 10; i++) {
+            final int[] ordering = generator.get().toArray();
+            assertTrue(Arrays.equals(ADDITIONAL, ordering) || Arrays.equals(TOTAL, ordering));
+        }
+    }
+}